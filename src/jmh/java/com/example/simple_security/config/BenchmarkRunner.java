@@ -0,0 +1,55 @@
+package com.example.simple_security.config;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the EasySecurity JMH suite once per thread count, with the GC profiler attached
+ * so allocation rates ({@code gc.alloc.rate.norm}) are reported next to throughput.
+ *
+ * <pre>{@code
+ * mvn -Pbenchmark test-compile exec:exec
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark.args="JwtUtilsBenchmark 1,8"
+ * }</pre>
+ *
+ * Arguments: an optional benchmark include regex, then an optional comma-separated list of thread counts
+ * (default {@code 1,4,<available processors>}).
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 ? args[0] : "com.example.simple_security.config.*Benchmark";
+        int[] threadCounts = args.length > 1 ? parseThreads(args[1]) : defaultThreads();
+
+        for (int threads : threadCounts) {
+            ChainedOptionsBuilder options = new OptionsBuilder()
+                    .include(include)
+                    .threads(threads)
+                    .addProfiler(GCProfiler.class)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result("target/jmh-result-" + threads + "t.json");
+            new Runner(options.build()).run();
+        }
+    }
+
+    private static int[] defaultThreads() {
+        int cores = Runtime.getRuntime().availableProcessors();
+        return cores > 4 ? new int[] {1, 4, cores} : new int[] {1, cores};
+    }
+
+    private static int[] parseThreads(String value) {
+        String[] parts = value.split(",");
+        int[] threads = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            threads[i] = Integer.parseInt(parts[i].trim());
+        }
+        return threads;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.simple_security.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+
+/**
+ * Shared fixtures for the JMH benchmarks.
+ */
+final class BenchmarkSupport {
+
+    static final UserDetails USER = User.withUsername("benchmark-user")
+            .password("{noop}password")
+            .roles("USER")
+            .build();
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * @param keyBits HMAC key size — 256, 384 or 512 bits select HS256, HS384 or HS512
+     */
+    static EasySecurityProperties properties(int keyBits) {
+        EasySecurityProperties properties = new EasySecurityProperties();
+        properties.getJwt().setSecret("k".repeat(keyBits / 8));
+        return properties;
+    }
+
+    static JWTValidate jwtValidate(JwtUtils jwtUtils) {
+        return new JWTValidate(jwtUtils,
+                provider(UserDetailsService.class, new InMemoryUserDetailsManager(USER)),
+                provider(EasySecurityMetrics.class, null));
+    }
+
+    /**
+     * @return a provider resolving to {@code bean}, or an empty provider if {@code bean} is {@code null}
+     */
+    static <T> ObjectProvider<T> provider(Class<T> type, T bean) {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        if (bean != null) {
+            beanFactory.addBean(type.getSimpleName(), bean);
+        }
+        return beanFactory.getBeanProvider(type);
+    }
+}
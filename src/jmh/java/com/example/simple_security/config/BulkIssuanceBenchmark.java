@@ -0,0 +1,105 @@
+package com.example.simple_security.config;
+
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import java.security.Key;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tokens issued per second by {@link JwtUtils#generateTokens} for a batch of {@value #BATCH} tokens,
+ * on a fork-join pool of {@code parallelism} workers — compare the rows to see scaling with cores.
+ * {@code jjwtDefaultSigner} signs the same batch on one thread with jjwt's own algorithm lookup per token,
+ * the baseline for the per-thread {@code Mac}/{@code Signature} reuse.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BulkIssuanceBenchmark {
+
+    static final int BATCH = 1000;
+
+    @Param({"1", "2", "4", "8"})
+    public int parallelism;
+
+    @Param({"HS256", "RS256"})
+    public String algorithm;
+
+    private JwtUtils jwtUtils;
+    private ForkJoinPool pool;
+    private List<TokenSpec> specs;
+    private Key signingKey;
+
+    @Setup
+    public void setUp() throws Exception {
+        jwtUtils = new JwtUtils(BenchmarkSupport.properties(256));
+        if ("RS256".equals(algorithm)) {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048);
+            KeyPair rsa = generator.generateKeyPair();
+            jwtUtils.getKeyRing().setKeys(
+                    List.of(new JwtKeyRing.KeyVersion("rsa", rsa.getPublic(), rsa.getPrivate(), null, null)));
+        }
+        signingKey = jwtUtils.getKeyRing().signingKey().getSigningKey();
+        pool = new ForkJoinPool(parallelism);
+        specs = new ArrayList<>(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            specs.add(new TokenSpec("device-" + i)
+                    .authorities(AuthorityUtils.createAuthorityList("ROLE_DEVICE"))
+                    .claims(Map.of("slot", i))
+                    .expirationMinutes(60));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public List<String> generateTokens() {
+        return jwtUtils.generateTokens(specs, pool);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void jjwtDefaultSigner(Blackhole blackhole) {
+        Date now = new Date();
+        Date expiration = new Date(now.getTime() + 3_600_000);
+        for (TokenSpec spec : specs) {
+            blackhole.consume(Jwts.builder()
+                    .claims(spec.getClaims())
+                    .claim(JwtUtils.AUTHORITIES_CLAIM, List.of("ROLE_DEVICE"))
+                    .subject(spec.getUsername())
+                    .issuedAt(now)
+                    .expiration(expiration)
+                    .signWith(signingKey)
+                    .compact());
+        }
+    }
+}
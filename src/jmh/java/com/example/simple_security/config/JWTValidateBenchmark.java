@@ -0,0 +1,73 @@
+package com.example.simple_security.config;
+
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full {@link JWTValidate#doFilterInternal} cost per request against a no-op {@link FilterChain}.
+ * {@code mode} compares an anonymous request, user reload through the {@code UserDetailsService},
+ * stateless claims-based authentication, a token with a bad signature, and junk that the
+ * {@link TokenPrecheck} rejects before any parsing.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JWTValidateBenchmark {
+
+    @Param({"anonymous", "userDetails", "stateless", "invalid", "junk"})
+    public String mode;
+
+    private JWTValidate filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private FilterChain chain;
+
+    @Setup
+    public void setUp() {
+        JwtUtils jwtUtils = new JwtUtils(BenchmarkSupport.properties(256));
+        filter = BenchmarkSupport.jwtValidate(jwtUtils);
+        filter.setStatelessAuthentication("stateless".equals(mode));
+
+        request = new MockHttpServletRequest("GET", "/api/orders");
+        response = new MockHttpServletResponse();
+        chain = (req, res) -> { };
+
+        String token = jwtUtils.generateToken("benchmark-user",
+                BenchmarkSupport.USER.getAuthorities(), null, 30);
+        switch (mode) {
+            case "anonymous" -> { }
+            case "invalid"   -> request.addHeader("Authorization", "Bearer " + token.substring(0, token.length() - 4) + "AAAA");
+            case "junk"      -> request.addHeader("Authorization", "Bearer " + "%00' OR '1'='1");
+            default          -> request.addHeader("Authorization", "Bearer " + token);
+        }
+    }
+
+    @Benchmark
+    public void doFilterInternal(Blackhole blackhole) throws Exception {
+        try {
+            filter.doFilterInternal(request, response, chain);
+            blackhole.consume(SecurityContextHolder.getContext().getAuthentication());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.simple_security.config;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issuance and verification cost across HMAC key sizes and token sizes.
+ * Key size selects HS256 / HS384 / HS512; claim count grows the payload.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtUtilsBenchmark {
+
+    @Param({"256", "384", "512"})
+    public int keyBits;
+
+    @Param({"0", "10", "100"})
+    public int customClaims;
+
+    private JwtUtils jwtUtils;
+    private Map<String, Object> claims;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtils = new JwtUtils(BenchmarkSupport.properties(keyBits));
+        claims = new LinkedHashMap<>();
+        for (int i = 0; i < customClaims; i++) {
+            claims.put("claim" + i, "value-" + i);
+        }
+        token = issue();
+    }
+
+    private String issue() {
+        return jwtUtils.generateToken("benchmark-user",
+                AuthorityUtils.createAuthorityList("ROLE_USER"), claims, 30);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return issue();
+    }
+
+    @Benchmark
+    public String extractUserName() {
+        return jwtUtils.extractUserName(token);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtils.validateToken(token, "benchmark-user");
+    }
+
+    @Benchmark
+    public VerifiedToken verify() {
+        return jwtUtils.verify(token);
+    }
+}
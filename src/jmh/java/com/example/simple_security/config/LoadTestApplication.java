@@ -0,0 +1,115 @@
+package com.example.simple_security.config;
+
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+import org.springframework.web.servlet.function.RouterFunction;
+import org.springframework.web.servlet.function.RouterFunctions;
+import org.springframework.web.servlet.function.ServerResponse;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The application {@link LoadTestHarness} starts for each scenario: the EasySecurity components,
+ * a sample {@link EasySecurity} subclass shaped by the current {@link LoadTestScenario}, an in-memory
+ * user store and two endpoints — {@code GET /public/ping} (permitted) and {@code GET /api/orders/{id}}
+ * (authenticated).
+ *
+ * <p>None of these classes carries a stereotype annotation, so component scans of this package in the
+ * test suite never pick them up; the harness registers them explicitly.
+ */
+@EnableAutoConfiguration
+@Import({EasySecurityAutoConfiguration.class, JwtUtils.class, JWTValidate.class, LoadTestApplication.Security.class})
+class LoadTestApplication {
+
+    static final String PASSWORD = "password";
+
+    // EasySecurity reads its configuration in its constructor, before any injection
+    static volatile LoadTestScenario scenario;
+
+    @Bean
+    UserDetailsService userDetailsService(PasswordEncoder passwordEncoder) {
+        String encoded = passwordEncoder.encode(PASSWORD);
+        List<UserDetails> users = new ArrayList<>();
+        for (int i = 0; i < LoadTestHarness.USERS; i++) {
+            users.add(User.withUsername("user" + i).password(encoded).roles("USER").build());
+        }
+        return new InMemoryUserDetailsManager(users);
+    }
+
+    @Bean
+    RouterFunction<ServerResponse> routes() {
+        return RouterFunctions.route()
+                .GET("/public/ping", request -> ServerResponse.ok().body("pong"))
+                .GET("/api/orders/{id}", request -> ServerResponse.ok()
+                        .body("{\"id\":" + request.pathVariable("id") + ",\"status\":\"SHIPPED\"}"))
+                .build();
+    }
+
+    static class Security extends EasySecurity {
+
+        private LoadTestScenario scenario() {
+            return LoadTestApplication.scenario;
+        }
+
+        // The two rules the traffic hits, plus filler shaped like a large service's rule set
+        @Override
+        public List<String> permittedUrls() {
+            List<String> urls = new ArrayList<>(List.of("/public/**"));
+            for (int i = 0; i < scenario().rules() - 2; i += 3) {
+                urls.add("/service" + i + "/public/**");
+            }
+            return urls;
+        }
+
+        @Override
+        public List<String> authenticatedUrls() {
+            List<String> urls = new ArrayList<>(List.of("/api/**"));
+            for (int i = 1; i < scenario().rules() - 2; i += 3) {
+                urls.add("/service" + i + "/items/*");
+            }
+            return urls;
+        }
+
+        @Override
+        public Map<String, String> roleBasedUrls() {
+            Map<String, String> urls = new LinkedHashMap<>();
+            for (int i = 2; i < scenario().rules() - 2; i += 3) {
+                urls.put("/service" + i + "/admin/**", "ADMIN");
+            }
+            return urls;
+        }
+
+        @Override
+        public SessionPolicy sessionPolicy() {
+            return scenario().sessionPolicy();
+        }
+
+        @Override
+        public EasyCorsConfiguration corsConfiguration() {
+            return scenario().cors()
+                    ? new EasyCorsConfiguration().allowedOrigins(List.of(LoadTestHarness.ORIGIN))
+                    : null;
+        }
+
+        @Override
+        public boolean enableTokenValidation() {
+            return scenario().jwt();
+        }
+
+        @Override public boolean disableCsrfToken()     { return true; }
+        @Override public boolean enableOAuth()          { return false; }
+        @Override public boolean isCustomLoginPage()    { return false; }
+        @Override public String customLoginPageUrl()    { return null; }
+        @Override public String loginProcessingUrl()    { return null; }
+        @Override public String successForwardUrl()     { return null; }
+    }
+}
@@ -0,0 +1,262 @@
+package com.example.simple_security.config;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.LongStream;
+
+/**
+ * End-to-end load test: starts {@link LoadTestApplication} on an embedded Tomcat once per
+ * {@link LoadTestScenario}, drives it over real HTTP connections from closed-loop clients and reports
+ * throughput and p50/p99/p99.9 latency. Everything runs in one JVM on the loopback interface, with no
+ * external services.
+ *
+ * <pre>{@code
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark.main=com.example.simple_security.config.LoadTestHarness
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark.main=com.example.simple_security.config.LoadTestHarness \
+ *     -Dbenchmark.args="concurrency=64 duration=60 filter=IF_REQUIRED/jwt"
+ * }</pre>
+ *
+ * Arguments, all optional, as {@code key=value}:
+ * {@code concurrency} (clients, default 16), {@code warmup} and {@code duration} (seconds, default 5 and 15),
+ * {@code authenticated} (share of authenticated requests, default 0.8) and {@code filter}
+ * (only scenarios whose name contains it). Results are also written to {@code target/loadtest-results.csv}.
+ */
+public final class LoadTestHarness {
+
+    static final int USERS = 100;
+    static final String ORIGIN = "https://app.example.com";
+
+    private LoadTestHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "16"));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "5")));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "15")));
+        double authenticatedShare = Double.parseDouble(options.getOrDefault("authenticated", "0.8"));
+        String filter = options.getOrDefault("filter", "");
+
+        List<String> rows = new ArrayList<>();
+        rows.add("scenario,concurrency,requests,errors,throughput_rps,p50_us,p99_us,p999_us");
+        System.out.printf("%-40s %10s %8s %10s %10s %10s%n", "Scenario", "req/s", "errors", "p50 (us)", "p99 (us)", "p99.9 (us)");
+        for (LoadTestScenario scenario : LoadTestScenario.matrix()) {
+            if (!scenario.name().contains(filter)) {
+                continue;
+            }
+            Result result = run(scenario, concurrency, warmup, duration, authenticatedShare);
+            System.out.printf("%-40s %10.0f %8d %10d %10d %10d%n", scenario.name(), result.throughput(), result.errors(),
+                    result.percentile(0.50), result.percentile(0.99), result.percentile(0.999));
+            rows.add(String.format(Locale.ROOT, "%s,%d,%d,%d,%.1f,%d,%d,%d", scenario.name(), concurrency,
+                    result.latencies().length, result.errors(), result.throughput(),
+                    result.percentile(0.50), result.percentile(0.99), result.percentile(0.999)));
+        }
+
+        Path csv = Path.of("target", "loadtest-results.csv");
+        Files.createDirectories(csv.getParent());
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(csv))) {
+            rows.forEach(out::println);
+        }
+        System.out.println("Results written to " + csv);
+    }
+
+    // ─── Scenario ─────────────────────────────────────────────────────────────
+
+    private static Result run(LoadTestScenario scenario, int concurrency, Duration warmup, Duration duration,
+                              double authenticatedShare) throws Exception {
+        LoadTestApplication.scenario = scenario;
+        try (ServletWebServerApplicationContext context = (ServletWebServerApplicationContext) new SpringApplicationBuilder(LoadTestApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .properties("server.port=0",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN",
+                        "easysecurity.password.cost=" + EasyPasswordEncoder.MIN_BCRYPT_STRENGTH,
+                        // Every client shares the loopback address; login throttling would only measure itself
+                        "easysecurity.login.rate-limit.enabled=false")
+                .run()) {
+            String baseUrl = "http://localhost:" + context.getWebServer().getPort();
+            EasySecurity security = context.getBean(EasySecurity.class);
+
+            List<Client> clients = new ArrayList<>();
+            for (int i = 0; i < concurrency; i++) {
+                String username = "user" + (i % USERS);
+                clients.add(scenario.jwt()
+                        ? Client.bearer(baseUrl, scenario, security.createToken(username))
+                        : Client.session(baseUrl, scenario, username));
+            }
+
+            long startNanos = System.nanoTime();
+            long measureFrom = startNanos + warmup.toNanos();
+            long measureUntil = measureFrom + duration.toNanos();
+            CountDownLatch done = new CountDownLatch(concurrency);
+            for (Client client : clients) {
+                Thread worker = new Thread(() -> {
+                    try {
+                        client.drive(measureFrom, measureUntil, authenticatedShare);
+                    } finally {
+                        done.countDown();
+                    }
+                }, "loadtest-client");
+                worker.setDaemon(true);
+                worker.start();
+            }
+            done.await();
+
+            long[] latencies = clients.stream().map(client -> client.latencies).flatMapToLong(LongList::stream).toArray();
+            Arrays.sort(latencies);
+            long errors = clients.stream().mapToLong(client -> client.errors).sum();
+            return new Result(latencies, errors, latencies.length / (duration.toNanos() / 1e9));
+        }
+    }
+
+    // ─── Client ───────────────────────────────────────────────────────────────
+
+    // One keep-alive connection issuing requests back to back (closed loop)
+    private static final class Client {
+
+        private final HttpClient http;
+        private final HttpRequest anonymous;
+        private final HttpRequest[] authenticated;
+        private final LongList latencies = new LongList();
+        private long errors;
+
+        private Client(HttpClient http, String baseUrl, LoadTestScenario scenario, String authorization, String header) {
+            this.http = http;
+            this.anonymous = request(baseUrl + "/public/ping", scenario, null, null);
+            this.authenticated = new HttpRequest[16];
+            for (int i = 0; i < authenticated.length; i++) {
+                authenticated[i] = request(baseUrl + "/api/orders/" + (1000 + i), scenario, header, authorization);
+            }
+        }
+
+        static Client bearer(String baseUrl, LoadTestScenario scenario, String token) {
+            return new Client(newHttpClient(null), baseUrl, scenario, "Bearer " + token, "Authorization");
+        }
+
+        // Logs in through the form once; the session cookie then authenticates every request
+        static Client session(String baseUrl, LoadTestScenario scenario, String username) throws IOException, InterruptedException {
+            HttpClient http = newHttpClient(new CookieManager());
+            HttpResponse<Void> login = http.send(HttpRequest.newBuilder(URI.create(baseUrl + "/login"))
+                    .header("Content-Type", "application/x-www-form-urlencoded")
+                    .POST(HttpRequest.BodyPublishers.ofString("username=" + username + "&password=" + LoadTestApplication.PASSWORD))
+                    .build(), HttpResponse.BodyHandlers.discarding());
+            if (login.statusCode() != 302 || login.headers().firstValue("Location").orElse("").contains("error")) {
+                throw new IllegalStateException("Form login failed for " + username + ": " + login.statusCode());
+            }
+            return new Client(http, baseUrl, scenario, null, null);
+        }
+
+        private static HttpClient newHttpClient(CookieManager cookies) {
+            HttpClient.Builder builder = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .followRedirects(HttpClient.Redirect.NEVER);
+            if (cookies != null) {
+                builder.cookieHandler(cookies);
+            }
+            return builder.build();
+        }
+
+        private static HttpRequest request(String url, LoadTestScenario scenario, String header, String value) {
+            HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url)).GET();
+            if (scenario.cors()) {
+                builder.header("Origin", ORIGIN);
+            }
+            if (header != null) {
+                builder.header(header, value);
+            }
+            return builder.build();
+        }
+
+        void drive(long measureFrom, long measureUntil, double authenticatedShare) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            while (true) {
+                HttpRequest request = random.nextDouble() < authenticatedShare
+                        ? authenticated[random.nextInt(authenticated.length)]
+                        : anonymous;
+                long start = System.nanoTime();
+                if (start - measureUntil >= 0) {
+                    return;
+                }
+                boolean ok;
+                try {
+                    ok = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+                } catch (IOException e) {
+                    ok = false;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                if (start - measureFrom >= 0) {
+                    latencies.add(System.nanoTime() - start);
+                    if (!ok) {
+                        errors++;
+                    }
+                }
+            }
+        }
+    }
+
+    // ─── Result ───────────────────────────────────────────────────────────────
+
+    private record Result(long[] latencies, long errors, double throughput) {
+
+        /** @return latency at {@code quantile} in microseconds, from the sorted samples */
+        long percentile(double quantile) {
+            if (latencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(quantile * latencies.length) - 1;
+            return latencies[Math.max(0, index)] / 1_000;
+        }
+    }
+
+    // Every sample is kept so percentiles are exact rather than bucketed
+    private static final class LongList {
+
+        private long[] values = new long[1 << 16];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size << 1);
+            }
+            values[size++] = value;
+        }
+
+        LongStream stream() {
+            return Arrays.stream(values, 0, size);
+        }
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Expected key=value, got: " + arg);
+            }
+            options.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+        return options;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.simple_security.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One filter chain configuration exercised by {@link LoadTestHarness}.
+ *
+ * @param sessionPolicy session policy of the sample {@link EasySecurity} subclass
+ * @param cors          whether a CORS policy is configured (requests then carry an {@code Origin} header)
+ * @param jwt           whether clients authenticate with a bearer token rather than a form-login session
+ * @param rules         number of URL rules, including the two the traffic hits
+ */
+record LoadTestScenario(SessionPolicy sessionPolicy, boolean cors, boolean jwt, int rules) {
+
+    /**
+     * Every combination of {@code STATELESS}/{@code IF_REQUIRED}, CORS off/on, JWT on/off and
+     * 10/1000 rules — except stateless without JWT, which leaves clients no way to authenticate.
+     */
+    static List<LoadTestScenario> matrix() {
+        List<LoadTestScenario> scenarios = new ArrayList<>();
+        for (SessionPolicy sessionPolicy : List.of(SessionPolicy.STATELESS, SessionPolicy.IF_REQUIRED)) {
+            for (boolean jwt : new boolean[] {true, false}) {
+                if (sessionPolicy == SessionPolicy.STATELESS && !jwt) {
+                    continue;
+                }
+                for (boolean cors : new boolean[] {false, true}) {
+                    for (int rules : new int[] {10, 1000}) {
+                        scenarios.add(new LoadTestScenario(sessionPolicy, cors, jwt, rules));
+                    }
+                }
+            }
+        }
+        return scenarios;
+    }
+
+    String name() {
+        return sessionPolicy + (jwt ? "/jwt" : "/session") + (cors ? "/cors" : "/no-cors") + "/" + rules + "-rules";
+    }
+}
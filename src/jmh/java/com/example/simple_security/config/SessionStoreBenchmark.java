@@ -0,0 +1,130 @@
+package com.example.simple_security.config;
+
+import jakarta.servlet.http.Cookie;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.security.web.context.SecurityContextRepository;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Heap held per logged-in session and the cost of loading a session's security context, for the
+ * {@code HttpSession}-based default against {@link CompactSecurityContextRepository}. Each session
+ * is a form login of a distinct user holding one of four role combinations, as Spring Security
+ * stores it (credentials erased, {@link WebAuthenticationDetails} attached).
+ *
+ * <p>The retained heap per session is printed during setup. The {@code httpSession} figures are lower
+ * bounds: a {@link MockHttpSession} stands in for the container's session object (Tomcat's
+ * {@code StandardSession} carries more fields), and the request already holds its session, so the
+ * container's lookup by session id is not part of {@code loadContext}. The compact figures include it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class SessionStoreBenchmark {
+
+    private static final int LOOKUPS = 1024;
+
+    private static final String[][] ROLES = {
+            {"USER"}, {"USER", "ORDERS"}, {"USER", "ORDERS", "REPORTS"}, {"ADMIN", "USER"}};
+
+    @Param({"httpSession", "compact"})
+    public String store;
+
+    @Param({"100000"})
+    public int sessions;
+
+    private SecurityContextRepository repository;
+    private MockHttpSession[] httpSessions;
+    private MockHttpServletRequest[] requests;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        repository = store.equals("compact")
+                ? new CompactSecurityContextRepository(sessions, Duration.ofMinutes(30), "EASYSESSION", null, Duration.ZERO)
+                : new HttpSessionSecurityContextRepository();
+        httpSessions = new MockHttpSession[sessions];
+        String[] cookies = new String[LOOKUPS];
+        // Shared, as in a container; a MockServletContext per session would dominate the figure
+        MockServletContext servletContext = new MockServletContext();
+
+        long before = usedHeap();
+        for (int i = 0; i < sessions; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest(servletContext, "POST", "/login");
+            request.setRemoteAddr("10.0." + (i >> 8 & 0xff) + "." + (i & 0xff));
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            repository.saveContext(new SecurityContextImpl(login(i, request)), request, response);
+            httpSessions[i] = (MockHttpSession) request.getSession(false);
+            // Look up the most recent logins: a full striped table may already have dropped some of the oldest
+            if (i >= sessions - LOOKUPS) {
+                cookies[i - (sessions - LOOKUPS)] = response.getHeader("Set-Cookie");
+            }
+        }
+        long perSession = (usedHeap() - before) / sessions;
+        System.out.printf("%n%s: %d bytes retained per session (%d sessions)%n", store, perSession, sessions);
+
+        requests = new MockHttpServletRequest[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            requests[i] = lookup(servletContext, httpSessions[sessions - LOOKUPS + i], cookies[i]);
+        }
+    }
+
+    private static Authentication login(int i, MockHttpServletRequest request) {
+        UserDetails user = User.withUsername("user" + i).password("{noop}password").roles(ROLES[i % ROLES.length]).build();
+        UsernamePasswordAuthenticationToken authentication =
+                UsernamePasswordAuthenticationToken.authenticated(user, null, user.getAuthorities());
+        authentication.setDetails(new WebAuthenticationDetails(request));
+        authentication.eraseCredentials();
+        return authentication;
+    }
+
+    private static MockHttpServletRequest lookup(MockServletContext servletContext, MockHttpSession session, String setCookie) {
+        MockHttpServletRequest request = new MockHttpServletRequest(servletContext, "GET", "/account");
+        if (session != null) {
+            request.setSession(session);
+        }
+        if (setCookie != null) {
+            request.setCookies(new Cookie("EASYSESSION", setCookie.substring("EASYSESSION=".length(), setCookie.indexOf(';'))));
+        }
+        return request;
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    @Benchmark
+    public Authentication loadContext() {
+        MockHttpServletRequest request = requests[next++ & (LOOKUPS - 1)];
+        return repository.loadDeferredContext(request).get().getAuthentication();
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.simple_security.config;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * One measured start of the {@link LoadTestApplication} sample (stateless JWT, CORS, 100 rules), launched
+ * in a fresh JVM by {@link StartupBenchmark}. Prints a single {@code startup-result} line and exits.
+ * Also the entry point Spring AOT processing runs to generate the application's initializer.
+ */
+public final class StartupApplication {
+
+    static final String RESULT_PREFIX = "startup-result ";
+
+    private StartupApplication() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        LoadTestApplication.scenario = new LoadTestScenario(SessionPolicy.STATELESS, true, true, 100);
+        SpringApplication application = new SpringApplication(LoadTestApplication.class);
+        application.setDefaultProperties(Map.of(
+                "server.port", "0",
+                "spring.main.banner-mode", "off",
+                "logging.level.root", "WARN"));
+
+        long runStart = System.nanoTime();
+        ConfigurableApplicationContext context = application.run(args);
+        long runMillis = (System.nanoTime() - runStart) / 1_000_000;
+        long readyMillis = System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+
+        String port = context.getEnvironment().getProperty("local.server.port");
+        long requestStart = System.nanoTime();
+        HttpResponse<Void> response = HttpClient.newHttpClient().send(
+                HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/public/ping")).build(),
+                HttpResponse.BodyHandlers.discarding());
+        long firstRequestMillis = (System.nanoTime() - requestStart) / 1_000_000;
+
+        System.gc();
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.out.println(RESULT_PREFIX
+                + "status=" + response.statusCode()
+                + " run=" + runMillis
+                + " ready=" + readyMillis
+                + " firstRequest=" + firstRequestMillis
+                + " heap=" + memory.getHeapMemoryUsage().getUsed() / 1024
+                + " nonHeap=" + memory.getNonHeapMemoryUsage().getUsed() / 1024
+                + " rss=" + residentSetKilobytes());
+        context.close();
+        System.exit(0);
+    }
+
+    // VmRSS from procfs; -1 where it is not available
+    private static long residentSetKilobytes() throws IOException {
+        Path status = Path.of("/proc/self/status");
+        if (!Files.isReadable(status)) {
+            return -1;
+        }
+        for (String line : Files.readAllLines(status)) {
+            if (line.startsWith("VmRSS:")) {
+                return Long.parseLong(line.replaceAll("\\D", ""));
+            }
+        }
+        return -1;
+    }
+}
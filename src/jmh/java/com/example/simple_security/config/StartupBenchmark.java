@@ -0,0 +1,231 @@
+package com.example.simple_security.config;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+
+/**
+ * Startup time and footprint of a sample {@link EasySecurity} application ({@link StartupApplication})
+ * in four modes, each measured over several fresh JVMs:
+ * <ul>
+ *   <li>{@code jvm} — plain classpath start</li>
+ *   <li>{@code cds} — with a dynamic class-data-sharing archive from a training run</li>
+ *   <li>{@code aot} — with the initializer generated by Spring AOT processing ({@code -Dspring.aot.enabled=true})</li>
+ *   <li>{@code aot+cds} — both</li>
+ * </ul>
+ *
+ * <pre>{@code
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark.main=com.example.simple_security.config.StartupBenchmark
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark.main=com.example.simple_security.config.StartupBenchmark -Dbenchmark.args="runs=10"
+ * }</pre>
+ *
+ * The application classes are packaged into a jar under {@code target/startup} first (CDS only archives
+ * classes loaded from jars), AOT sources are generated and compiled there, and the medians are
+ * written to {@code target/startup-results.csv}.
+ */
+public final class StartupBenchmark {
+
+    private static final Path WORK = Path.of("target", "startup");
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] pair = arg.split("=", 2);
+            options.put(pair[0], pair.length > 1 ? pair[1] : "");
+        }
+        int runs = Integer.parseInt(options.getOrDefault("runs", "5"));
+
+        Files.createDirectories(WORK);
+        List<String> libraries = new ArrayList<>();
+        List<Path> classDirectories = new ArrayList<>();
+        for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            if (Files.isDirectory(Path.of(entry))) {
+                classDirectories.add(Path.of(entry));
+            } else {
+                libraries.add(entry);
+            }
+        }
+        Path appJar = jar(WORK.resolve("app.jar"), classDirectories);
+        String jvmClasspath = classpath(appJar, libraries);
+        String aotClasspath = WORK.resolve("aot.jar") + File.pathSeparator + jvmClasspath;
+        processAot(jvmClasspath);
+
+        Map<String, List<String>> modes = new LinkedHashMap<>();
+        modes.put("jvm", List.of("-cp", jvmClasspath));
+        modes.put("cds", List.of("-cp", jvmClasspath, "-XX:SharedArchiveFile=" + train("jvm", jvmClasspath)));
+        modes.put("aot", List.of("-cp", aotClasspath, "-Dspring.aot.enabled=true"));
+        modes.put("aot+cds", List.of("-cp", aotClasspath, "-Dspring.aot.enabled=true",
+                "-XX:SharedArchiveFile=" + train("aot", aotClasspath, "-Dspring.aot.enabled=true")));
+
+        List<String> rows = new ArrayList<>();
+        rows.add("mode,runs,run_ms,ready_ms,first_request_ms,heap_kb,non_heap_kb,rss_kb");
+        System.out.printf("%-8s %10s %10s %14s %10s %12s %10s%n",
+                "Mode", "run (ms)", "ready (ms)", "1st req (ms)", "heap (KB)", "non-heap (KB)", "RSS (KB)");
+        for (Map.Entry<String, List<String>> mode : modes.entrySet()) {
+            List<Map<String, Long>> samples = new ArrayList<>();
+            for (int i = 0; i < runs; i++) {
+                samples.add(measure(mode.getValue()));
+            }
+            long[] medians = Stream.of("run", "ready", "firstRequest", "heap", "nonHeap", "rss")
+                    .mapToLong(metric -> median(samples, metric))
+                    .toArray();
+            System.out.printf("%-8s %10d %10d %14d %10d %12d %10d%n", mode.getKey(),
+                    medians[0], medians[1], medians[2], medians[3], medians[4], medians[5]);
+            rows.add(String.format(Locale.ROOT, "%s,%d,%d,%d,%d,%d,%d,%d", mode.getKey(), runs,
+                    medians[0], medians[1], medians[2], medians[3], medians[4], medians[5]));
+        }
+
+        Path csv = Path.of("target", "startup-results.csv");
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(csv))) {
+            rows.forEach(out::println);
+        }
+        System.out.println("Results written to " + csv);
+    }
+
+    // ─── Preparation ──────────────────────────────────────────────────────────
+
+    // Generates the AOT sources and resources, compiles them and packages the result as aot.jar
+    private static void processAot(String classpath) throws IOException, InterruptedException {
+        Path sources = WORK.resolve("aot/sources");
+        Path resources = WORK.resolve("aot/resources");
+        Path classes = WORK.resolve("aot/classes");
+        deleteRecursively(WORK.resolve("aot"));
+        launch(List.of("-cp", classpath, "org.springframework.boot.SpringApplicationAotProcessor",
+                StartupApplication.class.getName(), sources.toString(), resources.toString(), classes.toString(),
+                "com.example", "simple_security"));
+
+        List<String> javaFiles;
+        try (Stream<Path> files = Files.walk(sources)) {
+            javaFiles = files.filter(file -> file.toString().endsWith(".java")).map(Path::toString).toList();
+        }
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new IllegalStateException("StartupBenchmark needs a JDK to compile the AOT sources.");
+        }
+        // The configuration class proxies generated during processing are already in the class output
+        List<String> compilerArgs = new ArrayList<>(List.of("-d", classes.toString(),
+                "-cp", classes + File.pathSeparator + classpath, "-nowarn"));
+        compilerArgs.addAll(javaFiles);
+        if (compiler.run(null, null, null, compilerArgs.toArray(String[]::new)) != 0) {
+            throw new IllegalStateException("Compiling the AOT sources failed.");
+        }
+        jar(WORK.resolve("aot.jar"), List.of(classes, resources));
+    }
+
+    // Training run: starts the context, exits after refresh and dumps the loaded classes
+    private static Path train(String name, String classpath, String... jvmArgs) throws IOException, InterruptedException {
+        Path archive = WORK.resolve(name + ".jsa");
+        Files.deleteIfExists(archive);
+        List<String> command = new ArrayList<>(List.of("-cp", classpath, "-XX:ArchiveClassesAtExit=" + archive,
+                "-Dspring.context.exit=onRefresh"));
+        command.addAll(Arrays.asList(jvmArgs));
+        command.add(StartupApplication.class.getName());
+        launch(command);
+        if (!Files.exists(archive)) {
+            throw new IllegalStateException("The CDS training run did not write " + archive);
+        }
+        return archive;
+    }
+
+    // ─── Measurement ──────────────────────────────────────────────────────────
+
+    private static Map<String, Long> measure(List<String> modeArgs) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>(modeArgs);
+        command.add(StartupApplication.class.getName());
+        for (String line : launch(command)) {
+            if (line.startsWith(StartupApplication.RESULT_PREFIX)) {
+                Map<String, Long> sample = new HashMap<>();
+                for (String pair : line.substring(StartupApplication.RESULT_PREFIX.length()).split(" ")) {
+                    String[] keyValue = pair.split("=");
+                    sample.put(keyValue[0], Long.parseLong(keyValue[1]));
+                }
+                if (sample.get("status") != 200) {
+                    throw new IllegalStateException("First request answered " + sample.get("status"));
+                }
+                return sample;
+            }
+        }
+        throw new IllegalStateException("The application did not report a startup result.");
+    }
+
+    private static long median(List<Map<String, Long>> samples, String metric) {
+        long[] values = samples.stream().mapToLong(sample -> sample.get(metric)).sorted().toArray();
+        return values[values.length / 2];
+    }
+
+    private static List<String> launch(List<String> args) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(args);
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        List<String> output;
+        try (var reader = process.inputReader()) {
+            output = reader.lines().toList();
+        }
+        int exit = process.waitFor();
+        // A CDS training run ends with the abandoned run's exception; the archive is still written
+        if (exit != 0 && command.stream().noneMatch(arg -> arg.startsWith("-XX:ArchiveClassesAtExit"))) {
+            output.forEach(System.err::println);
+            throw new IllegalStateException("Child JVM exited with " + exit);
+        }
+        return output;
+    }
+
+    // ─── Files ────────────────────────────────────────────────────────────────
+
+    private static Path jar(Path jar, List<Path> directories) throws IOException {
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar))) {
+            for (Path directory : directories) {
+                if (!Files.isDirectory(directory)) {
+                    continue;
+                }
+                List<Path> files;
+                try (Stream<Path> walk = Files.walk(directory)) {
+                    files = walk.filter(Files::isRegularFile).sorted().toList();
+                }
+                for (Path file : files) {
+                    out.putNextEntry(new JarEntry(directory.relativize(file).toString().replace(File.separatorChar, '/')));
+                    Files.copy(file, (OutputStream) out);
+                    out.closeEntry();
+                }
+            }
+        }
+        return jar;
+    }
+
+    private static String classpath(Path appJar, List<String> libraries) {
+        List<String> entries = new ArrayList<>();
+        entries.add(appJar.toString());
+        entries.addAll(libraries);
+        return String.join(File.pathSeparator, entries);
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> walk = Files.walk(directory)) {
+            for (Path path : walk.sorted((a, b) -> b.compareTo(a)).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+}
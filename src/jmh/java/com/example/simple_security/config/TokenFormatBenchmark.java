@@ -0,0 +1,73 @@
+package com.example.simple_security.config;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Issuance and verification cost of each {@link TokenFormat} for a small and a large claim set.
+ * The {@code Authorization} header size of each combination is printed during setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenFormatBenchmark {
+
+    @Param({"STANDARD", "COMPACT", "REFERENCE"})
+    public TokenFormat format;
+
+    @Param({"0", "40"})
+    public int customClaims;
+
+    private JwtUtils jwtUtils;
+    private List<GrantedAuthority> authorities;
+    private Map<String, Object> claims;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        EasySecurityProperties properties = BenchmarkSupport.properties(256);
+        properties.getJwt().setFormat(format);
+        jwtUtils = new JwtUtils(properties);
+        authorities = AuthorityUtils.createAuthorityList("ROLE_USER", "ROLE_ORDERS_READ", "ROLE_ORDERS_WRITE");
+        claims = new LinkedHashMap<>();
+        for (int i = 0; i < customClaims; i++) {
+            claims.put("claim" + i, "value-" + i);
+        }
+        token = issue();
+        System.out.printf("%n%s, %d claims: Authorization header is %d bytes%n",
+                format, customClaims, "Authorization: Bearer ".length() + token.length());
+    }
+
+    private String issue() {
+        return jwtUtils.generateToken("benchmark-user", authorities, claims, 30);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return issue();
+    }
+
+    @Benchmark
+    public VerifiedToken verify() {
+        return jwtUtils.verify(token);
+    }
+}
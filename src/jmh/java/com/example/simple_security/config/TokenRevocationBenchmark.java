@@ -0,0 +1,63 @@
+package com.example.simple_security.config;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the revocation check {@link JwtUtils#verify} adds per valid token, with {@code revoked}
+ * ids already in the list. {@code notRevoked} is the common path answered by the Bloom filter alone.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenRevocationBenchmark {
+
+    @Param({"1000", "100000"})
+    public int revoked;
+
+    private TokenRevocationList revocations;
+    private String liveId;
+    private String revokedId;
+
+    @Setup
+    public void setUp() {
+        revocations = new TokenRevocationList(new InMemoryTokenRevocationStore(), revoked, 0.01, 3600);
+        Instant expiry = Instant.now().plusSeconds(3600);
+        for (int i = 0; i < revoked; i++) {
+            revocations.revoke("revoked-token-id-" + i, expiry);
+        }
+        liveId = "Yq3pG1v7Qk2cXo9LrT4wZA";
+        revokedId = "revoked-token-id-" + (revoked / 2);
+    }
+
+    @TearDown
+    public void tearDown() {
+        revocations.close();
+    }
+
+    @Benchmark
+    public boolean notRevoked() {
+        return revocations.isRevoked(liveId);
+    }
+
+    @Benchmark
+    public boolean revoked() {
+        return revocations.isRevoked(revokedId);
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.simple_security.config;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolving a request to its authorization rule: {@link CompiledUrlRules} (one trie lookup)
+ * against the previous approach of one {@code requestMatchers} entry per pattern, evaluated in order.
+ * {@code target} picks a path matched by the first rule, the last rule, or no rule at all.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UrlMatcherBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int rules;
+
+    @Param({"first", "last", "none"})
+    public String target;
+
+    private CompiledUrlRules compiled;
+    private List<RequestMatcher> linear;
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setUp() {
+        List<String> permitted = new ArrayList<>();
+        List<String> authenticated = new ArrayList<>();
+        Map<String, String> roles = new LinkedHashMap<>();
+        for (int i = 0; i < rules; i++) {
+            switch (i % 3) {
+                case 0  -> permitted.add("/service" + i + "/public/**");
+                case 1  -> authenticated.add("/service" + i + "/items/*");
+                default -> roles.put("/service" + i + "/admin/**", "ADMIN");
+            }
+        }
+        compiled = new CompiledUrlRules(permitted, authenticated, roles);
+
+        linear = new ArrayList<>();
+        permitted.forEach(url -> linear.add(new AntPathRequestMatcher(url)));
+        authenticated.forEach(url -> linear.add(new AntPathRequestMatcher(url)));
+        roles.keySet().forEach(url -> linear.add(new AntPathRequestMatcher(url)));
+
+        String path = switch (target) {
+            case "first" -> "/service0/public/assets/app.js";
+            case "last"  -> lastPath();
+            default      -> "/unmatched/path/to/resource";
+        };
+        request = new MockHttpServletRequest("GET", path);
+        request.setServletPath(path);
+    }
+
+    private String lastPath() {
+        int last = rules - 1;
+        return switch (last % 3) {
+            case 0  -> "/service" + last + "/public/x";
+            case 1  -> "/service" + last + "/items/42";
+            default -> "/service" + last + "/admin/users";
+        };
+    }
+
+    @Benchmark
+    public CompiledUrlRules.Rule compiledTrie() {
+        return compiled.resolve(request);
+    }
+
+    @Benchmark
+    public RequestMatcher linearMatchers() {
+        for (RequestMatcher matcher : linear) {
+            if (matcher.matches(request)) {
+                return matcher;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.simple_security.config;
+
+import org.springframework.context.ApplicationListener;
+import org.springframework.security.authentication.event.AbstractAuthenticationEvent;
+import org.springframework.security.authentication.event.AbstractAuthenticationFailureEvent;
+import org.springframework.security.authentication.event.AuthenticationSuccessEvent;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+
+/**
+ * Feeds the {@code AuthenticationManager}'s success and failure events (form login, HTTP Basic, OAuth2)
+ * into the {@link SecurityAuditLog}. Bearer tokens are audited by {@link JWTValidate} instead, which
+ * does not go through the {@code AuthenticationManager}.
+ */
+final class AuditAuthenticationListener implements ApplicationListener<AbstractAuthenticationEvent> {
+
+    private final SecurityAuditLog auditLog;
+
+    AuditAuthenticationListener(SecurityAuditLog auditLog) {
+        this.auditLog = auditLog;
+    }
+
+    @Override
+    public void onApplicationEvent(AbstractAuthenticationEvent event) {
+        Authentication authentication = event.getAuthentication();
+        String remoteAddress = authentication.getDetails() instanceof WebAuthenticationDetails details
+                ? details.getRemoteAddress()
+                : null;
+        if (event instanceof AuthenticationSuccessEvent) {
+            auditLog.record(AuditEvent.Type.AUTHENTICATION_SUCCESS, authentication.getName(), remoteAddress, null, null);
+        } else if (event instanceof AbstractAuthenticationFailureEvent failure) {
+            auditLog.record(AuditEvent.Type.AUTHENTICATION_FAILURE, authentication.getName(), remoteAddress, null,
+                    failure.getException().getClass().getSimpleName());
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.simple_security.config;
+
+/**
+ * One security event handed to an {@link AuditSink}. Instances are preallocated slots of the
+ * {@link SecurityAuditLog} ring buffer and are reused once the sink returns — copy what you need,
+ * never keep the event itself.
+ */
+public final class AuditEvent {
+
+    /** Event category; sampling and rate limits are configured per category. */
+    public enum Type {
+
+        /** A username/password, OAuth2 or other {@code AuthenticationManager} login succeeded. */
+        AUTHENTICATION_SUCCESS,
+
+        /** A login through the {@code AuthenticationManager} failed. */
+        AUTHENTICATION_FAILURE,
+
+        /** A bearer token failed verification; the detail is the {@link VerifiedToken.Failure}. */
+        TOKEN_REJECTED,
+
+        /** The user named by a valid token could not be loaded; the detail is the exception type. */
+        USER_LOOKUP_FAILED,
+
+        /** A login attempt was throttled; the detail is {@code ip} or {@code username}. */
+        LOGIN_THROTTLED
+    }
+
+    // Sequence this slot was last published under; written last so the consumer sees the fields
+    private volatile long sequence = -1;
+
+    private Type type;
+    private long timestampMillis;
+    private String principal;
+    private String remoteAddress;
+    private String path;
+    private String detail;
+
+    AuditEvent() {
+    }
+
+    void set(Type type, long timestampMillis, String principal, String remoteAddress, String path, String detail) {
+        this.type            = type;
+        this.timestampMillis = timestampMillis;
+        this.principal       = principal;
+        this.remoteAddress   = remoteAddress;
+        this.path            = path;
+        this.detail          = detail;
+    }
+
+    void publish(long sequence) { this.sequence = sequence; }
+    long sequence()             { return sequence; }
+
+    // ─── Getters ──────────────────────────────────────────────────────────────
+
+    public Type getType()             { return type; }
+    public long getTimestampMillis()  { return timestampMillis; }
+    public String getPrincipal()      { return principal; }
+    public String getRemoteAddress()  { return remoteAddress; }
+    public String getPath()           { return path; }
+    public String getDetail()         { return detail; }
+}
@@ -0,0 +1,27 @@
+package com.example.simple_security.config;
+
+/**
+ * Destination for security audit events, called on the {@link SecurityAuditLog} consumer thread only.
+ * Every {@code AuditSink} bean is registered automatically, next to the sinks enabled through
+ * {@code easysecurity.audit.*}.
+ *
+ * <pre>{@code
+ * @Bean
+ * public AuditSink siemSink(SiemClient client) {
+ *     return event -> client.send(event.getType().name(), event.getPrincipal(), event.getDetail());
+ * }
+ * }</pre>
+ */
+public interface AuditSink {
+
+    /**
+     * @param event the event; reused after this method returns, so copy what you need to keep
+     */
+    void write(AuditEvent event);
+
+    /** Called once the buffer has been drained, so a sink can write batches. */
+    default void flush() { }
+
+    /** Called when the audit log shuts down. */
+    default void close() { }
+}
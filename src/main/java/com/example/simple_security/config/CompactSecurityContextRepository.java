@@ -0,0 +1,493 @@
+package com.example.simple_security.config;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.DeferredSecurityContext;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.web.context.HttpRequestResponseHolder;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.security.web.context.SecurityContextRepository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps the authentication of form-login sessions in a bounded in-memory table instead of a
+ * serialized {@link SecurityContext} in the servlet container's {@code HttpSession}. A session is
+ * one entry — the principal name and a reference to an interned, shared authority set — behind a
+ * random id in its own cookie. Sessions idle for longer than {@code idle-minutes} expire; a full
+ * table drops its least recently used sessions.
+ *
+ * <p>The context is rebuilt on first use in each request as an authenticated
+ * {@link UsernamePasswordAuthenticationToken} whose principal is the username {@code String}, as in
+ * stateless JWT mode. Authentications whose principal is neither a {@link UserDetails} nor a
+ * {@code String} (e.g. OAuth2 logins) cannot be reduced that way and stay in the {@code HttpSession}.
+ *
+ * <p>With {@code snapshot-path} set, the table is written to that file through a memory map every
+ * {@code snapshot-interval-seconds} and on shutdown, and read back on startup, so sessions survive
+ * a restart. The file holds live session ids — it is created readable by its owner only.
+ *
+ * <pre>{@code
+ * easysecurity.session.compact=true              # SessionPolicy other than STATELESS
+ * easysecurity.session.max-sessions=100000
+ * easysecurity.session.idle-minutes=30
+ * easysecurity.session.cookie-name=EASYSESSION
+ * easysecurity.session.snapshot-path=/var/lib/myapp/sessions
+ * easysecurity.session.snapshot-interval-seconds=60
+ * }</pre>
+ */
+public class CompactSecurityContextRepository implements SecurityContextRepository, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(CompactSecurityContextRepository.class);
+
+    private static final int SNAPSHOT_MAGIC = 0x45535331;   // "ESS1"
+    private static final int SESSION_ID_BYTES = 16;
+    // Distinct authority sets come from the user store's roles; past this many they are no longer shared
+    private static final int MAX_INTERNED_SETS = 10_000;
+    private static final long CLOSE_TIMEOUT_SECONDS = 10;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    // One stored session: ~40 bytes plus the username; the authority list is shared
+    private record CompactSession(String username, List<GrantedAuthority> authorities) { }
+
+    private final StripedLruCache<String, CompactSession> sessions;
+    private final Map<Set<String>, List<GrantedAuthority>> authoritySets = new ConcurrentHashMap<>();
+    private final SecurityContextRepository fallback = new HttpSessionSecurityContextRepository();
+    private final long idleMillis;
+    private final String cookieName;
+    private final Path snapshotFile;
+    private final ScheduledExecutorService snapshots;
+    // One writer at a time: every snapshot goes through the same <file>.tmp
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+
+    /**
+     * @param maxSessions      sessions kept before the least recently used are dropped
+     * @param idleTimeout      how long a session survives without a request
+     * @param cookieName       name of the session id cookie
+     * @param snapshotFile     file the table is saved to and restored from, or {@code null} to keep it in memory only
+     * @param snapshotInterval time between snapshots; ignored without a file
+     */
+    public CompactSecurityContextRepository(int maxSessions, Duration idleTimeout, String cookieName,
+                                            Path snapshotFile, Duration snapshotInterval) {
+        if (idleTimeout.isNegative() || idleTimeout.isZero()) {
+            throw new IllegalArgumentException("[EasySecurity] easysecurity.session.idle-minutes must be greater than zero.");
+        }
+        if (cookieName == null || cookieName.isBlank()) {
+            throw new IllegalArgumentException("[EasySecurity] easysecurity.session.cookie-name must not be blank.");
+        }
+        this.sessions = new StripedLruCache<>(maxSessions);
+        this.idleMillis = idleTimeout.toMillis();
+        this.cookieName = cookieName;
+        this.snapshotFile = snapshotFile;
+        if (snapshotFile == null) {
+            this.snapshots = null;
+            return;
+        }
+        if (snapshotInterval.isNegative() || snapshotInterval.isZero()) {
+            throw new IllegalArgumentException("[EasySecurity] easysecurity.session.snapshot-interval-seconds must be greater than zero.");
+        }
+        restore(System.currentTimeMillis());
+        this.snapshots = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "easysecurity-session-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = snapshotInterval.toMillis();
+        snapshots.scheduleWithFixedDelay(this::snapshotQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Builds the repository from {@code easysecurity.session.*}.
+     */
+    static CompactSecurityContextRepository create(EasySecurityProperties.Session properties) {
+        String path = properties.getSnapshotPath();
+        return new CompactSecurityContextRepository(properties.getMaxSessions(),
+                Duration.ofMinutes(properties.getIdleMinutes()), properties.getCookieName(),
+                path == null || path.isBlank() ? null : Path.of(path),
+                Duration.ofSeconds(properties.getSnapshotIntervalSeconds()));
+    }
+
+    // ─── SecurityContextRepository ────────────────────────────────────────────
+
+    @Override
+    public DeferredSecurityContext loadDeferredContext(HttpServletRequest request) {
+        String id = sessionId(request);
+        if (id == null) {
+            return fallback.loadDeferredContext(request);
+        }
+        return new LazyContext(this, id, fallback.loadDeferredContext(request));
+    }
+
+    @Override
+    @Deprecated
+    public SecurityContext loadContext(HttpRequestResponseHolder requestResponseHolder) {
+        return loadDeferredContext(requestResponseHolder.getRequest()).get();
+    }
+
+    /**
+     * Stores a freshly authenticated context under a new session id (replacing any previous one, so a
+     * session id planted before login is never promoted) and sets the cookie. An empty context — logout —
+     * removes the session and expires the cookie.
+     */
+    @Override
+    public void saveContext(SecurityContext context, HttpServletRequest request, HttpServletResponse response) {
+        String previous = sessionId(request);
+        if (previous != null) {
+            sessions.remove(previous);
+        }
+        Authentication authentication = context.getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated() || !isCompactable(authentication)) {
+            if (previous != null) {
+                writeCookie(request, response, "", Duration.ZERO);
+            }
+            fallback.saveContext(context, request, response);
+            return;
+        }
+
+        String id = newSessionId();
+        sessions.put(id, new CompactSession(authentication.getName(), intern(authentication.getAuthorities())),
+                System.currentTimeMillis() + idleMillis);
+        writeCookie(request, response, id, Duration.ofMillis(-1));
+        // Drop a copy a previous HttpSession-based login may have left behind
+        if (fallback.containsContext(request)) {
+            fallback.saveContext(SecurityContextHolder.createEmptyContext(), request, response);
+        }
+    }
+
+    @Override
+    public boolean containsContext(HttpServletRequest request) {
+        String id = sessionId(request);
+        return (id != null && sessions.get(id, System.currentTimeMillis()) != null) || fallback.containsContext(request);
+    }
+
+    /** Ends one session, e.g. when the user's account is disabled. */
+    public void invalidate(String sessionId) {
+        sessions.remove(sessionId);
+    }
+
+    /** Ends every session. */
+    public void invalidateAll() {
+        sessions.clear();
+    }
+
+    private SecurityContext resolve(String id, DeferredSecurityContext fallbackContext) {
+        CompactSession session = sessions.getAndExtend(id, System.currentTimeMillis(), idleMillis);
+        if (session == null) {
+            return fallbackContext.get();
+        }
+        return new SecurityContextImpl(UsernamePasswordAuthenticationToken.authenticated(
+                session.username(), null, session.authorities()));
+    }
+
+    private static boolean isCompactable(Authentication authentication) {
+        Object principal = authentication.getPrincipal();
+        return principal instanceof UserDetails || principal instanceof String;
+    }
+
+    // Equal authority sets share one immutable list, so a session costs one reference for its roles
+    private List<GrantedAuthority> intern(Collection<? extends GrantedAuthority> authorities) {
+        Set<String> names = new HashSet<>();
+        for (GrantedAuthority authority : authorities) {
+            names.add(authority.getAuthority());
+        }
+        List<GrantedAuthority> shared = authoritySets.get(names);
+        if (shared != null) {
+            return shared;
+        }
+        List<GrantedAuthority> list = names.stream().sorted()
+                .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+                .toList();
+        if (authoritySets.size() >= MAX_INTERNED_SETS) {
+            return list;
+        }
+        List<GrantedAuthority> raced = authoritySets.putIfAbsent(Set.copyOf(names), list);
+        return raced != null ? raced : list;
+    }
+
+    // ─── Cookie ───────────────────────────────────────────────────────────────
+
+    private String sessionId(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return null;
+        }
+        for (Cookie cookie : cookies) {
+            if (cookieName.equals(cookie.getName())) {
+                String value = cookie.getValue();
+                return value != null && !value.isEmpty() ? value : null;
+            }
+        }
+        return null;
+    }
+
+    private void writeCookie(HttpServletRequest request, HttpServletResponse response, String value, Duration maxAge) {
+        String contextPath = request.getContextPath();
+        response.addHeader(HttpHeaders.SET_COOKIE, ResponseCookie.from(cookieName, value)
+                .path(contextPath == null || contextPath.isEmpty() ? "/" : contextPath)
+                .httpOnly(true)
+                .secure(request.isSecure())
+                .sameSite("Lax")
+                .maxAge(maxAge)
+                .build()
+                .toString());
+    }
+
+    private static String newSessionId() {
+        byte[] bytes = new byte[SESSION_ID_BYTES];
+        RANDOM.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    // ─── Snapshot ─────────────────────────────────────────────────────────────
+
+    /**
+     * Writes every live session to the snapshot file: authority sets once, then one record per session.
+     * The file is filled through a memory map and atomically replaces the previous snapshot.
+     * Concurrent calls run one after the other.
+     */
+    public void snapshot() {
+        if (snapshotFile == null) {
+            return;
+        }
+        snapshotLock.lock();
+        try {
+            writeSnapshot();
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    private void writeSnapshot() {
+        long now = System.currentTimeMillis();
+        List<String> ids = new ArrayList<>();
+        List<CompactSession> values = new ArrayList<>();
+        List<Long> expiries = new ArrayList<>();
+        sessions.forEach(now, (id, session, expiresAt) -> {
+            ids.add(id);
+            values.add(session);
+            expiries.add(expiresAt);
+        });
+
+        Map<List<GrantedAuthority>, Integer> setIndex = new IdentityHashMap<>();
+        List<List<GrantedAuthority>> sets = new ArrayList<>();
+        long size = 4 + 8 + 4;                  // magic, written-at, set count
+        for (CompactSession session : values) {
+            if (setIndex.putIfAbsent(session.authorities(), sets.size()) == null) {
+                sets.add(session.authorities());
+                size += 4;
+                for (GrantedAuthority authority : session.authorities()) {
+                    size += 2 + utf8(authority.getAuthority()).length;
+                }
+            }
+        }
+        size += 4;                              // session count
+        for (int i = 0; i < ids.size(); i++) {
+            size += 2 + ids.get(i).length() + 8 + 4 + 2 + utf8(values.get(i).username()).length;
+        }
+
+        try {
+            Path parent = snapshotFile.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Path temp = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+            Files.deleteIfExists(temp);
+            try (FileChannel channel = FileChannel.open(temp, Set.of(StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE), ownerOnly())) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+                buffer.putInt(SNAPSHOT_MAGIC).putLong(now);
+                buffer.putInt(sets.size());
+                for (List<GrantedAuthority> set : sets) {
+                    buffer.putInt(set.size());
+                    for (GrantedAuthority authority : set) {
+                        putString(buffer, authority.getAuthority());
+                    }
+                }
+                buffer.putInt(ids.size());
+                for (int i = 0; i < ids.size(); i++) {
+                    putString(buffer, ids.get(i));
+                    buffer.putLong(expiries.get(i)).putInt(setIndex.get(values.get(i).authorities()));
+                    putString(buffer, values.get(i).username());
+                }
+                buffer.force();
+            }
+            Files.move(temp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("[EasySecurity] Cannot write session snapshot " + snapshotFile, e);
+        }
+    }
+
+    // Loads the previous snapshot, skipping sessions that expired meanwhile; an unreadable file is ignored
+    private void restore(long nowMillis) {
+        if (!Files.isRegularFile(snapshotFile)) {
+            return;
+        }
+        int restored = 0;
+        try (FileChannel channel = FileChannel.open(snapshotFile, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != SNAPSHOT_MAGIC) {
+                logger.warn("[EasySecurity] {} is not a session snapshot — starting without sessions.", snapshotFile);
+                return;
+            }
+            buffer.getLong();
+            List<List<GrantedAuthority>> sets = new ArrayList<>();
+            for (int i = buffer.getInt(); i > 0; i--) {
+                List<GrantedAuthority> authorities = new ArrayList<>();
+                for (int j = buffer.getInt(); j > 0; j--) {
+                    authorities.add(new SimpleGrantedAuthority(getString(buffer)));
+                }
+                sets.add(intern(authorities));
+            }
+            for (int i = buffer.getInt(); i > 0; i--) {
+                String id = getString(buffer);
+                long expiresAt = buffer.getLong();
+                List<GrantedAuthority> authorities = sets.get(buffer.getInt());
+                String username = getString(buffer);
+                if (expiresAt > nowMillis) {
+                    sessions.put(id, new CompactSession(username, authorities), expiresAt);
+                    restored++;
+                }
+            }
+        } catch (IOException | BufferUnderflowException | IndexOutOfBoundsException e) {
+            logger.warn("[EasySecurity] Could not read session snapshot {} — starting without sessions: {}",
+                    snapshotFile, e.toString());
+            sessions.clear();
+            return;
+        }
+        logger.info("[EasySecurity] Restored {} sessions from {}.", restored, snapshotFile);
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (RuntimeException e) {
+            logger.warn("[EasySecurity] Session snapshot failed: {}", e.getMessage());
+        }
+    }
+
+    private FileAttribute<?>[] ownerOnly() {
+        return snapshotFile.getFileSystem().supportedFileAttributeViews().contains("posix")
+                ? new FileAttribute<?>[] { PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")) }
+                : new FileAttribute<?>[0];
+    }
+
+    private static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void putString(ByteBuffer buffer, String value) {
+        byte[] bytes = utf8(value);
+        buffer.putShort((short) bytes.length).put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        byte[] bytes = new byte[Short.toUnsignedInt(buffer.getShort())];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Stops the snapshot schedule, lets a scheduled snapshot that is already running finish, and
+     * writes a final snapshot.
+     */
+    @Override
+    public void close() {
+        if (snapshots == null) {
+            return;
+        }
+        // Not shutdownNow: interrupting a running snapshot would close its channel mid-write
+        snapshots.shutdown();
+        boolean interrupted = false;
+        try {
+            if (!snapshots.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                logger.warn("[EasySecurity] Scheduled session snapshot still running after {}s.", CLOSE_TIMEOUT_SECONDS);
+            }
+        } catch (InterruptedException e) {
+            interrupted = true;   // restored after the final snapshot, which an interrupt would abort
+        }
+        try {
+            snapshot();
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    // ─── Deferred Context ─────────────────────────────────────────────────────
+
+    // Looked up on first use, so requests that never read the principal never touch the table
+    private static final class LazyContext implements DeferredSecurityContext {
+
+        private final CompactSecurityContextRepository repository;
+        private final String id;
+        private final DeferredSecurityContext fallback;
+        private SecurityContext context;
+
+        LazyContext(CompactSecurityContextRepository repository, String id, DeferredSecurityContext fallback) {
+            this.repository = repository;
+            this.id = id;
+            this.fallback = fallback;
+        }
+
+        @Override
+        public SecurityContext get() {
+            if (context == null) {
+                context = repository.resolve(id, fallback);
+            }
+            return context;
+        }
+
+        @Override
+        public boolean isGenerated() {
+            return get().getAuthentication() == null && fallback.isGenerated();
+        }
+    }
+
+    // ─── Statistics ───────────────────────────────────────────────────────────
+
+    public long hitCount()         { return sessions.hitCount(); }
+    public long missCount()        { return sessions.missCount(); }
+    public long evictionCount()    { return sessions.evictionCount(); }
+    public int size()              { return sessions.size(); }
+    public int authoritySetCount() { return authoritySets.size(); }
+}
@@ -0,0 +1,92 @@
+package com.example.simple_security.config;
+
+import org.springframework.web.cors.CorsConfiguration;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * {@link CorsConfiguration} whose origin check is compiled up front: exact origins go into a hash set,
+ * and single-wildcard patterns such as {@code https://*.example.com} become prefix/suffix pairs.
+ * A check is one hash lookup plus one string comparison per pattern, instead of Spring's list scan
+ * and regex match per request. Patterns with more than one {@code *} fall back to Spring's matching.
+ */
+final class CompiledCorsConfiguration extends CorsConfiguration {
+
+    private record Wildcard(String prefix, String suffix) { }
+
+    private final boolean anyOrigin;
+    private final Set<String> exactOrigins = new HashSet<>();
+    private final List<Wildcard> wildcards = new ArrayList<>();
+    private final boolean hasFallbackPatterns;
+
+    CompiledCorsConfiguration(List<String> allowedOrigins, boolean allowCredentials) {
+        boolean any = false;
+        List<String> fallback = new ArrayList<>();
+        for (String origin : allowedOrigins) {
+            String normalised = normalise(origin);
+            int star = normalised.indexOf('*');
+            if (normalised.equals("*")) {
+                any = true;
+            } else if (star < 0) {
+                exactOrigins.add(normalised);
+            } else if (star == normalised.lastIndexOf('*')) {
+                wildcards.add(new Wildcard(normalised.substring(0, star), normalised.substring(star + 1)));
+            } else {
+                fallback.add(origin);
+            }
+        }
+        if (any && allowCredentials) {
+            throw new IllegalArgumentException("[EasySecurity] CORS allowedOrigins must not contain \"*\" when allowCredentials is true. List the origins explicitly.");
+        }
+        this.anyOrigin = any;
+        this.hasFallbackPatterns = !fallback.isEmpty();
+        if (hasFallbackPatterns) {
+            setAllowedOriginPatterns(fallback);
+        }
+    }
+
+    // Origins compare case-insensitively and without a trailing slash, as in CorsConfiguration
+    private static String normalise(String origin) {
+        String trimmed = origin.endsWith("/") ? origin.substring(0, origin.length() - 1) : origin;
+        return trimmed.toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public String checkOrigin(String origin) {
+        if (origin == null || origin.isEmpty()) {
+            return null;
+        }
+        if (anyOrigin) {
+            return ALL;
+        }
+        String normalised = normalise(origin);
+        if (exactOrigins.contains(normalised)) {
+            return origin;
+        }
+        for (Wildcard wildcard : wildcards) {
+            if (matches(wildcard, normalised)) {
+                return origin;
+            }
+        }
+        return hasFallbackPatterns ? super.checkOrigin(origin) : null;
+    }
+
+    // The wildcard stands for at least one character and never crosses into the path
+    private static boolean matches(Wildcard wildcard, String origin) {
+        int middleEnd = origin.length() - wildcard.suffix().length();
+        if (middleEnd <= wildcard.prefix().length()
+                || !origin.startsWith(wildcard.prefix()) || !origin.endsWith(wildcard.suffix())) {
+            return false;
+        }
+        for (int i = wildcard.prefix().length(); i < middleEnd; i++) {
+            if (origin.charAt(i) == '/') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
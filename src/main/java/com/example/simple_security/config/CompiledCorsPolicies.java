@@ -0,0 +1,38 @@
+package com.example.simple_security.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.CorsConfigurationSource;
+import org.springframework.web.util.UrlPathHelper;
+
+/**
+ * An {@link EasyCorsConfiguration} and its path policies compiled into a {@link PathPatternTrie}.
+ * Each request resolves to exactly one policy, the most specific matching pattern. The root
+ * configuration covers {@code /**}.
+ */
+public final class CompiledCorsPolicies implements CorsConfigurationSource {
+
+    private final PathPatternTrie<CorsConfiguration> trie = new PathPatternTrie<>();
+
+    CompiledCorsPolicies(EasyCorsConfiguration root) {
+        root.getPathPolicies().forEach((pattern, policy) -> trie.add(pattern, policy.toCorsConfiguration()));
+        trie.add("/**", root.toCorsConfiguration());
+    }
+
+    /**
+     * @param path request path within the application
+     * @return the CORS policy for {@code path}
+     */
+    public CorsConfiguration resolve(String path) {
+        return trie.match(path);
+    }
+
+    @Override
+    public CorsConfiguration getCorsConfiguration(HttpServletRequest request) {
+        return resolve(UrlPathHelper.defaultInstance.getPathWithinApplication(request));
+    }
+
+    public int size() {
+        return trie.size();
+    }
+}
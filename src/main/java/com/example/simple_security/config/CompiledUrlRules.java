@@ -0,0 +1,93 @@
+package com.example.simple_security.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.authorization.AuthenticatedAuthorizationManager;
+import org.springframework.security.authorization.AuthorityAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.AuthorizationResult;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+/**
+ * All of an {@link EasySecurity} configuration's URL rules compiled into a single
+ * {@link PathPatternTrie}. A request is resolved to exactly one rule in time proportional to its
+ * path depth, and the most specific pattern wins regardless of declaration order:
+ * with {@code /api/**} permitted and {@code /api/admin/**} restricted to {@code ADMIN},
+ * {@code /api/admin/users} requires {@code ADMIN}.
+ *
+ * <p>When the very same pattern appears in more than one list, the strictest rule wins:
+ * role-based, then authenticated, then permitted. Requests that match no pattern must be authenticated.
+ */
+public final class CompiledUrlRules implements AuthorizationManager<RequestAuthorizationContext> {
+
+    /** Kind of access a rule grants. */
+    public enum Access { PERMIT_ALL, AUTHENTICATED, ROLE }
+
+    /** One compiled rule. */
+    public record Rule(String pattern, Access access, String role,
+                       AuthorizationManager<RequestAuthorizationContext> manager) { }
+
+    private static final AuthorizationDecision GRANTED = new AuthorizationDecision(true);
+
+    private static final Rule DEFAULT_RULE = new Rule("<any request>", Access.AUTHENTICATED, null,
+            AuthenticatedAuthorizationManager.authenticated());
+
+    private final PathPatternTrie<Rule> trie = new PathPatternTrie<>();
+
+    CompiledUrlRules(List<String> permittedUrls, List<String> authenticatedUrls, Map<String, String> roleBasedUrls) {
+        // Strictest first: the trie keeps the first rule registered for a duplicate pattern.
+        // Sorting the role map makes the compiled result independent of Map iteration order.
+        new TreeMap<>(roleBasedUrls).forEach((url, role) ->
+                trie.add(url, new Rule(url, Access.ROLE, role, AuthorityAuthorizationManager.hasRole(role))));
+        authenticatedUrls.forEach(url ->
+                trie.add(url, new Rule(url, Access.AUTHENTICATED, null, AuthenticatedAuthorizationManager.authenticated())));
+        permittedUrls.forEach(url ->
+                trie.add(url, new Rule(url, Access.PERMIT_ALL, null, (authentication, context) -> GRANTED)));
+    }
+
+    /**
+     * @param path request path within the application
+     * @return the rule that applies to {@code path}; never {@code null}
+     */
+    public Rule resolve(String path) {
+        Rule rule = trie.match(path);
+        return rule != null ? rule : DEFAULT_RULE;
+    }
+
+    public Rule resolve(HttpServletRequest request) {
+        return resolve(UrlPathHelper.defaultInstance.getPathWithinApplication(request));
+    }
+
+    public int size() {
+        return trie.size();
+    }
+
+    @Override
+    public AuthorizationResult authorize(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+        return resolve(context.getRequest()).manager().authorize(authentication, context);
+    }
+
+    /**
+     * @deprecated use {@link #authorize(Supplier, RequestAuthorizationContext)}; kept only because
+     * {@link AuthorizationManager} still declares it
+     */
+    @Deprecated
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+        return toDecision(authorize(authentication, context));
+    }
+
+    static AuthorizationDecision toDecision(AuthorizationResult result) {
+        if (result == null || result instanceof AuthorizationDecision) {
+            return (AuthorizationDecision) result;
+        }
+        return new AuthorizationDecision(result.isGranted());
+    }
+}
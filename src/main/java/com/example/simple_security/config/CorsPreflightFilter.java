@@ -0,0 +1,49 @@
+package com.example.simple_security.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.CorsConfigurationSource;
+import org.springframework.web.cors.CorsProcessor;
+import org.springframework.web.cors.CorsUtils;
+import org.springframework.web.cors.DefaultCorsProcessor;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Answers CORS preflight requests at the very front of the security filter chain, so they skip
+ * security-context, header, JWT and authorization work. A preflight the policy rejects gets
+ * {@code 403}, as it would from Spring's {@code CorsFilter}. Other requests pass through unchanged.
+ */
+final class CorsPreflightFilter extends OncePerRequestFilter {
+
+    private final CorsConfigurationSource policies;
+    private final CorsProcessor processor = new DefaultCorsProcessor();
+
+    CorsPreflightFilter(CorsConfigurationSource policies) {
+        this.policies = policies;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !CorsUtils.isPreFlightRequest(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        CorsConfiguration policy = policies.getCorsConfiguration(request);
+        if (policy == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        // The processor writes the Access-Control-* headers, or a 403 if the preflight is not allowed
+        if (processor.processRequest(policy, request, response)) {
+            response.setStatus(HttpServletResponse.SC_OK);
+        }
+    }
+}
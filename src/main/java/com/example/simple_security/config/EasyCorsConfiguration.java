@@ -1,6 +1,10 @@
 package com.example.simple_security.config;
 
+import org.springframework.web.cors.CorsConfiguration;
+
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 public class EasyCorsConfiguration {
 
@@ -9,10 +13,12 @@ public class EasyCorsConfiguration {
     private List<String> allowedHeaders = List.of("*");
     private boolean allowCredentials    = false;
     private long maxAge                 = 3600L;
+    private final Map<String, EasyCorsConfiguration> pathPolicies = new LinkedHashMap<>();
 
     /**
      * Origins allowed to make cross-origin requests.
-     * Use {@code List.of("*")} to allow all (development only).
+     * Use {@code List.of("*")} to allow all (development only), or a pattern such as
+     * {@code "https://*.example.com"} to allow every subdomain.
      * When {@link #allowCredentials(boolean)} is {@code true}, wildcards are not permitted —
      * you must specify explicit origins.
      * <pre>{@code
@@ -80,6 +86,40 @@ public class EasyCorsConfiguration {
         return this;
     }
 
+    /**
+     * Applies a different policy to the paths matching {@code pattern}. This instance's own settings
+     * apply to every other path. The most specific pattern wins, as with the URL rules.
+     * <pre>{@code
+     * return new EasyCorsConfiguration()
+     *         .allowedOrigins(List.of("https://app.example.com"))
+     *         .path("/public/**", new EasyCorsConfiguration().allowedOrigins(List.of("*")))
+     *         .path("/partner/**", new EasyCorsConfiguration()
+     *                 .allowedOrigins(List.of("https://*.partner.com"))
+     *                 .allowCredentials(true));
+     * }</pre>
+     *
+     * @param pattern path pattern, e.g. {@code /public/**}
+     * @param policy  CORS settings for matching paths; its own path policies are ignored
+     * @return this instance for chaining
+     */
+    public EasyCorsConfiguration path(String pattern, EasyCorsConfiguration policy) {
+        if (pattern == null || policy == null) {
+            throw new IllegalArgumentException("[EasySecurity] CORS path pattern and policy must not be null.");
+        }
+        pathPolicies.put(pattern, policy);
+        return this;
+    }
+
+    // Origins are matched by CompiledCorsConfiguration; the rest is plain CorsConfiguration
+    CorsConfiguration toCorsConfiguration() {
+        CorsConfiguration config = new CompiledCorsConfiguration(allowedOrigins, allowCredentials);
+        config.setAllowedMethods(allowedMethods);
+        config.setAllowedHeaders(allowedHeaders);
+        config.setAllowCredentials(allowCredentials);
+        config.setMaxAge(maxAge);
+        return config;
+    }
+
     // ─── Getters (used internally by EasySecurity) ────────────────────────────
 
     public List<String> getAllowedOrigins()  { return allowedOrigins; }
@@ -87,4 +127,5 @@ public class EasyCorsConfiguration {
     public List<String> getAllowedHeaders()  { return allowedHeaders; }
     public boolean isAllowCredentials()      { return allowCredentials; }
     public long getMaxAge()                  { return maxAge; }
+    public Map<String, EasyCorsConfiguration> getPathPolicies() { return pathPolicies; }
 }
\ No newline at end of file
@@ -0,0 +1,262 @@
+package com.example.simple_security.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link PasswordEncoder} registered by EasySecurity unless the application defines its own.
+ * The work factor is calibrated at startup so one hash takes about {@code easysecurity.password.target-millis}
+ * on this machine, and hashing runs on a bounded pool so a login burst occupies at most
+ * {@code easysecurity.password.threads} cores.
+ *
+ * <p>Hashes are written as {@code {bcrypt}...} or {@code {pbkdf2-sha256}<iterations>$...}, so they keep
+ * verifying after the cost changes. {@link #upgradeEncoding(String)} reports hashes weaker than the
+ * current cost or written by another algorithm; Spring Security then re-hashes the password on the next
+ * successful login if a {@code UserDetailsPasswordService} bean is present. Hashes under any other id
+ * known to {@link PasswordEncoderFactories#createDelegatingPasswordEncoder()} — {@code {pbkdf2}},
+ * {@code {scrypt}}, {@code {argon2}}, {@code {sha256}}, {@code {noop}} and the rest — are still accepted.
+ *
+ * <pre>{@code
+ * easysecurity.password.algorithm=bcrypt        # or pbkdf2
+ * easysecurity.password.target-millis=250
+ * easysecurity.password.cost=0                  # 0 = calibrate; otherwise bcrypt strength / pbkdf2 iterations
+ * easysecurity.password.threads=8               # 0 = hash on the calling thread
+ * easysecurity.password.queue-capacity=1000
+ * }</pre>
+ */
+public class EasyPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(EasyPasswordEncoder.class);
+
+    static final String BCRYPT_ID = "bcrypt";
+    static final String PBKDF2_ID = "pbkdf2-sha256";
+
+    // Calibration never goes below these (OWASP / Spring Security defaults)
+    static final int MIN_BCRYPT_STRENGTH = 10;
+    static final int MIN_PBKDF2_ITERATIONS = 310_000;
+
+    private final String algorithm;
+    private final int cost;
+    private final DelegatingPasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;  // null when hashing on the calling thread
+
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * @param algorithm     {@code bcrypt} or {@code pbkdf2}
+     * @param cost          bcrypt strength or pbkdf2 iteration count
+     * @param threads       hashing threads, or {@code 0} to hash on the calling thread
+     * @param queueCapacity hashes that may wait for a thread before new ones are rejected
+     */
+    public EasyPasswordEncoder(String algorithm, int cost, int threads, int queueCapacity) {
+        this.algorithm = normalise(algorithm);
+        this.cost = cost;
+        if (threads < 0 || queueCapacity <= 0) {
+            throw new IllegalArgumentException("[EasySecurity] easysecurity.password.threads must not be negative and queue-capacity must be greater than zero.");
+        }
+
+        boolean bcrypt = BCRYPT_ID.equals(this.algorithm);
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put(BCRYPT_ID, new BCryptPasswordEncoder(bcrypt ? cost : MIN_BCRYPT_STRENGTH));
+        encoders.put(PBKDF2_ID, new IterationPbkdf2Encoder(bcrypt ? MIN_PBKDF2_ITERATIONS : cost));
+        this.delegate = new DelegatingPasswordEncoder(bcrypt ? BCRYPT_ID : PBKDF2_ID, encoders);
+        // Every id Spring Security writes by default keeps verifying, so existing hashes survive the switch
+        delegate.setDefaultPasswordEncoderForMatches(PasswordEncoderFactories.createDelegatingPasswordEncoder());
+
+        this.executor = threads == 0 ? null : new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), hashingThreads(), new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Builds the encoder from {@code easysecurity.password.*}, calibrating the cost unless it is fixed.
+     */
+    static EasyPasswordEncoder create(EasySecurityProperties.Password properties) {
+        String algorithm = normalise(properties.getAlgorithm());
+        int cost = properties.getCost() > 0 ? properties.getCost() : calibrate(algorithm, properties.getTargetMillis());
+        logger.info("[EasySecurity] Password encoder: {} (cost {}), {} hashing threads.",
+                algorithm, cost, properties.getThreads() == 0 ? "no" : properties.getThreads());
+        return new EasyPasswordEncoder(algorithm, cost, properties.getThreads(), properties.getQueueCapacity());
+    }
+
+    private static String normalise(String algorithm) {
+        String name = algorithm == null ? "" : algorithm.trim().toLowerCase(Locale.ROOT);
+        return switch (name) {
+            case "bcrypt" -> BCRYPT_ID;
+            case "pbkdf2", PBKDF2_ID -> PBKDF2_ID;
+            default -> throw new IllegalArgumentException(
+                    "[EasySecurity] easysecurity.password.algorithm must be 'bcrypt' or 'pbkdf2', got '" + algorithm + "'.");
+        };
+    }
+
+    // ─── Calibration ──────────────────────────────────────────────────────────
+
+    static int calibrate(String algorithm, long targetMillis) {
+        if (targetMillis <= 0) {
+            throw new IllegalArgumentException("[EasySecurity] easysecurity.password.target-millis must be greater than zero.");
+        }
+        long targetNanos = TimeUnit.MILLISECONDS.toNanos(targetMillis);
+        if (BCRYPT_ID.equals(algorithm)) {
+            // Each strength step doubles the work
+            int strength = 8;
+            long nanos = fastestOf(new BCryptPasswordEncoder(strength));
+            while (strength < 31 && nanos * 2 <= targetNanos) {
+                strength++;
+                nanos *= 2;
+            }
+            return Math.max(MIN_BCRYPT_STRENGTH, strength);
+        }
+        // PBKDF2 work is linear in the iteration count; round down to 10k
+        int probe = 100_000;
+        long nanos = fastestOf(new IterationPbkdf2Encoder(probe));
+        long iterations = probe * targetNanos / Math.max(1, nanos) / 10_000 * 10_000;
+        return (int) Math.max(MIN_PBKDF2_ITERATIONS, Math.min(Integer.MAX_VALUE, iterations));
+    }
+
+    // First run warms up the JIT; the fastest of the rest is the least disturbed by other startup work
+    private static long fastestOf(PasswordEncoder encoder) {
+        encoder.encode("calibration");
+        long fastest = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            encoder.encode("calibration");
+            fastest = Math.min(fastest, System.nanoTime() - start);
+        }
+        return fastest;
+    }
+
+    // ─── PasswordEncoder ──────────────────────────────────────────────────────
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return hash(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return hash(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    // The request thread waits without burning CPU while a pool thread hashes
+    private <T> T hash(Callable<T> work) {
+        if (executor == null) {
+            try {
+                return work.call();
+            } catch (Exception e) {
+                throw e instanceof RuntimeException runtime ? runtime : new IllegalStateException(e);
+            }
+        }
+        Future<T> future;
+        try {
+            future = executor.submit(work);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new IllegalStateException("[EasySecurity] Password hashing queue is full — too many concurrent logins.", e);
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("[EasySecurity] Interrupted while waiting for password hashing.", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException runtime ? runtime : new IllegalStateException(cause);
+        }
+    }
+
+    private static ThreadFactory hashingThreads() {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "easysecurity-hash-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @Override
+    public void close() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    public String getAlgorithm() { return algorithm; }
+    public int getCost()         { return cost; }
+
+    // ─── Statistics ───────────────────────────────────────────────────────────
+
+    public int queuedCount()    { return executor != null ? executor.getQueue().size() : 0; }
+    public long rejectedCount() { return rejected.sum(); }
+
+    // ─── PBKDF2 ───────────────────────────────────────────────────────────────
+
+    /**
+     * PBKDF2-HMAC-SHA256 that stores its iteration count in the hash ({@code <iterations>$<salt+hash>}),
+     * so hashes written at an older count still verify and can be upgraded.
+     */
+    private static final class IterationPbkdf2Encoder implements PasswordEncoder {
+
+        private final int iterations;
+        private final Map<Integer, Pbkdf2PasswordEncoder> byIterations = new ConcurrentHashMap<>();
+
+        IterationPbkdf2Encoder(int iterations) {
+            this.iterations = iterations;
+        }
+
+        private Pbkdf2PasswordEncoder encoder(int iterations) {
+            return byIterations.computeIfAbsent(iterations, n -> new Pbkdf2PasswordEncoder("", 16, n,
+                    Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256));
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return iterations + "$" + encoder(iterations).encode(rawPassword);
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            int separator = encodedPassword == null ? -1 : encodedPassword.indexOf('$');
+            int stored = separator > 0 ? iterationsOf(encodedPassword, separator) : -1;
+            return stored > 0 && encoder(stored).matches(rawPassword, encodedPassword.substring(separator + 1));
+        }
+
+        @Override
+        public boolean upgradeEncoding(String encodedPassword) {
+            int separator = encodedPassword == null ? -1 : encodedPassword.indexOf('$');
+            return separator <= 0 || iterationsOf(encodedPassword, separator) < iterations;
+        }
+
+        private static int iterationsOf(String encodedPassword, int separator) {
+            try {
+                return Integer.parseInt(encodedPassword, 0, separator, 10);
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.simple_security.config;
 
+import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -7,14 +8,23 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.AuthorizationFilter;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
-import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.security.web.session.DisableEncodeUrlFilter;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 import org.springframework.web.cors.CorsConfigurationSource;
-import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+import org.springframework.web.util.UrlPathHelper;
 import org.springframework.security.config.http.SessionCreationPolicy;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -26,9 +36,18 @@ public abstract class EasySecurity {
     @Autowired
     private JwtUtils jwtUtils;
 
+    @Autowired
+    private EasySecurityProperties properties;
+
     @Autowired(required = false)
     private JWTValidate jwtValidate;
 
+    @Autowired(required = false)
+    private SecurityAuditLog auditLog;
+
+    @Autowired(required = false)
+    private CompactSecurityContextRepository compactSessions;
+
     private final List<String> permittedUrls;
     private final List<String> authenticatedUrls;
     private final Map<String, String> roleBasedUrls;
@@ -39,18 +58,29 @@ public abstract class EasySecurity {
     private final String customLoginPageUrl;
     private final String loginProcessingUrl;
     private final String successForwardUrl;
+    private final UserDetailsCache userDetailsCache;
+    private final boolean statelessAuthentication;
+    private final TokenRevocationStore tokenRevocationStore;
+    private final boolean lazyAuthentication;
+    private CompiledUrlRules urlRules;
+    private TenantRegistry tenants;
 
     protected EasySecurity() {
-        this.permittedUrls         = safeList(permittedUrls());
-        this.authenticatedUrls     = safeList(authenticatedUrls());
-        this.roleBasedUrls         = safeMap(roleBasedUrls());
-        this.disableCsrfToken      = disableCsrfToken();
-        this.enableOAuth           = enableOAuth();
-        this.enableTokenValidation = enableTokenValidation();
-        this.isCustomLoginPage     = isCustomLoginPage();
-        this.customLoginPageUrl    = customLoginPageUrl();
-        this.loginProcessingUrl    = loginProcessingUrl();
-        this.successForwardUrl     = successForwardUrl();
+        this.permittedUrls           = safeList(permittedUrls());
+        this.authenticatedUrls       = safeList(authenticatedUrls());
+        this.roleBasedUrls           = safeMap(roleBasedUrls());
+        this.disableCsrfToken        = disableCsrfToken();
+        this.enableOAuth             = enableOAuth();
+        this.enableTokenValidation   = enableTokenValidation();
+        this.isCustomLoginPage       = isCustomLoginPage();
+        this.customLoginPageUrl      = customLoginPageUrl();
+        this.loginProcessingUrl      = loginProcessingUrl();
+        this.successForwardUrl       = successForwardUrl();
+        this.userDetailsCache        = userDetailsCache();
+        this.statelessAuthentication = statelessAuthentication();
+        this.tokenRevocationStore    = tokenRevocationStore();
+        this.lazyAuthentication      = lazyAuthentication();
+        this.urlRules                = new CompiledUrlRules(permittedUrls, authenticatedUrls, roleBasedUrls);
     }
 
     private SessionCreationPolicy resolveSessionPolicy() {
@@ -67,40 +97,119 @@ public abstract class EasySecurity {
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity httpSecurity) throws Exception {
 
+        // Called here rather than in the constructor, so a subclass may return one of its own fields
+        TenantRegistry tenantRegistry = tenantRegistry();
+        this.tenants = tenantRegistry;
+
+        // Token introspection is guarded by its own role rule, compiled in with the application's rules
+        EasySecurityProperties.Introspection introspection = properties.getIntrospection();
+        RequestMatcher introspectionRequest = request -> "POST".equals(request.getMethod())
+                && introspection.getPath().equals(UrlPathHelper.defaultInstance.getPathWithinApplication(request));
+        if (introspection.isEnabled()) {
+            Map<String, String> roles = new LinkedHashMap<>(roleBasedUrls);
+            roles.put(introspection.getPath(), introspection.getRole());
+            urlRules = new CompiledUrlRules(permittedUrls, authenticatedUrls, roles);
+        }
+
         // CORS
         EasyCorsConfiguration easyCors = corsConfiguration();
+        CompiledCorsPolicies corsPolicies = easyCors != null ? new CompiledCorsPolicies(easyCors) : null;
+        if (corsPolicies != null || tenantRegistry != null) {
+            // Tenants may bring their own CORS policy even when there is no default one
+            CorsConfigurationSource corsSource = tenantRegistry != null
+                    ? tenantRegistry.corsConfigurationSource(corsPolicies)
+                    : corsPolicies;
+            httpSecurity.cors(cors -> cors.configurationSource(corsSource));
+            // Valid preflights are answered before any security-context, JWT or authorization work
+            httpSecurity.addFilterBefore(new CorsPreflightFilter(corsSource), DisableEncodeUrlFilter.class);
+        }
         if (easyCors != null) {
-            httpSecurity.cors(cors -> cors.configurationSource(buildCorsConfigurationSource(easyCors)));
-            logger.info("[EasySecurity] CORS configured. Allowed origins: {}", easyCors.getAllowedOrigins());
+            logger.info("[EasySecurity] CORS configured. Allowed origins: {} ({} path policies).",
+                    easyCors.getAllowedOrigins(), easyCors.getPathPolicies().size());
         } else {
             logger.info("[EasySecurity] CORS not configured. Override corsConfiguration() to enable it.");
         }
 
-        // Authorization & CSRF
+        // Authorization & CSRF — all URL rules resolved through one precompiled trie (per tenant, if any)
         httpSecurity
-                .authorizeHttpRequests(auth -> {
-                    permittedUrls.forEach(url -> auth.requestMatchers(url).permitAll());
-                    authenticatedUrls.forEach(url -> auth.requestMatchers(url).authenticated());
-                    roleBasedUrls.forEach((url, role) -> auth.requestMatchers(url).hasRole(role));
-                    auth.anyRequest().authenticated();
-                })
+                .authorizeHttpRequests(auth -> auth.anyRequest().access(
+                        tenantRegistry != null ? tenantRegistry.authorizationManager(urlRules) : urlRules))
                 .csrf(csrf -> {
-                    if (disableCsrfToken) csrf.disable();
+                    if (disableCsrfToken) {
+                        csrf.disable();
+                    } else if (introspection.isEnabled()) {
+                        // Called by gateways with a bearer token, never by a browser form
+                        csrf.ignoringRequestMatchers(introspectionRequest);
+                    }
                 });
         // Session Management
         httpSecurity.sessionManagement(session ->
                 session.sessionCreationPolicy(resolveSessionPolicy())
         );
         logger.info("[EasySecurity] Session policy set to: {}", sessionPolicy());
+        if (compactSessions != null) {
+            if (sessionPolicy() == SessionPolicy.STATELESS) {
+                logger.info("[EasySecurity] easysecurity.session.compact ignored — the session policy is STATELESS.");
+            } else {
+                httpSecurity.securityContext(context -> context.securityContextRepository(compactSessions));
+                logger.info("[EasySecurity] Compact session store enabled (cookie {}).", properties.getSession().getCookieName());
+            }
+        }
+        logger.info("[EasySecurity] {} URL rules compiled (most specific pattern wins).", urlRules.size());
+
+        // Token Revocation
+        if (tokenRevocationStore != null) {
+            jwtUtils.enableRevocation(tokenRevocationStore);
+        }
+
+        // Tenants share the application's token settings and revocation list
+        if (tenantRegistry != null) {
+            tenantRegistry.bind(properties.getJwt(), jwtUtils.getRevocations());
+            logger.info("[EasySecurity] Multi-tenant mode: tenants resolved by {} ({} registered).",
+                    tenantRegistry.getResolution().name().toLowerCase(), tenantRegistry.size());
+        }
 
         // JWT Filter
         if (enableTokenValidation) {
-            if (jwtValidate != null) {
-                httpSecurity.addFilterBefore(jwtValidate, UsernamePasswordAuthenticationFilter.class);
+            if (jwtValidate == null) {
+                logger.error("[EasySecurity] enableTokenValidation=true but JWTValidate bean is missing.");
+            } else if (!statelessAuthentication && jwtValidate.getUserDetailsLoader() == null) {
+                logger.error("[EasySecurity] enableTokenValidation=true but no UserDetailsService bean was found. " +
+                        "Provide a UserDetailsService bean or override statelessAuthentication() to return true.");
             } else {
-                logger.error("[EasySecurity] enableTokenValidation=true but JWTValidate bean is missing. " +
-                        "Make sure you have a UserDetailsService bean in your application context.");
+                jwtValidate.setStatelessAuthentication(statelessAuthentication);
+                jwtValidate.setLazyAuthentication(lazyAuthentication);
+                // Permitted URLs never need a principal — bypass token verification for them
+                jwtValidate.setUrlRules(urlRules);
+                if (tenantRegistry != null) {
+                    jwtValidate.setTenants(tenantRegistry);
+                }
+                if (auditLog != null) {
+                    jwtValidate.setAuditLog(auditLog);
+                }
+                if (statelessAuthentication) {
+                    logger.info("[EasySecurity] Stateless JWT authentication enabled — authorities are read from token claims.");
+                } else if (userDetailsCache != null) {
+                    jwtValidate.getUserDetailsLoader().setCache(userDetailsCache);
+                    logger.info("[EasySecurity] UserDetails cache enabled: {}", userDetailsCache.getClass().getSimpleName());
+                }
+                if (lazyAuthentication) {
+                    logger.info("[EasySecurity] Lazy JWT authentication enabled — tokens are verified on first use of the principal.");
+                }
+                httpSecurity.addFilterBefore(jwtValidate, UsernamePasswordAuthenticationFilter.class);
+            }
+        }
+
+        // Token Introspection — answered after authorization, so the caller's role has been checked
+        if (introspection.isEnabled()) {
+            TokenIntrospectionFilter introspectionFilter = new TokenIntrospectionFilter(introspection,
+                    properties.getJwt().getPrecheck().getMaxLength(), jwtUtils);
+            if (tenantRegistry != null) {
+                introspectionFilter.setTenants(tenantRegistry);
             }
+            httpSecurity.addFilterAfter(introspectionFilter, AuthorizationFilter.class);
+            logger.info("[EasySecurity] Token introspection enabled on POST {} (role {}, up to {} tokens per request).",
+                    introspection.getPath(), introspection.getRole(), introspection.getMaxBatch());
         }
 
         // OAuth2
@@ -132,6 +241,19 @@ public abstract class EasySecurity {
             }
         }
 
+        // Login Throttling — answers 429 before the password is hashed
+        EasySecurityProperties.RateLimit rateLimit = properties.getLogin().getRateLimit();
+        if (rateLimit.isEnabled()) {
+            String processingUrl = isCustomLoginPage ? loginProcessingUrl : "/login";
+            LoginRateLimitFilter rateLimitFilter = new LoginRateLimitFilter(processingUrl, rateLimit);
+            if (auditLog != null) {
+                rateLimitFilter.setAuditLog(auditLog);
+            }
+            httpSecurity.addFilterBefore(rateLimitFilter, UsernamePasswordAuthenticationFilter.class);
+            logger.info("[EasySecurity] Login rate limit enabled on POST {} (per IP: {}/min, per username: {}/min).",
+                    processingUrl, rateLimit.getIp().getRefillPerMinute(), rateLimit.getUsername().getRefillPerMinute());
+        }
+
         return httpSecurity.build();
     }
 
@@ -153,19 +275,98 @@ public abstract class EasySecurity {
         return SessionPolicy.STATELESS;
     }
 
-    // ─── CORS Internal Builder ────────────────────────────────────────────────
+    /**
+     * Set {@code true} to authenticate JWT requests from the token's claims alone.
+     * The {@code Authentication} principal is the token subject and its authorities come from the
+     * {@code authorities} claim written by {@link #createToken(String, Collection)} —
+     * no {@code UserDetailsService} bean is required and no backend lookup runs per request.
+     * Defaults to {@code false}: the user is reloaded from the {@code UserDetailsService}.
+     * <pre>{@code
+     * @Override
+     * public boolean statelessAuthentication() {
+     *     return true;
+     * }
+     * }</pre>
+     *
+     * @return {@code true} to trust authorities embedded in the token
+     */
+    public boolean statelessAuthentication() {
+        return false;
+    }
 
-    private CorsConfigurationSource buildCorsConfigurationSource(EasyCorsConfiguration easyCors) {
-        CorsConfiguration config = new CorsConfiguration();
-        config.setAllowedOrigins(easyCors.getAllowedOrigins());
-        config.setAllowedMethods(easyCors.getAllowedMethods());
-        config.setAllowedHeaders(easyCors.getAllowedHeaders());
-        config.setAllowCredentials(easyCors.isAllowCredentials());
-        config.setMaxAge(easyCors.getMaxAge());
+    /**
+     * Set {@code true} to verify the JWT and load the user only when something first needs the
+     * principal — an authorization rule that checks authentication or a role, or application code
+     * reading the {@code SecurityContext}. Requests that never look at it skip the signature check
+     * and the {@code UserDetailsService} call. Defaults to {@code false}.
+     * Requests to {@link #permittedUrls()} skip the JWT filter in either mode.
+     * <pre>{@code
+     * @Override
+     * public boolean lazyAuthentication() {
+     *     return true;
+     * }
+     * }</pre>
+     *
+     * @return {@code true} to defer token verification until the principal is needed
+     */
+    public boolean lazyAuthentication() {
+        return false;
+    }
+
+    /**
+     * Store for revoked tokens. Returns {@code null} by default, meaning tokens stay valid until
+     * they expire. When a store is returned, {@link #revokeToken(String)} invalidates a token by its
+     * {@code jti} immediately — e.g. on logout. The per-request check goes through an in-memory
+     * Bloom filter first (see {@link TokenRevocationList}).
+     * <pre>{@code
+     * @Override
+     * public TokenRevocationStore tokenRevocationStore() {
+     *     return new InMemoryTokenRevocationStore();
+     * }
+     * }</pre>
+     *
+     * @return a {@link TokenRevocationStore}, or {@code null} to disable revocation
+     */
+    public TokenRevocationStore tokenRevocationStore() {
+        return null;
+    }
+
+    /**
+     * Cache for users loaded by the JWT filter. Returns {@code null} by default, meaning
+     * the {@code UserDetailsService} is called on every authenticated request.
+     * Concurrent lookups for the same username are coalesced into one call either way.
+     * Use {@link #evictUser(String)} after a role change or account lock.
+     * <pre>{@code
+     * @Override
+     * public UserDetailsCache userDetailsCache() {
+     *     return new InMemoryUserDetailsCache(Duration.ofMinutes(5), 10_000);
+     * }
+     * }</pre>
+     *
+     * @return a {@link UserDetailsCache}, or {@code null} to disable caching
+     */
+    public UserDetailsCache userDetailsCache() {
+        return null;
+    }
 
-        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
-        source.registerCorsConfiguration("/**", config);
-        return source;
+    /**
+     * Tenants served by this deployment, each with its own JWT key, expiration, URL rules and CORS policy.
+     * Returns {@code null} by default: one configuration for every request. Requests that match no
+     * registered tenant keep using this class's settings. Tenants can be registered and removed at any
+     * time; the filter chain is not rebuilt. See {@link TenantRegistry}.
+     * <pre>{@code
+     * private final TenantRegistry tenants = new TenantRegistry(TenantResolution.HOST);
+     *
+     * @Override
+     * public TenantRegistry tenantRegistry() {
+     *     return tenants;
+     * }
+     * }</pre>
+     *
+     * @return a {@link TenantRegistry}, or {@code null} for a single-tenant application
+     */
+    public TenantRegistry tenantRegistry() {
+        return null;
     }
 
     // ─── JWT Utilities ────────────────────────────────────────────────────────
@@ -181,24 +382,194 @@ public abstract class EasySecurity {
         return jwtUtils.generateToken(username, expirationMinutes);
     }
 
+    /**
+     * Creates a token that also carries the user's authorities, so {@link #statelessAuthentication()}
+     * can authenticate requests without calling the {@code UserDetailsService}.
+     * <pre>{@code
+     * String token = webSecurity.createToken(user.getUsername(), user.getAuthorities());
+     * }</pre>
+     *
+     * @param username    token subject
+     * @param authorities authorities to embed in the {@code authorities} claim
+     * @return signed token
+     */
+    public String createToken(String username, Collection<? extends GrantedAuthority> authorities) {
+        return jwtUtils.generateToken(username, authorities, null, jwtUtils.getDefaultExpirationMinutes());
+    }
+
+    /**
+     * Creates a token with embedded authorities and additional custom claims.
+     * Custom claims must not use the reserved names {@code sub}, {@code iat}, {@code exp},
+     * {@code nbf}, {@code jti}, {@code iss}, {@code aud}, {@code authorities} or {@code au}.
+     *
+     * @param username          token subject
+     * @param authorities       authorities to embed, or {@code null}
+     * @param claims            custom claims to embed, or {@code null}
+     * @param expirationMinutes token lifetime in minutes
+     * @return signed token
+     */
+    public String createToken(String username,
+                              Collection<? extends GrantedAuthority> authorities,
+                              Map<String, ?> claims,
+                              long expirationMinutes) {
+        if (expirationMinutes <= 0) {
+            throw new IllegalArgumentException("[EasySecurity] Expiration time must be greater than zero.");
+        }
+        return jwtUtils.generateToken(username, authorities, claims, expirationMinutes);
+    }
+
+    /**
+     * Issues a token for each username in one call, signing in parallel for large batches.
+     * <pre>{@code
+     * Map<String, String> tokens = webSecurity.createTokens(deviceIds, 24 * 60);
+     * }</pre>
+     *
+     * @param usernames         token subjects
+     * @param expirationMinutes token lifetime in minutes
+     * @return each username's token, in iteration order of {@code usernames}
+     */
+    public Map<String, String> createTokens(Collection<String> usernames, long expirationMinutes) {
+        if (usernames == null) {
+            throw new IllegalArgumentException("[EasySecurity] Usernames must not be null.");
+        }
+        List<TokenSpec> specs = new ArrayList<>(usernames.size());
+        for (String username : usernames) {
+            specs.add(new TokenSpec(username).expirationMinutes(expirationMinutes));
+        }
+        List<String> tokens = createTokens(specs);
+        Map<String, String> byUsername = new LinkedHashMap<>();
+        for (int i = 0; i < specs.size(); i++) {
+            byUsername.put(specs.get(i).getUsername(), tokens.get(i));
+        }
+        return byUsername;
+    }
+
+    public Map<String, String> createTokens(Collection<String> usernames) {
+        return createTokens(usernames, jwtUtils.getDefaultExpirationMinutes());
+    }
+
+    /**
+     * Issues a batch of tokens with per-token authorities, claims and lifetimes.
+     * Batches of 64 or more are signed in parallel on the common fork-join pool.
+     * <pre>{@code
+     * List<String> tokens = webSecurity.createTokens(accounts.stream()
+     *         .map(a -> new TokenSpec(a.getId()).authorities(a.getAuthorities()).expirationMinutes(a.getTtl()))
+     *         .toList());
+     * }</pre>
+     *
+     * @param specs tokens to issue
+     * @return the signed tokens, in the order of {@code specs}
+     */
+    public List<String> createTokens(List<TokenSpec> specs) {
+        if (specs == null) {
+            throw new IllegalArgumentException("[EasySecurity] Token specs must not be null.");
+        }
+        return jwtUtils.generateTokens(specs);
+    }
+
+    public String createToken(UserDetails userDetails) {
+        if (userDetails == null) {
+            throw new IllegalArgumentException("[EasySecurity] UserDetails must not be null.");
+        }
+        return createToken(userDetails.getUsername(), userDetails.getAuthorities());
+    }
+
     public boolean validateToken(String token, String username) {
         if (token == null || token.isBlank() || username == null) {
             throw new IllegalArgumentException("[EasySecurity] Token and username must not be null or empty.");
         }
-        return jwtUtils.validateToken(token, username);
+        return jwtUtils.verify(token).isValidFor(username);
     }
 
     public String extractUsernameFromToken(String token) {
         if (token == null || token.isBlank()) {
             throw new IllegalArgumentException("[EasySecurity] Token must not be null or empty.");
         }
-        return jwtUtils.extractUserName(token);
+        return jwtUtils.verify(token).getSubject();
+    }
+
+    public VerifiedToken verifyToken(String token) {
+        if (token == null || token.isBlank()) {
+            throw new IllegalArgumentException("[EasySecurity] Token must not be null or empty.");
+        }
+        return jwtUtils.verify(token);
+    }
+
+    /**
+     * Revokes {@code token} until it expires; later requests carrying it are unauthenticated.
+     * Requires {@link #tokenRevocationStore()}. With a {@link #tenantRegistry()}, a tenant's token is
+     * verified with that tenant's keys: the tenant is found by the token's issuer, or by the request
+     * being handled on this thread when tenants are resolved by host or path.
+     * <pre>{@code
+     * webSecurity.revokeToken(bearerToken); // on logout
+     * }</pre>
+     *
+     * @param token compact JWS string
+     * @return {@code true} if it was revoked, {@code false} if it was already invalid
+     */
+    public boolean revokeToken(String token) {
+        return revokeToken(token, RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes
+                ? attributes.getRequest()
+                : null);
+    }
+
+    /**
+     * Like {@link #revokeToken(String)}, resolving the tenant from {@code request} — for code that runs
+     * outside the request the token arrived with.
+     *
+     * @param token   compact JWS string
+     * @param request a request of the token's tenant, or {@code null}
+     * @return {@code true} if it was revoked, {@code false} if it was already invalid
+     */
+    public boolean revokeToken(String token, HttpServletRequest request) {
+        if (token == null || token.isBlank()) {
+            throw new IllegalArgumentException("[EasySecurity] Token must not be null or empty.");
+        }
+        TenantRegistry tenants = this.tenants;
+        JwtUtils verifier = tenants != null ? tenants.jwtUtils(token, request, jwtUtils) : jwtUtils;
+        return verifier.revoke(verifier.verify(token));
+    }
+
+    /**
+     * @return the compiled URL rules, e.g. to check which rule applies to a path
+     */
+    public CompiledUrlRules urlRules() {
+        return urlRules;
+    }
+
+    // ─── User Cache ───────────────────────────────────────────────────────────
+
+    public void evictUser(String username) {
+        if (username == null) {
+            throw new IllegalArgumentException("[EasySecurity] Username must not be null.");
+        }
+        UserDetailsLoader loader = userDetailsLoader();
+        if (loader != null) {
+            loader.evict(username);
+        }
+    }
+
+    public void evictAllUsers() {
+        UserDetailsLoader loader = userDetailsLoader();
+        if (loader != null) {
+            loader.evictAll();
+        }
+    }
+
+    /**
+     * @return the JWT filter's user loader (hit ratio, lookup latency), or {@code null} if there is no {@code UserDetailsService}
+     */
+    public UserDetailsLoader userDetailsLoader() {
+        return jwtValidate != null ? jwtValidate.getUserDetailsLoader() : null;
     }
 
     // ─── Abstract Methods (override these in your config class) ──────────────
 
     /**
      * URLs that are publicly accessible without authentication.
+     * When patterns from different lists overlap, the most specific one applies —
+     * see {@link CompiledUrlRules}. Requests to these URLs are never JWT-authenticated,
+     * even if they carry an {@code Authorization} header.
      * <pre>{@code
      * return List.of("/api/auth/**", "/public/**");
      * }</pre>
@@ -240,7 +611,8 @@ public abstract class EasySecurity {
 
     /**
      * Set {@code true} to enable JWT token validation on every request.
-     * Requires a {@code UserDetailsService} bean in your application context.
+     * Requires a {@code UserDetailsService} bean in your application context,
+     * unless {@link #statelessAuthentication()} is enabled.
      *
      * @return {@code true} to enable JWT validation, {@code false} to disable
      */
@@ -1,13 +1,22 @@
 package com.example.simple_security.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
 import org.springframework.core.env.Environment;
+import org.springframework.security.crypto.password.PasswordEncoder;
 
-@Configuration
-@ConditionalOnMissingBean(EasySecurity.class)
+/**
+ * Registered through {@code META-INF/spring/org.springframework.boot.autoconfigure.AutoConfiguration.imports},
+ * so it runs after the application's own beans and its {@code @ConditionalOnMissingBean} conditions see them.
+ * {@code @SpringBootApplication}'s component scan skips it even when the scan covers this package.
+ */
+@AutoConfiguration
 public class EasySecurityAutoConfiguration {
 
     @Bean
@@ -16,4 +25,53 @@ public class EasySecurityAutoConfiguration {
         return Binder.get(environment)
                 .bindOrCreate("easysecurity", EasySecurityProperties.class);
     }
-}
\ No newline at end of file
+
+    /**
+     * Calibrated, pool-bounded encoder; see {@link EasyPasswordEncoder}. Define your own
+     * {@code PasswordEncoder} bean to replace it.
+     */
+    @Bean
+    @ConditionalOnMissingBean(PasswordEncoder.class)
+    public EasyPasswordEncoder easyPasswordEncoder(EasySecurityProperties properties) {
+        return EasyPasswordEncoder.create(properties.getPassword());
+    }
+
+    /**
+     * Asynchronous security audit stream; see {@link SecurityAuditLog}. Every {@link AuditSink} bean
+     * receives the events next to the sinks enabled through {@code easysecurity.audit.*}.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public SecurityAuditLog securityAuditLog(EasySecurityProperties properties, ObjectProvider<AuditSink> sinks) {
+        return SecurityAuditLog.create(properties.getAudit(), sinks.orderedStream().toList());
+    }
+
+    /**
+     * Compact session store, used by {@link EasySecurity} for every policy except {@code STATELESS};
+     * see {@link CompactSecurityContextRepository}.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "easysecurity.session", name = "compact", havingValue = "true")
+    public CompactSecurityContextRepository compactSecurityContextRepository(EasySecurityProperties properties) {
+        return CompactSecurityContextRepository.create(properties.getSession());
+    }
+
+    @Bean
+    AuditAuthenticationListener auditAuthenticationListener(SecurityAuditLog securityAuditLog) {
+        return new AuditAuthenticationListener(securityAuditLog);
+    }
+
+    // Not @Configuration: processed as a member of this auto-configuration, never picked up by a component scan
+    @ConditionalOnClass(MeterRegistry.class)
+    static class MicrometerMetricsConfiguration {
+
+        // Resolved lazily so it works whether or not the MeterRegistry is defined before us
+        @Bean
+        @ConditionalOnMissingBean
+        public EasySecurityMetrics easySecurityMetrics(ObjectProvider<MeterRegistry> meterRegistry) {
+            MeterRegistry registry = meterRegistry.getIfUnique();
+            return registry != null ? new MicrometerEasySecurityMetrics(registry) : EasySecurityMetrics.NOOP;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.simple_security.config;
+
+/**
+ * Hot-path instrumentation hooks for EasySecurity.
+ * Implementations must not allocate per call. When Micrometer is on the classpath
+ * {@link MicrometerEasySecurityMetrics} is registered automatically; otherwise {@link #NOOP} is used.
+ */
+public interface EasySecurityMetrics {
+
+    /** Records nothing. */
+    EasySecurityMetrics NOOP = new EasySecurityMetrics() { };
+
+    /**
+     * @param failure the verification failure, or {@code null} if the token was valid
+     * @param nanos   time spent verifying
+     */
+    default void recordVerification(VerifiedToken.Failure failure, long nanos) { }
+
+    /**
+     * @param nanos time spent in {@code UserDetailsService.loadUserByUsername}
+     */
+    default void recordUserLookup(long nanos) { }
+
+    /** A token was issued through {@code createToken}. */
+    default void tokenIssued() { }
+
+    /** {@link JWTValidate} passed a request through without a bearer token. */
+    default void requestSkipped() { }
+
+    /** {@link JWTValidate} saw a bearer token that failed verification. */
+    default void requestRejected() { }
+}
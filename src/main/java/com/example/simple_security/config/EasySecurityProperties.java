@@ -2,22 +2,371 @@ package com.example.simple_security.config;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 @ConfigurationProperties(prefix = "easysecurity")
 public class EasySecurityProperties {
 
     private Jwt jwt = new Jwt();
+    private Login login = new Login();
+    private Password password = new Password();
+    private Audit audit = new Audit();
+    private Session session = new Session();
+    private Introspection introspection = new Introspection();
 
     public Jwt getJwt() { return jwt; }
     public void setJwt(Jwt jwt) { this.jwt = jwt; }
 
+    public Login getLogin() { return login; }
+    public void setLogin(Login login) { this.login = login; }
+
+    public Password getPassword() { return password; }
+    public void setPassword(Password password) { this.password = password; }
+
+    public Audit getAudit() { return audit; }
+    public void setAudit(Audit audit) { this.audit = audit; }
+
+    public Session getSession() { return session; }
+    public void setSession(Session session) { this.session = session; }
+
+    public Introspection getIntrospection() { return introspection; }
+    public void setIntrospection(Introspection introspection) { this.introspection = introspection; }
+
     public static class Jwt {
         private String secret = "";
         private long expiration = 30;
+        private String issuer = "";
+        private Cache cache = new Cache();
+        private Precheck precheck = new Precheck();
+        private Revocation revocation = new Revocation();
+        private List<KeyEntry> keys = new ArrayList<>();
+        private KeyStore keyStore = new KeyStore();
+        private TokenFormat format = TokenFormat.STANDARD;
+        private Compact compact = new Compact();
+        private Reference reference = new Reference();
+        private Jwks jwks = new Jwks();
 
         public String getSecret() { return secret; }
         public void setSecret(String secret) { this.secret = secret; }
 
         public long getExpiration() { return expiration; }
         public void setExpiration(long expiration) { this.expiration = expiration; }
+
+        public String getIssuer() { return issuer; }
+        public void setIssuer(String issuer) { this.issuer = issuer; }
+
+        public Cache getCache() { return cache; }
+        public void setCache(Cache cache) { this.cache = cache; }
+
+        public Precheck getPrecheck() { return precheck; }
+        public void setPrecheck(Precheck precheck) { this.precheck = precheck; }
+
+        public Revocation getRevocation() { return revocation; }
+        public void setRevocation(Revocation revocation) { this.revocation = revocation; }
+
+        public List<KeyEntry> getKeys() { return keys; }
+        public void setKeys(List<KeyEntry> keys) { this.keys = keys; }
+
+        public KeyStore getKeyStore() { return keyStore; }
+        public void setKeyStore(KeyStore keyStore) { this.keyStore = keyStore; }
+
+        public TokenFormat getFormat() { return format; }
+        public void setFormat(TokenFormat format) { this.format = format; }
+
+        public Compact getCompact() { return compact; }
+        public void setCompact(Compact compact) { this.compact = compact; }
+
+        public Reference getReference() { return reference; }
+        public void setReference(Reference reference) { this.reference = reference; }
+
+        public Jwks getJwks() { return jwks; }
+        public void setJwks(Jwks jwks) { this.jwks = jwks; }
+    }
+
+    public static class Compact {
+        private int compressAbove = 512;
+
+        public int getCompressAbove() { return compressAbove; }
+        public void setCompressAbove(int compressAbove) { this.compressAbove = compressAbove; }
+    }
+
+    public static class Reference {
+        private int maxSize = 100_000;
+
+        public int getMaxSize() { return maxSize; }
+        public void setMaxSize(int maxSize) { this.maxSize = maxSize; }
+    }
+
+    public static class Cache {
+        private boolean enabled = false;
+        private int maxSize = 10_000;
+        private long ttlSeconds = 300;
+
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+        public int getMaxSize() { return maxSize; }
+        public void setMaxSize(int maxSize) { this.maxSize = maxSize; }
+
+        public long getTtlSeconds() { return ttlSeconds; }
+        public void setTtlSeconds(long ttlSeconds) { this.ttlSeconds = ttlSeconds; }
+    }
+
+    public static class Precheck {
+        private boolean enabled = true;
+        private int maxLength = 8192;
+        private List<String> algorithms = new ArrayList<>();
+
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+        public int getMaxLength() { return maxLength; }
+        public void setMaxLength(int maxLength) { this.maxLength = maxLength; }
+
+        public List<String> getAlgorithms() { return algorithms; }
+        public void setAlgorithms(List<String> algorithms) { this.algorithms = algorithms; }
+    }
+
+    public static class Revocation {
+        private int expectedRevocations = 10_000;
+        private double falsePositiveRate = 0.01;
+        private long purgeIntervalSeconds = 60;
+
+        public int getExpectedRevocations() { return expectedRevocations; }
+        public void setExpectedRevocations(int expectedRevocations) { this.expectedRevocations = expectedRevocations; }
+
+        public double getFalsePositiveRate() { return falsePositiveRate; }
+        public void setFalsePositiveRate(double falsePositiveRate) { this.falsePositiveRate = falsePositiveRate; }
+
+        public long getPurgeIntervalSeconds() { return purgeIntervalSeconds; }
+        public void setPurgeIntervalSeconds(long purgeIntervalSeconds) { this.purgeIntervalSeconds = purgeIntervalSeconds; }
+    }
+
+    public static class KeyEntry {
+        private String kid;
+        private String privateKey;
+        private String publicKey;
+        private String jwk;
+        private Instant activateAt;
+        private Instant retireAt;
+
+        public String getKid() { return kid; }
+        public void setKid(String kid) { this.kid = kid; }
+
+        public String getPrivateKey() { return privateKey; }
+        public void setPrivateKey(String privateKey) { this.privateKey = privateKey; }
+
+        public String getPublicKey() { return publicKey; }
+        public void setPublicKey(String publicKey) { this.publicKey = publicKey; }
+
+        public String getJwk() { return jwk; }
+        public void setJwk(String jwk) { this.jwk = jwk; }
+
+        public Instant getActivateAt() { return activateAt; }
+        public void setActivateAt(Instant activateAt) { this.activateAt = activateAt; }
+
+        public Instant getRetireAt() { return retireAt; }
+        public void setRetireAt(Instant retireAt) { this.retireAt = retireAt; }
+    }
+
+    public static class KeyStore {
+        private String path = "";
+        private long rotationDays = 0;
+        private long graceMinutes = 1440;
+
+        public String getPath() { return path; }
+        public void setPath(String path) { this.path = path; }
+
+        public long getRotationDays() { return rotationDays; }
+        public void setRotationDays(long rotationDays) { this.rotationDays = rotationDays; }
+
+        public long getGraceMinutes() { return graceMinutes; }
+        public void setGraceMinutes(long graceMinutes) { this.graceMinutes = graceMinutes; }
+    }
+
+    public static class Jwks {
+        private String uri = "";
+        private long refreshMinutes = 15;
+        private long minRefetchSeconds = 30;
+        private long timeoutMillis = 2000;
+        private String issuer = "";
+        private String audience = "";
+
+        public String getUri() { return uri; }
+        public void setUri(String uri) { this.uri = uri; }
+
+        public long getRefreshMinutes() { return refreshMinutes; }
+        public void setRefreshMinutes(long refreshMinutes) { this.refreshMinutes = refreshMinutes; }
+
+        public long getMinRefetchSeconds() { return minRefetchSeconds; }
+        public void setMinRefetchSeconds(long minRefetchSeconds) { this.minRefetchSeconds = minRefetchSeconds; }
+
+        public long getTimeoutMillis() { return timeoutMillis; }
+        public void setTimeoutMillis(long timeoutMillis) { this.timeoutMillis = timeoutMillis; }
+
+        public String getIssuer() { return issuer; }
+        public void setIssuer(String issuer) { this.issuer = issuer; }
+
+        public String getAudience() { return audience; }
+        public void setAudience(String audience) { this.audience = audience; }
+    }
+
+    public static class Login {
+        private RateLimit rateLimit = new RateLimit();
+
+        public RateLimit getRateLimit() { return rateLimit; }
+        public void setRateLimit(RateLimit rateLimit) { this.rateLimit = rateLimit; }
+    }
+
+    public static class RateLimit {
+        private boolean enabled = true;
+        private Bucket ip = new Bucket(50, 30);
+        private Bucket username = new Bucket(10, 5);
+        private int maxKeys = 100_000;
+
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+        public Bucket getIp() { return ip; }
+        public void setIp(Bucket ip) { this.ip = ip; }
+
+        public Bucket getUsername() { return username; }
+        public void setUsername(Bucket username) { this.username = username; }
+
+        public int getMaxKeys() { return maxKeys; }
+        public void setMaxKeys(int maxKeys) { this.maxKeys = maxKeys; }
+    }
+
+    public static class Bucket {
+        private int capacity;
+        private int refillPerMinute;
+
+        public Bucket() { }
+
+        Bucket(int capacity, int refillPerMinute) {
+            this.capacity = capacity;
+            this.refillPerMinute = refillPerMinute;
+        }
+
+        public int getCapacity() { return capacity; }
+        public void setCapacity(int capacity) { this.capacity = capacity; }
+
+        public int getRefillPerMinute() { return refillPerMinute; }
+        public void setRefillPerMinute(int refillPerMinute) { this.refillPerMinute = refillPerMinute; }
+    }
+
+    public static class Password {
+        private String algorithm = "bcrypt";
+        private long targetMillis = 250;
+        private int cost = 0;
+        private int threads = Runtime.getRuntime().availableProcessors();
+        private int queueCapacity = 1000;
+
+        public String getAlgorithm() { return algorithm; }
+        public void setAlgorithm(String algorithm) { this.algorithm = algorithm; }
+
+        public long getTargetMillis() { return targetMillis; }
+        public void setTargetMillis(long targetMillis) { this.targetMillis = targetMillis; }
+
+        public int getCost() { return cost; }
+        public void setCost(int cost) { this.cost = cost; }
+
+        public int getThreads() { return threads; }
+        public void setThreads(int threads) { this.threads = threads; }
+
+        public int getQueueCapacity() { return queueCapacity; }
+        public void setQueueCapacity(int queueCapacity) { this.queueCapacity = queueCapacity; }
+    }
+
+    public static class Audit {
+        private boolean enabled = true;
+        private int bufferSize = 8192;
+        private boolean log = true;
+        private String file = "";
+        private Map<String, AuditCategory> categories = new LinkedHashMap<>();
+
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+        public int getBufferSize() { return bufferSize; }
+        public void setBufferSize(int bufferSize) { this.bufferSize = bufferSize; }
+
+        public boolean isLog() { return log; }
+        public void setLog(boolean log) { this.log = log; }
+
+        public String getFile() { return file; }
+        public void setFile(String file) { this.file = file; }
+
+        public Map<String, AuditCategory> getCategories() { return categories; }
+        public void setCategories(Map<String, AuditCategory> categories) { this.categories = categories; }
+    }
+
+    public static class AuditCategory {
+        private int sampleEvery = 1;
+        private int maxPerSecond = 100;
+
+        public int getSampleEvery() { return sampleEvery; }
+        public void setSampleEvery(int sampleEvery) { this.sampleEvery = sampleEvery; }
+
+        public int getMaxPerSecond() { return maxPerSecond; }
+        public void setMaxPerSecond(int maxPerSecond) { this.maxPerSecond = maxPerSecond; }
+    }
+
+    public static class Introspection {
+        private boolean enabled = false;
+        private String path = "/easysecurity/introspect";
+        private String role = "INTROSPECTION";
+        private int maxBatch = 1000;
+        private int cacheSize = 10_000;
+        private long cacheTtlSeconds = 60;
+
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+        public String getPath() { return path; }
+        public void setPath(String path) { this.path = path; }
+
+        public String getRole() { return role; }
+        public void setRole(String role) { this.role = role; }
+
+        public int getMaxBatch() { return maxBatch; }
+        public void setMaxBatch(int maxBatch) { this.maxBatch = maxBatch; }
+
+        public int getCacheSize() { return cacheSize; }
+        public void setCacheSize(int cacheSize) { this.cacheSize = cacheSize; }
+
+        public long getCacheTtlSeconds() { return cacheTtlSeconds; }
+        public void setCacheTtlSeconds(long cacheTtlSeconds) { this.cacheTtlSeconds = cacheTtlSeconds; }
+    }
+
+    public static class Session {
+        private boolean compact = false;
+        private int maxSessions = 100_000;
+        private long idleMinutes = 30;
+        private String cookieName = "EASYSESSION";
+        private String snapshotPath = "";
+        private long snapshotIntervalSeconds = 60;
+
+        public boolean isCompact() { return compact; }
+        public void setCompact(boolean compact) { this.compact = compact; }
+
+        public int getMaxSessions() { return maxSessions; }
+        public void setMaxSessions(int maxSessions) { this.maxSessions = maxSessions; }
+
+        public long getIdleMinutes() { return idleMinutes; }
+        public void setIdleMinutes(long idleMinutes) { this.idleMinutes = idleMinutes; }
+
+        public String getCookieName() { return cookieName; }
+        public void setCookieName(String cookieName) { this.cookieName = cookieName; }
+
+        public String getSnapshotPath() { return snapshotPath; }
+        public void setSnapshotPath(String snapshotPath) { this.snapshotPath = snapshotPath; }
+
+        public long getSnapshotIntervalSeconds() { return snapshotIntervalSeconds; }
+        public void setSnapshotIntervalSeconds(long snapshotIntervalSeconds) { this.snapshotIntervalSeconds = snapshotIntervalSeconds; }
     }
-}
\ No newline at end of file
+}
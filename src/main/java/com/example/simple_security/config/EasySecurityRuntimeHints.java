@@ -0,0 +1,71 @@
+package com.example.simple_security.config;
+
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.boot.context.properties.bind.BindableRuntimeHintsRegistrar;
+
+import java.util.List;
+
+/**
+ * Reflection and resource hints for what EasySecurity resolves at runtime rather than through bean
+ * wiring, registered in {@code META-INF/spring/aot.factories} so Spring AOT processing and native
+ * images pick them up without application-side hints:
+ * <ul>
+ *   <li>{@code easysecurity.*} binding — {@link EasySecurityProperties} and its nested classes are bound
+ *       through the {@code Binder}, not through {@code @EnableConfigurationProperties}</li>
+ *   <li>jjwt — the {@code Jwts}, {@code Keys} and {@code Jwks} facades instantiate their
+ *       {@code io.jsonwebtoken.impl} implementations by class name, and the JSON serializer and
+ *       compression codecs are found through {@code ServiceLoader}</li>
+ * </ul>
+ */
+class EasySecurityRuntimeHints implements RuntimeHintsRegistrar {
+
+    // Implementations the jjwt-api facades load by name (io.jsonwebtoken.lang.Classes)
+    static final List<String> JJWT_IMPLEMENTATIONS = List.of(
+            "io.jsonwebtoken.impl.DefaultClaimsBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtHeaderBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+            "io.jsonwebtoken.impl.io.StandardCompressionAlgorithms",
+            "io.jsonwebtoken.impl.security.DefaultDynamicJwkBuilder",
+            "io.jsonwebtoken.impl.security.DefaultJwkParserBuilder",
+            "io.jsonwebtoken.impl.security.DefaultJwkSetBuilder",
+            "io.jsonwebtoken.impl.security.DefaultJwkSetParserBuilder",
+            "io.jsonwebtoken.impl.security.DefaultKeyOperationBuilder",
+            "io.jsonwebtoken.impl.security.DefaultKeyOperationPolicyBuilder",
+            "io.jsonwebtoken.impl.security.JwksBridge",
+            "io.jsonwebtoken.impl.security.KeysBridge",
+            "io.jsonwebtoken.impl.security.StandardCurves",
+            "io.jsonwebtoken.impl.security.StandardEncryptionAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardHashAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardKeyAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardKeyOperations",
+            "io.jsonwebtoken.impl.security.StandardSecureDigestAlgorithms");
+
+    // Service interfaces jjwt-impl resolves through ServiceLoader
+    static final List<String> JJWT_SERVICES = List.of(
+            "io.jsonwebtoken.io.Serializer",
+            "io.jsonwebtoken.io.Deserializer",
+            "io.jsonwebtoken.CompressionCodec");
+
+    private static final List<String> JJWT_SERVICE_PROVIDERS = List.of(
+            "io.jsonwebtoken.jackson.io.JacksonSerializer",
+            "io.jsonwebtoken.jackson.io.JacksonDeserializer");
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        BindableRuntimeHintsRegistrar.forTypes(EasySecurityProperties.class).registerHints(hints, classLoader);
+
+        for (String type : JJWT_IMPLEMENTATIONS) {
+            hints.reflection().registerTypeIfPresent(classLoader, type,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+        for (String type : JJWT_SERVICE_PROVIDERS) {
+            hints.reflection().registerTypeIfPresent(classLoader, type, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        }
+        for (String service : JJWT_SERVICES) {
+            hints.resources().registerPattern("META-INF/services/" + service);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.simple_security.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+
+/**
+ * Appends audit events to a local file as JSON lines, buffered and flushed once per drained batch:
+ *
+ * <pre>{@code
+ * {"ts":"2026-03-01T12:00:00.123Z","type":"TOKEN_REJECTED","principal":null,"remote":"10.0.0.7","path":"/api/orders","detail":"EXPIRED"}
+ * }</pre>
+ *
+ * Rotate the file with an external tool that copies and truncates it ({@code logrotate copytruncate}).
+ */
+public class FileAuditSink implements AuditSink {
+
+    private static final Logger logger = LoggerFactory.getLogger(FileAuditSink.class);
+
+    private final Path file;
+    private final BufferedWriter writer;
+    private final StringBuilder line = new StringBuilder(256);
+
+    public FileAuditSink(Path file) {
+        this.file = file;
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("[EasySecurity] Cannot open audit file " + file, e);
+        }
+    }
+
+    @Override
+    public void write(AuditEvent event) {
+        line.setLength(0);
+        line.append("{\"ts\":\"").append(Instant.ofEpochMilli(event.getTimestampMillis()))
+            .append("\",\"type\":\"").append(event.getType().name()).append('"');
+        field("principal", event.getPrincipal());
+        field("remote", event.getRemoteAddress());
+        field("path", event.getPath());
+        field("detail", event.getDetail());
+        line.append("}\n");
+        try {
+            writer.append(line);
+        } catch (IOException e) {
+            throw new UncheckedIOException("[EasySecurity] Cannot write audit file " + file, e);
+        }
+    }
+
+    private void field(String name, String value) {
+        line.append(",\"").append(name).append("\":");
+        if (value == null) {
+            line.append("null");
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"'  -> line.append("\\\"");
+                case '\\' -> line.append("\\\\");
+                case '\n' -> line.append("\\n");
+                case '\r' -> line.append("\\r");
+                case '\t' -> line.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        line.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        line.append(c);
+                    }
+                }
+            }
+        }
+        line.append('"');
+    }
+
+    @Override
+    public void flush() {
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("[EasySecurity] Cannot write audit file " + file, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            writer.close();
+        } catch (IOException e) {
+            logger.warn("[EasySecurity] Could not close audit file {}: {}", file, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.simple_security.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link TokenRevocationStore} backed by a local append-only file, so revocations survive a restart.
+ * Each revocation appends one line ({@code <jti> <exp epoch seconds>}); purging expired entries
+ * rewrites the file atomically. Reads are served from memory.
+ */
+public class FileTokenRevocationStore implements TokenRevocationStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(FileTokenRevocationStore.class);
+
+    private final Path file;
+    private final ConcurrentHashMap<String, Instant> revoked = new ConcurrentHashMap<>();
+
+    /**
+     * @param file revocation log; created on the first revocation if it does not exist
+     */
+    public FileTokenRevocationStore(Path file) {
+        this.file = file;
+        load(Instant.now());
+    }
+
+    private void load(Instant now) {
+        if (!Files.exists(file)) {
+            return;
+        }
+        try {
+            List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+            for (String line : lines) {
+                int space = line.indexOf(' ');
+                if (space <= 0) {
+                    continue;
+                }
+                try {
+                    Instant expiresAt = Instant.ofEpochSecond(Long.parseLong(line.substring(space + 1).trim()));
+                    if (expiresAt.isAfter(now)) {
+                        revoked.put(line.substring(0, space), expiresAt);
+                    }
+                } catch (NumberFormatException e) {
+                    logger.warn("[EasySecurity] Skipping malformed line in {}: {}", file, line);
+                }
+            }
+            logger.info("[EasySecurity] Loaded {} token revocations from {}.", revoked.size(), file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("[EasySecurity] Cannot read token revocation file " + file, e);
+        }
+    }
+
+    @Override
+    public synchronized void revoke(String tokenId, Instant expiresAt) {
+        if (tokenId.indexOf(' ') >= 0 || tokenId.indexOf('\n') >= 0) {
+            throw new IllegalArgumentException("[EasySecurity] Token id must not contain whitespace.");
+        }
+        try {
+            Files.writeString(file, tokenId + ' ' + expiresAt.getEpochSecond() + '\n', StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.DSYNC);
+        } catch (IOException e) {
+            throw new UncheckedIOException("[EasySecurity] Cannot write token revocation file " + file, e);
+        }
+        revoked.put(tokenId, expiresAt);
+    }
+
+    @Override
+    public boolean isRevoked(String tokenId) {
+        Instant expiresAt = revoked.get(tokenId);
+        return expiresAt != null && expiresAt.isAfter(Instant.now());
+    }
+
+    @Override
+    public synchronized void purgeExpired(Instant now) {
+        if (!revoked.values().removeIf(expiresAt -> !expiresAt.isAfter(now))) {
+            return;
+        }
+        StringBuilder content = new StringBuilder(revoked.size() * 40);
+        revoked.forEach((tokenId, expiresAt) ->
+                content.append(tokenId).append(' ').append(expiresAt.getEpochSecond()).append('\n'));
+        try {
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.writeString(temp, content, StandardCharsets.UTF_8);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // The stale lines are harmless — they are skipped as expired on the next load
+            logger.warn("[EasySecurity] Could not compact token revocation file {}: {}", file, e.getMessage());
+        }
+    }
+
+    @Override
+    public Map<String, Instant> revoked() {
+        return Map.copyOf(revoked);
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.simple_security.config;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link TokenRevocationStore} held in memory. Revocations are lost on restart and not shared between nodes.
+ */
+public class InMemoryTokenRevocationStore implements TokenRevocationStore {
+
+    private final ConcurrentHashMap<String, Instant> revoked = new ConcurrentHashMap<>();
+
+    @Override
+    public void revoke(String tokenId, Instant expiresAt) {
+        revoked.put(tokenId, expiresAt);
+    }
+
+    @Override
+    public boolean isRevoked(String tokenId) {
+        Instant expiresAt = revoked.get(tokenId);
+        return expiresAt != null && expiresAt.isAfter(Instant.now());
+    }
+
+    @Override
+    public void purgeExpired(Instant now) {
+        revoked.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+    }
+
+    @Override
+    public Map<String, Instant> revoked() {
+        return Map.copyOf(revoked);
+    }
+}
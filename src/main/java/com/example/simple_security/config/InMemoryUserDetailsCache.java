@@ -0,0 +1,50 @@
+package com.example.simple_security.config;
+
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Duration;
+
+/**
+ * Bounded, lock-striped in-memory {@link UserDetailsCache} with a fixed time-to-live per entry.
+ */
+public class InMemoryUserDetailsCache implements UserDetailsCache {
+
+    private final StripedLruCache<String, UserDetails> cache;
+    private final long ttlMillis;
+
+    /**
+     * @param ttl     how long a loaded user may be served from the cache
+     * @param maxSize maximum number of cached users
+     */
+    public InMemoryUserDetailsCache(Duration ttl, int maxSize) {
+        if (ttl == null || ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("[EasySecurity] UserDetails cache TTL must be greater than zero.");
+        }
+        this.cache = new StripedLruCache<>(maxSize);
+        this.ttlMillis = ttl.toMillis();
+    }
+
+    @Override
+    public UserDetails get(String username) {
+        return cache.get(username, System.currentTimeMillis());
+    }
+
+    @Override
+    public void put(String username, UserDetails userDetails) {
+        cache.put(username, userDetails, System.currentTimeMillis() + ttlMillis);
+    }
+
+    @Override
+    public void evict(String username) {
+        cache.remove(username);
+    }
+
+    @Override
+    public void evictAll() {
+        cache.clear();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+}
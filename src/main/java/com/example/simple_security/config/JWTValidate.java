@@ -6,28 +6,99 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.function.Supplier;
 
 @Component
-@ConditionalOnBean(UserDetailsService.class) // ← only create if developer provides UserDetailsService
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class JWTValidate extends OncePerRequestFilter {
 
     private static final Logger logger = LoggerFactory.getLogger(JWTValidate.class);
 
     private final JwtUtils jwtUtils;
-    private final UserDetailsService userDetailsService;
+    private final UserDetailsLoader userDetailsLoader;  // null when no UserDetailsService bean exists
 
-    public JWTValidate(JwtUtils jwtUtils, UserDetailsService userDetailsService) {
+    private final EasySecurityMetrics metrics;
+
+    private volatile boolean statelessAuthentication;
+    private volatile boolean lazyAuthentication;
+    private volatile CompiledUrlRules urlRules;
+    private volatile TenantRegistry tenants;
+    private volatile SecurityAuditLog auditLog = SecurityAuditLog.DISABLED;
+
+    public JWTValidate(JwtUtils jwtUtils,
+                       ObjectProvider<UserDetailsService> userDetailsService,
+                       ObjectProvider<EasySecurityMetrics> metrics) {
         this.jwtUtils = jwtUtils;
-        this.userDetailsService = userDetailsService;
+        this.metrics = metrics.getIfAvailable(() -> EasySecurityMetrics.NOOP);
+        UserDetailsService service = userDetailsService.getIfUnique();
+        this.userDetailsLoader = service != null ? new UserDetailsLoader(service, this.metrics) : null;
+    }
+
+    /**
+     * @return the user loader, or {@code null} if the application has no {@code UserDetailsService} bean
+     */
+    public UserDetailsLoader getUserDetailsLoader() {
+        return userDetailsLoader;
+    }
+
+    /**
+     * When {@code true}, the {@code Authentication} is built from the token's subject and
+     * {@code authorities} claim alone — the {@code UserDetailsService} is never called.
+     */
+    void setStatelessAuthentication(boolean statelessAuthentication) {
+        this.statelessAuthentication = statelessAuthentication;
+    }
+
+    /**
+     * When {@code true}, the token is verified and the user loaded only the first time something
+     * reads the {@code SecurityContext} — requests whose authorization decision does not need the
+     * principal never pay for it.
+     */
+    void setLazyAuthentication(boolean lazyAuthentication) {
+        this.lazyAuthentication = lazyAuthentication;
+    }
+
+    /**
+     * Requests whose path resolves to a {@link CompiledUrlRules.Access#PERMIT_ALL} rule bypass this
+     * filter entirely, even when they carry an {@code Authorization} header.
+     */
+    void setUrlRules(CompiledUrlRules urlRules) {
+        this.urlRules = urlRules;
+    }
+
+    /**
+     * Verifies each request's token with its tenant's key, and bypasses the filter by its tenant's
+     * URL rules. Requests that match no tenant use the defaults.
+     */
+    void setTenants(TenantRegistry tenants) {
+        this.tenants = tenants;
+    }
+
+    /**
+     * Receives rejected tokens and failed user lookups instead of the log.
+     */
+    void setAuditLog(SecurityAuditLog auditLog) {
+        this.auditLog = auditLog;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        TenantRegistry tenants = this.tenants;
+        CompiledUrlRules rules = tenants != null ? tenants.urlRules(request, urlRules) : urlRules;
+        return rules != null && rules.resolve(request).access() == CompiledUrlRules.Access.PERMIT_ALL;
     }
 
     @Override
@@ -37,36 +108,96 @@ public class JWTValidate extends OncePerRequestFilter {
 
         final String authHeader = request.getHeader("Authorization");
 
+        if (!statelessAuthentication && userDetailsLoader == null) {
+            // Nothing to authenticate against — skip verification entirely
+            filterChain.doFilter(request, response);
+            return;
+        }
+
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            metrics.requestSkipped();
             filterChain.doFilter(request, response);
             return;
         }
 
         final String jwt = authHeader.substring(7);
-        final String username = jwtUtils.extractUserName(jwt);
+
+        if (lazyAuthentication) {
+            SecurityContextHolderStrategy strategy = SecurityContextHolder.getContextHolderStrategy();
+            strategy.setDeferredContext(new DeferredJwtContext(strategy, () -> authenticate(jwt, request)));
+        } else if (SecurityContextHolder.getContext().getAuthentication() == null) {
+            Authentication authentication = authenticate(jwt, request);
+            if (authentication != null) {
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private Authentication authenticate(String jwt, HttpServletRequest request) {
+        TenantRegistry tenants = this.tenants;
+        final VerifiedToken token = (tenants != null ? tenants.jwtUtils(request, jwtUtils) : jwtUtils).verify(jwt);
+
+        if (!token.isValid()) {
+            metrics.requestRejected();
+            // Sampled and rate limited by the audit log, so a junk-token flood cannot flood the log too
+            auditLog.record(AuditEvent.Type.TOKEN_REJECTED, null, request.getRemoteAddr(),
+                    request.getRequestURI(), token.getFailure().name());
+            return null;
+        }
+
+        final String username = token.getSubject();
 
         if (username == null) {
-            logger.warn("[EasySecurity] JWT token is invalid or expired. Request: {}", request.getRequestURI());
-            filterChain.doFilter(request, response);
-            return;
+            return null;
         }
+        if (statelessAuthentication) {
+            logger.debug("[EasySecurity] Authenticated user '{}' from JWT claims.", username);
+            return new UsernamePasswordAuthenticationToken(username, null, token.getAuthorities());
+        }
+        try {
+            UserDetails userDetails = userDetailsLoader.load(username);
+            if (token.isValidFor(userDetails.getUsername())) {
+                logger.debug("[EasySecurity] Authenticated user '{}' via JWT.", username);
+                return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+            }
+        } catch (Exception e) {
+            auditLog.record(AuditEvent.Type.USER_LOOKUP_FAILED, username, request.getRemoteAddr(),
+                    request.getRequestURI(), e.getClass().getSimpleName());
+        }
+        return null;
+    }
+
+    // Resolves the context the request already had (e.g. from the session) and, only if it is
+    // unauthenticated, the bearer token — once, on first access
+    private static final class DeferredJwtContext implements Supplier<SecurityContext> {
 
-        if (SecurityContextHolder.getContext().getAuthentication() == null) {
-            try {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                if (jwtUtils.validateToken(jwt, userDetails.getUsername())) {
-                    UsernamePasswordAuthenticationToken authToken =
-                            new UsernamePasswordAuthenticationToken(
-                                    userDetails, null, userDetails.getAuthorities());
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                    logger.debug("[EasySecurity] Authenticated user '{}' via JWT.", username);
+        private final SecurityContextHolderStrategy strategy;
+        private final Supplier<SecurityContext> previous;
+        private final Supplier<Authentication> authenticator;
+        private SecurityContext context;
+
+        DeferredJwtContext(SecurityContextHolderStrategy strategy, Supplier<Authentication> authenticator) {
+            this.strategy = strategy;
+            this.previous = strategy.getDeferredContext();
+            this.authenticator = authenticator;
+        }
+
+        @Override
+        public SecurityContext get() {
+            if (context == null) {
+                SecurityContext resolved = previous.get();
+                if (resolved.getAuthentication() == null) {
+                    Authentication authentication = authenticator.get();
+                    if (authentication != null) {
+                        resolved = strategy.createEmptyContext();
+                        resolved.setAuthentication(authentication);
+                    }
                 }
-            } catch (Exception e) {
-                logger.error("[EasySecurity] Failed to authenticate user '{}': {}", username, e.getMessage());
-                SecurityContextHolder.clearContext();
+                context = resolved;
             }
+            return context;
         }
-
-        filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,239 @@
+package com.example.simple_security.config;
+
+import io.jsonwebtoken.security.Jwk;
+import io.jsonwebtoken.security.JwkSet;
+import io.jsonwebtoken.security.Jwks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.Key;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Verification keys published by an identity provider as a JWK Set, for resource-server mode: this
+ * node accepts access tokens the provider signed and never signs any itself.
+ *
+ * <p>The set is fetched once at startup, then again every {@code refresh-minutes} — up to 20% early
+ * at random, so a fleet started together does not hit the provider at the same instant — on a
+ * background thread. A token whose {@code kid} is unknown fails verification as
+ * {@link VerifiedToken.Failure#BAD_SIGNATURE} and schedules one extra fetch, at most once per
+ * {@code min-refetch-seconds}, which picks up a key the provider has just rotated in. Request threads
+ * only read the in-memory {@link JwtKeyRing}; they never wait for the network or the disk.
+ *
+ * <pre>{@code
+ * easysecurity.jwt.jwks.uri=https://idp.example.com/.well-known/jwks.json   # or file:/etc/myapp/jwks.json
+ * easysecurity.jwt.jwks.refresh-minutes=15
+ * easysecurity.jwt.jwks.min-refetch-seconds=30
+ * easysecurity.jwt.jwks.timeout-millis=2000
+ * easysecurity.jwt.jwks.issuer=https://idp.example.com/
+ * easysecurity.jwt.jwks.audience=orders-api
+ * }</pre>
+ *
+ * HTTP responses are revalidated with {@code If-None-Match} when the provider sends an {@code ETag}.
+ * If a fetch fails, the keys already loaded stay in use.
+ */
+public final class JwksKeySource implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwksKeySource.class);
+
+    // Scheduled refreshes land between 80% and 100% of the interval
+    private static final double JITTER = 0.2;
+
+    private final URI uri;
+    private final long refreshMillis;
+    private final long minRefetchMillis;
+    private final Duration timeout;
+    private final HttpClient http;
+    private final JwtKeyRing keyRing;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicLong lastRefetchMillis = new AtomicLong(Long.MIN_VALUE / 2);
+    private volatile String etag;
+
+    private final LongAdder fetches      = new LongAdder();
+    private final LongAdder failures     = new LongAdder();
+    private final LongAdder refetches    = new LongAdder();
+    private final LongAdder unknownKids  = new LongAdder();
+
+    /**
+     * Fetches the key set, then keeps it fresh in the background. A failed first fetch leaves the ring
+     * empty — every token is rejected — and is retried after {@code minRefetch}.
+     *
+     * @param uri        {@code http(s):} URL or {@code file:} path of the JWK Set
+     * @param refresh    time between scheduled fetches
+     * @param minRefetch minimum time between fetches triggered by unknown key ids
+     * @param timeout    connect and read timeout of one HTTP fetch
+     */
+    public JwksKeySource(URI uri, Duration refresh, Duration minRefetch, Duration timeout) {
+        String scheme = uri.getScheme();
+        if (scheme == null || !(scheme.equals("https") || scheme.equals("http") || scheme.equals("file"))) {
+            throw new IllegalArgumentException("[EasySecurity] easysecurity.jwt.jwks.uri must be an http(s): or file: URI, got: " + uri);
+        }
+        if (refresh.isNegative() || refresh.isZero() || minRefetch.isNegative() || timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("[EasySecurity] easysecurity.jwt.jwks.refresh-minutes and timeout-millis must be greater than zero "
+                    + "and min-refetch-seconds must not be negative.");
+        }
+        this.uri = uri;
+        this.refreshMillis = refresh.toMillis();
+        this.minRefetchMillis = minRefetch.toMillis();
+        this.timeout = timeout;
+        this.http = scheme.equals("file") ? null : HttpClient.newBuilder()
+                .connectTimeout(timeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+        this.keyRing = new JwtKeyRing(List.of());
+        keyRing.onUnknownKid(this::unknownKid);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "easysecurity-jwks");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        boolean loaded = fetch();
+        scheduleRefresh(loaded ? nextDelay() : minRefetchMillis);
+    }
+
+    /**
+     * Builds the source from {@code easysecurity.jwt.jwks.*}.
+     */
+    static JwksKeySource create(EasySecurityProperties.Jwks properties) {
+        return new JwksKeySource(URI.create(properties.getUri()),
+                Duration.ofMinutes(properties.getRefreshMinutes()),
+                Duration.ofSeconds(properties.getMinRefetchSeconds()),
+                Duration.ofMillis(properties.getTimeoutMillis()));
+    }
+
+    /**
+     * @return the verification-only ring this source keeps up to date
+     */
+    public JwtKeyRing getKeyRing() {
+        return keyRing;
+    }
+
+    public URI getUri() {
+        return uri;
+    }
+
+    /**
+     * Fetches the key set now, on the calling thread.
+     *
+     * @return {@code true} if the keys were loaded (or are unchanged), {@code false} if the fetch failed
+     */
+    public boolean fetch() {
+        fetches.increment();
+        try {
+            String json = read();
+            if (json != null) {
+                List<JwtKeyRing.KeyVersion> keys = parse(json);
+                keyRing.setKeys(keys);
+                logger.info("[EasySecurity] Loaded {} verification keys from {}.", keys.size(), uri);
+            }
+            return true;
+        } catch (RuntimeException | IOException e) {
+            failures.increment();
+            logger.warn("[EasySecurity] Could not fetch JWKS from {}, keeping {} current keys: {}",
+                    uri, keyRing.getKeys().size(), e.getMessage());
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    // The document, or null when the server answered 304 Not Modified
+    private String read() throws IOException, InterruptedException {
+        if (http == null) {
+            return Files.readString(Path.of(uri));
+        }
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri).timeout(timeout).header("Accept", "application/json");
+        String knownTag = etag;
+        if (knownTag != null) {
+            request.header("If-None-Match", knownTag);
+        }
+        HttpResponse<String> response = http.send(request.GET().build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() == 304 && knownTag != null) {
+            return null;
+        }
+        if (response.statusCode() != 200) {
+            throw new IOException("HTTP " + response.statusCode());
+        }
+        etag = response.headers().firstValue("ETag").orElse(null);
+        return response.body();
+    }
+
+    // Signature keys only; keys without a kid or of an unsupported type are skipped
+    private static List<JwtKeyRing.KeyVersion> parse(String json) {
+        JwkSet set = Jwks.setParser().build().parse(json);
+        List<JwtKeyRing.KeyVersion> keys = new ArrayList<>();
+        for (Jwk<?> jwk : set) {
+            if (jwk.getId() == null || (jwk.get("use") != null && !"sig".equals(jwk.get("use")))) {
+                continue;
+            }
+            Key key = KeyFiles.verificationKey(jwk);
+            if (key instanceof PublicKey) {
+                keys.add(new JwtKeyRing.KeyVersion(jwk.getId(), key, null, null, null));
+            }
+        }
+        if (keys.isEmpty()) {
+            throw new UncheckedIOException(new IOException("no signature verification keys with a kid in the set"));
+        }
+        return keys;
+    }
+
+    // ─── Refresh ──────────────────────────────────────────────────────────────
+
+    private long nextDelay() {
+        return (long) (refreshMillis * (1 - JITTER * ThreadLocalRandom.current().nextDouble()));
+    }
+
+    private void scheduleRefresh(long delayMillis) {
+        if (scheduler.isShutdown()) {
+            return;
+        }
+        scheduler.schedule(() -> {
+            boolean loaded = fetch();
+            scheduleRefresh(loaded ? nextDelay() : Math.max(minRefetchMillis, 1000));
+        }, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // Called on the request thread: claims the refetch window and hands the fetch to the background thread
+    private void unknownKid(String kid) {
+        unknownKids.increment();
+        long now = System.currentTimeMillis();
+        long last = lastRefetchMillis.get();
+        if (now - last < minRefetchMillis || !lastRefetchMillis.compareAndSet(last, now) || scheduler.isShutdown()) {
+            return;
+        }
+        refetches.increment();
+        logger.info("[EasySecurity] Unknown JWT kid '{}' — refetching {}.", kid, uri);
+        scheduler.execute(this::fetch);
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    // ─── Statistics ───────────────────────────────────────────────────────────
+
+    public long fetchCount()      { return fetches.sum(); }
+    public long failureCount()    { return failures.sum(); }
+    public long refetchCount()    { return refetches.sum(); }
+    public long unknownKidCount() { return unknownKids.sum(); }
+}
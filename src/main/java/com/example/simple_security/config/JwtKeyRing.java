@@ -0,0 +1,311 @@
+package com.example.simple_security.config;
+
+import io.jsonwebtoken.Header;
+import io.jsonwebtoken.Locator;
+import io.jsonwebtoken.ProtectedHeader;
+import io.jsonwebtoken.security.InvalidKeyException;
+import io.jsonwebtoken.security.Jwk;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.crypto.SecretKey;
+import java.nio.file.Path;
+import java.security.Key;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Set of JWT keys indexed by {@code kid}: every key that is not yet retired can verify tokens
+ * (O(1) lookup by {@code kid}), and the most recently activated key that holds private
+ * material signs new ones.
+ *
+ * <p>Rotation is driven by each key's {@code activate-at} and {@code retire-at} times.
+ * Publish the next key ahead of time with a later {@code activate-at}; once that time passes it
+ * starts signing, while the previous key keeps verifying until its {@code retire-at} — the overlap
+ * window in which already-issued tokens stay valid. Nodes that are only given public keys can
+ * verify but never sign.
+ *
+ * <pre>{@code
+ * easysecurity.jwt.keys[0].kid=2026-01
+ * easysecurity.jwt.keys[0].private-key=/etc/easysecurity/2026-01.pem
+ * easysecurity.jwt.keys[0].public-key=/etc/easysecurity/2026-01.pub.pem
+ * easysecurity.jwt.keys[0].retire-at=2026-02-01T01:00:00Z
+ * easysecurity.jwt.keys[1].kid=2026-02
+ * easysecurity.jwt.keys[1].jwk=/etc/easysecurity/2026-02.jwk.json
+ * easysecurity.jwt.keys[1].activate-at=2026-02-01T00:00:00Z
+ * }</pre>
+ */
+public class JwtKeyRing {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtKeyRing.class);
+
+    /** One key in the ring. */
+    public static final class KeyVersion {
+
+        private final String kid;
+        private final Key verificationKey;
+        private final Key signingKey;
+        private final long activateAtMillis;
+        private final long retireAtMillis;
+        private final ThreadLocalSigner signer;
+
+        /**
+         * @param kid             key id written to the token header, or {@code null} for a single unnamed key
+         * @param verificationKey key used to verify signatures
+         * @param signingKey      key used to sign, or {@code null} for a verification-only key
+         * @param activateAt      when this key may start signing, or {@code null} for immediately
+         * @param retireAt        when this key stops verifying, or {@code null} for never
+         */
+        public KeyVersion(String kid, Key verificationKey, Key signingKey, Instant activateAt, Instant retireAt) {
+            if (verificationKey == null) {
+                throw new IllegalArgumentException("[EasySecurity] Key '" + kid + "' has no verification key.");
+            }
+            this.kid              = kid;
+            this.verificationKey  = verificationKey;
+            this.signingKey       = signingKey;
+            this.activateAtMillis = activateAt != null ? activateAt.toEpochMilli() : Long.MIN_VALUE;
+            this.retireAtMillis   = retireAt != null ? retireAt.toEpochMilli() : Long.MAX_VALUE;
+            this.signer           = signingKey != null ? ThreadLocalSigner.forKey(signingKey) : null;
+        }
+
+        public String getKid()          { return kid; }
+        public Key getVerificationKey() { return verificationKey; }
+        public Key getSigningKey()      { return signingKey; }
+        public boolean canSign()        { return signingKey != null; }
+
+        // Per-thread signer for the signing key, or null to let jjwt sign
+        ThreadLocalSigner signer()      { return signer; }
+    }
+
+    // Keys usable at a point in time, valid until the next activation or retirement
+    private record Snapshot(Map<String, Key> byKid, Key defaultKey, KeyVersion signing, long validUntilMillis) { }
+
+    private final Supplier<List<KeyVersion>> source;  // null for rings built from a fixed list
+    private final boolean refreshOnChange;
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private volatile List<KeyVersion> keys;
+    private volatile Snapshot snapshot;
+    private volatile Consumer<String> unknownKidListener;
+
+    public JwtKeyRing(List<KeyVersion> keys) {
+        this(keys, null, false);
+    }
+
+    private JwtKeyRing(List<KeyVersion> keys, Supplier<List<KeyVersion>> source, boolean refreshOnChange) {
+        this.source = source;
+        this.refreshOnChange = refreshOnChange;
+        setKeys(keys);
+    }
+
+    /**
+     * @return a ring holding a single, unnamed HMAC key — tokens carry no {@code kid}
+     */
+    static JwtKeyRing ofSecret(SecretKey key) {
+        return new JwtKeyRing(List.of(new KeyVersion(null, key, key, null, null)));
+    }
+
+    /**
+     * Loads every configured key from its PEM or JWK file.
+     */
+    static JwtKeyRing load(List<EasySecurityProperties.KeyEntry> definitions) {
+        List<EasySecurityProperties.KeyEntry> copy = List.copyOf(definitions);
+        return new JwtKeyRing(readAll(copy), () -> readAll(copy), false);
+    }
+
+    /**
+     * Loads the keys kept in {@code store}. The ring re-reads the store whenever a key activates or
+     * retires, which picks up the successor key another instance has published in the meantime.
+     */
+    static JwtKeyRing ofStore(PersistentKeyStore store) {
+        return new JwtKeyRing(store.load(), store::load, true);
+    }
+
+    /**
+     * Re-reads every configured key file or the key store, e.g. after a new key has been dropped in place.
+     * Does nothing for rings built from a fixed list of keys.
+     */
+    public void reload() {
+        if (source != null) {
+            setKeys(source.get());
+            logger.info("[EasySecurity] JWT key ring reloaded ({} keys).", keys.size());
+        }
+    }
+
+    /**
+     * Replaces the keys in this ring. Tokens signed with a key that is no longer present stop validating.
+     */
+    public void setKeys(List<KeyVersion> keys) {
+        Set<String> kids = new HashSet<>();
+        for (KeyVersion key : keys) {
+            if (key.getKid() == null && keys.size() > 1) {
+                throw new IllegalArgumentException("[EasySecurity] Every key needs a kid when more than one key is configured.");
+            }
+            if (key.getKid() != null && !kids.add(key.getKid())) {
+                throw new IllegalArgumentException("[EasySecurity] Duplicate JWT key id: " + key.getKid());
+            }
+        }
+        this.keys = List.copyOf(keys);
+        this.snapshot = compute(this.keys, System.currentTimeMillis());
+    }
+
+    public List<KeyVersion> getKeys() {
+        return keys;
+    }
+
+    /**
+     * @param kid key id from the token header, or {@code null}
+     * @return the key to verify with, or {@code null} if {@code kid} is unknown or retired
+     */
+    public Key verificationKey(String kid) {
+        Snapshot current = current();
+        return kid == null ? current.defaultKey() : current.byKid().get(kid);
+    }
+
+    /**
+     * @return the key that signs new tokens, or {@code null} on a verification-only node
+     */
+    public KeyVersion signingKey() {
+        return current().signing();
+    }
+
+    /**
+     * Registers a callback run on the verifying thread whenever a token names a {@code kid} this ring
+     * does not hold — e.g. so {@link JwksKeySource} can fetch a key the issuer has just rotated in.
+     */
+    void onUnknownKid(Consumer<String> listener) {
+        this.unknownKidListener = listener;
+    }
+
+    Locator<Key> locator() {
+        return this::locate;
+    }
+
+    private Key locate(Header header) {
+        String kid = header instanceof ProtectedHeader protectedHeader ? protectedHeader.getKeyId() : null;
+        Key key = verificationKey(kid);
+        if (key == null) {
+            Consumer<String> listener = unknownKidListener;
+            if (listener != null && kid != null) {
+                listener.accept(kid);
+            }
+            throw new InvalidKeyException("No active verification key for kid '" + kid + "'.");
+        }
+        return key;
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        long now = System.currentTimeMillis();
+        if (now >= current.validUntilMillis()) {
+            if (refreshOnChange) {
+                refresh();
+            }
+            current = compute(keys, now);
+            snapshot = current;
+            if (current.signing() != null) {
+                logger.info("[EasySecurity] JWT key rotation: signing with kid '{}'.", current.signing().getKid());
+            }
+        }
+        return current;
+    }
+
+    // One thread re-reads the source; the others carry on with the keys already loaded
+    private void refresh() {
+        if (!refreshLock.tryLock()) {
+            return;
+        }
+        try {
+            setKeys(source.get());
+        } catch (RuntimeException e) {
+            logger.warn("[EasySecurity] Could not refresh JWT keys, keeping the current ones: {}", e.getMessage());
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private static Snapshot compute(List<KeyVersion> keys, long now) {
+        Map<String, Key> byKid = new HashMap<>();
+        List<Key> verifying = new ArrayList<>();
+        KeyVersion signing = null;
+        long validUntil = Long.MAX_VALUE;
+
+        for (KeyVersion key : keys) {
+            if (key.activateAtMillis > now) {
+                validUntil = Math.min(validUntil, key.activateAtMillis);
+            }
+            if (key.retireAtMillis <= now) {
+                continue;
+            }
+            validUntil = Math.min(validUntil, key.retireAtMillis);
+            verifying.add(key.verificationKey);
+            if (key.kid != null) {
+                byKid.put(key.kid, key.verificationKey);
+            }
+            if (key.canSign() && key.activateAtMillis <= now
+                    && (signing == null || key.activateAtMillis >= signing.activateAtMillis)) {
+                signing = key;
+            }
+        }
+
+        // Tokens without a kid: the current signing key, or the only key there is
+        Key defaultKey = signing != null ? signing.verificationKey
+                : verifying.size() == 1 ? verifying.get(0) : null;
+        return new Snapshot(Map.copyOf(byKid), defaultKey, signing, validUntil);
+    }
+
+    private static List<KeyVersion> readAll(List<EasySecurityProperties.KeyEntry> definitions) {
+        List<KeyVersion> versions = new ArrayList<>(definitions.size());
+        for (EasySecurityProperties.KeyEntry definition : definitions) {
+            versions.add(read(definition));
+        }
+        return versions;
+    }
+
+    private static KeyVersion read(EasySecurityProperties.KeyEntry definition) {
+        String kid = definition.getKid();
+        Key verificationKey = null;
+        Key signingKey = null;
+
+        if (hasText(definition.getJwk())) {
+            Jwk<?> jwk = KeyFiles.readJwk(Path.of(definition.getJwk()));
+            verificationKey = KeyFiles.verificationKey(jwk);
+            signingKey = KeyFiles.signingKey(jwk);
+            if (!hasText(kid)) {
+                kid = jwk.getId();
+            }
+        }
+        if (hasText(definition.getPrivateKey())) {
+            PrivateKey privateKey = KeyFiles.readPrivateKey(Path.of(definition.getPrivateKey()));
+            signingKey = privateKey;
+            if (verificationKey == null) {
+                verificationKey = KeyFiles.derivePublicKey(privateKey);
+            }
+        }
+        if (hasText(definition.getPublicKey())) {
+            PublicKey publicKey = KeyFiles.readPublicKey(Path.of(definition.getPublicKey()));
+            verificationKey = publicKey;
+        }
+
+        if (!hasText(kid)) {
+            throw new IllegalStateException("[EasySecurity] easysecurity.jwt.keys entries need a kid (or a JWK with one).");
+        }
+        if (verificationKey == null) {
+            throw new IllegalStateException("[EasySecurity] Key '" + kid + "' needs a public-key or jwk to verify tokens.");
+        }
+        return new KeyVersion(kid, verificationKey, signingKey, definition.getActivateAt(), definition.getRetireAt());
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+}
@@ -1,34 +1,184 @@
 package com.example.simple_security.config;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ClaimsBuilder;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.IncorrectClaimException;
+import io.jsonwebtoken.JwtBuilder;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.JwtParserBuilder;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MissingClaimException;
+import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.security.Keys;
-import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.SecurityException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.KeyGenerator;
 import javax.crypto.SecretKey;
-import java.security.Key;
 import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Component
 public class JwtUtils {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
 
-    private final String sk;
+    /** Claim holding the granted authority names embedded by {@code createToken(username, authorities)}. */
+    public static final String AUTHORITIES_CLAIM = "authorities";
+
+    /** Claim holding the space-separated authority names in {@link TokenFormat#COMPACT} tokens. */
+    public static final String COMPACT_AUTHORITIES_CLAIM = "au";
+
+    private static final Set<String> RESERVED_CLAIMS = Set.of(Claims.SUBJECT, Claims.ISSUED_AT, Claims.EXPIRATION,
+            Claims.NOT_BEFORE, Claims.ID, Claims.ISSUER, Claims.AUDIENCE, AUTHORITIES_CLAIM, COMPACT_AUTHORITIES_CLAIM);
+
+    private static final Base64.Encoder TOKEN_ID_ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    // jti entropy: 128 bits, or 96 bits in compact tokens
+    private static final int TOKEN_ID_BYTES = 16;
+    private static final int COMPACT_TOKEN_ID_BYTES = 12;
+
+    // Reference handles must be unguessable: 192 bits from SecureRandom, 32 base64url characters
+    private static final int HANDLE_BYTES = 24;
+    private static final int HANDLE_LENGTH = 32;
+    private static final ThreadLocal<SecureRandom> HANDLE_RANDOM = ThreadLocal.withInitial(SecureRandom::new);
+
+    // Batches smaller than this are signed or verified on the calling thread
+    private static final int PARALLEL_THRESHOLD = 64;
+    // Tokens signed or verified by one fork-join leaf task
+    private static final int BATCH_LEAF_SIZE = 32;
+
+    private final JwksKeySource jwksSource;
+    private final JwtKeyRing keyRing;
+    private final JwtParser parser;
     private final long defaultExpirationMinutes;
+    private final String issuer;              // null when tokens carry no iss
+    private final VerifiedTokenCache tokenCache;
+    private final TokenPrecheck precheck;
+    private final EasySecurityProperties.Revocation revocationProperties;
+    private final EasySecurityMetrics metrics;
+    private final TokenFormat format;
+    private final int compressAbove;
+    private final ReferenceTokenStore referenceTokens;
+
+    private volatile TokenRevocationList revocations;
+    private TokenRevocationList ownRevocations;  // created by enableRevocation, closed with this instance
 
-    @Autowired
     public JwtUtils(EasySecurityProperties properties) {
-        String configuredSecret = properties.getJwt().getSecret();
+        this(properties, EasySecurityMetrics.NOOP);
+    }
+
+    @Autowired
+    public JwtUtils(EasySecurityProperties properties, ObjectProvider<EasySecurityMetrics> metrics) {
+        this(properties, metrics.getIfAvailable(() -> EasySecurityMetrics.NOOP));
+    }
+
+    JwtUtils(EasySecurityProperties properties, EasySecurityMetrics metrics) {
+        this.metrics = metrics;
         this.defaultExpirationMinutes = properties.getJwt().getExpiration();
+        EasySecurityProperties.Jwks jwks = properties.getJwt().getJwks();
+        this.jwksSource = hasText(jwks.getUri()) ? JwksKeySource.create(jwks) : null;
+        this.keyRing = jwksSource != null ? jwksSource.getKeyRing() : createKeyRing(properties.getJwt());
+
+        this.issuer = hasText(properties.getJwt().getIssuer()) ? properties.getJwt().getIssuer() : null;
+
+        // JwtParser is immutable and thread-safe — build it once and share it
+        JwtParserBuilder parserBuilder = Jwts.parser().keyLocator(keyRing.locator());
+        if (jwksSource != null) {
+            if (hasText(jwks.getIssuer())) {
+                parserBuilder.requireIssuer(jwks.getIssuer());
+            }
+            if (hasText(jwks.getAudience())) {
+                parserBuilder.requireAudience(jwks.getAudience());
+            }
+            logger.info("[EasySecurity] Resource-server mode: verifying tokens with keys from {}.", jwksSource.getUri());
+        } else if (issuer != null) {
+            parserBuilder.requireIssuer(issuer);
+        }
+        this.parser = parserBuilder.build();
+
+        EasySecurityProperties.Cache cache = properties.getJwt().getCache();
+        if (cache.isEnabled()) {
+            this.tokenCache = new VerifiedTokenCache(cache.getMaxSize(), cache.getTtlSeconds());
+            logger.info("[EasySecurity] Verified-token cache enabled (max-size={}, ttl={}s).",
+                    cache.getMaxSize(), cache.getTtlSeconds());
+        } else {
+            this.tokenCache = null;
+        }
 
+        EasySecurityProperties.Precheck precheck = properties.getJwt().getPrecheck();
+        this.precheck = precheck.isEnabled()
+                ? new TokenPrecheck(precheck.getMaxLength(), precheck.getAlgorithms(), keyRing, jwksSource != null)
+                : null;
+        this.revocationProperties = properties.getJwt().getRevocation();
+
+        this.format = properties.getJwt().getFormat();
+        this.compressAbove = properties.getJwt().getCompact().getCompressAbove();
+        this.referenceTokens = format == TokenFormat.REFERENCE
+                ? new ReferenceTokenStore(properties.getJwt().getReference().getMaxSize())
+                : null;
+        if (format != TokenFormat.STANDARD) {
+            logger.info("[EasySecurity] Issuing {} tokens.", format.name().toLowerCase());
+        }
+    }
+
+    /**
+     * Starts checking every valid token's {@code jti} against {@code store}.
+     */
+    synchronized void enableRevocation(TokenRevocationStore store) {
+        closeOwnRevocations();
+        this.ownRevocations = new TokenRevocationList(store,
+                revocationProperties.getExpectedRevocations(),
+                revocationProperties.getFalsePositiveRate(),
+                revocationProperties.getPurgeIntervalSeconds());
+        this.revocations = ownRevocations;
+        logger.info("[EasySecurity] Token revocation enabled: {}", store.getClass().getSimpleName());
+    }
+
+    /**
+     * Checks tokens against a revocation list owned by another instance — a tenant's against the
+     * application's — so that both share one store and one Bloom filter.
+     */
+    synchronized void useRevocations(TokenRevocationList revocations) {
+        closeOwnRevocations();
+        this.revocations = revocations;
+    }
+
+    private void closeOwnRevocations() {
+        if (ownRevocations != null) {
+            ownRevocations.close();
+            ownRevocations = null;
+        }
+    }
+
+    private JwtKeyRing createKeyRing(EasySecurityProperties.Jwt jwt) {
+        if (!jwt.getKeys().isEmpty()) {
+            JwtKeyRing ring = JwtKeyRing.load(jwt.getKeys());
+            JwtKeyRing.KeyVersion signing = ring.signingKey();
+            logger.info("[EasySecurity] JWT key ring loaded with {} keys. Signing kid: {}.", ring.getKeys().size(),
+                    signing != null ? signing.getKid() : "none (verification only)");
+            return ring;
+        }
+
+        String configuredSecret = jwt.getSecret();
         if (configuredSecret != null && !configuredSecret.isBlank()) {
             // Validate minimum key length (HMAC-SHA256 needs >= 256 bits = 32 bytes)
             byte[] keyBytes = configuredSecret.getBytes();
@@ -37,83 +187,514 @@ public class JwtUtils {
                         "[EasySecurity] easysecurity.jwt.secret must be at least 32 characters long."
                 );
             }
-            this.sk = Base64.getEncoder().encodeToString(keyBytes);
             logger.info("[EasySecurity] JWT secret loaded from application.properties.");
-        } else {
-            // Auto-generate — warn the developer clearly
-            this.sk = generateRandomSecret();
-            logger.warn("[EasySecurity] No JWT secret configured. A random secret has been generated.");
-            logger.warn("[EasySecurity] All tokens will be invalidated on every application restart.");
-            logger.warn("[EasySecurity] Set 'easysecurity.jwt.secret=your-secret' in application.properties to fix this.");
+            return JwtKeyRing.ofSecret(Keys.hmacShaKeyFor(keyBytes));
+        }
+
+        EasySecurityProperties.KeyStore keyStore = jwt.getKeyStore();
+        if (keyStore.getPath() != null && !keyStore.getPath().isBlank()) {
+            PersistentKeyStore store = PersistentKeyStore.create(keyStore);
+            JwtKeyRing ring = JwtKeyRing.ofStore(store);
+            logger.info("[EasySecurity] JWT keys loaded from key store {} ({} versions). Signing kid: {}.",
+                    store.getFile(), ring.getKeys().size(), ring.signingKey().getKid());
+            if (keyStore.getRotationDays() > 0 && keyStore.getGraceMinutes() < jwt.getExpiration()) {
+                logger.warn("[EasySecurity] easysecurity.jwt.key-store.grace-minutes ({}) is shorter than the token lifetime ({}). "
+                        + "Tokens signed just before a rotation will stop validating early.", keyStore.getGraceMinutes(), jwt.getExpiration());
+            }
+            return ring;
         }
+
+        // Auto-generate — warn the developer clearly
+        logger.warn("[EasySecurity] No JWT secret configured. A random secret has been generated.");
+        logger.warn("[EasySecurity] All tokens will be invalidated on every application restart.");
+        logger.warn("[EasySecurity] Set 'easysecurity.jwt.secret=your-secret' or 'easysecurity.jwt.key-store.path=<file>' in application.properties to fix this.");
+        return JwtKeyRing.ofSecret(generateRandomSecret());
     }
 
-    private String generateRandomSecret() {
+    private SecretKey generateRandomSecret() {
         try {
             KeyGenerator keyGenerator = KeyGenerator.getInstance("HmacSHA256");
-            SecretKey secretKey = keyGenerator.generateKey();
-            return Base64.getEncoder().encodeToString(secretKey.getEncoded());
+            return keyGenerator.generateKey();
         } catch (NoSuchAlgorithmException e) {
             throw new RuntimeException("[EasySecurity] Failed to generate JWT secret key", e);
         }
     }
 
+    /**
+     * @return the keys this node signs and verifies with
+     */
+    public JwtKeyRing getKeyRing() {
+        return keyRing;
+    }
+
+    /**
+     * @return the JWKS the key ring is kept in sync with, or {@code null} if {@code easysecurity.jwt.jwks.uri} is not set
+     */
+    public JwksKeySource getJwksSource() {
+        return jwksSource;
+    }
+
+    /**
+     * @return the {@code iss} written to issued tokens and required on verification, or {@code null} if none
+     */
+    public String getIssuer() {
+        return issuer;
+    }
+
+    /**
+     * Stops the background JWKS refresh and revocation purge, if any — for instances created outside the
+     * application context.
+     */
+    synchronized void close() {
+        if (jwksSource != null) {
+            jwksSource.close();
+        }
+        closeOwnRevocations();
+    }
+
+    public long getDefaultExpirationMinutes() {
+        return defaultExpirationMinutes;
+    }
+
     protected String generateToken(String username) {
         return generateToken(username, defaultExpirationMinutes);
     }
 
     protected String generateToken(String username, long expirationMinutes) {
-        Date now = new Date(System.currentTimeMillis());
-        Date expiration = new Date(now.getTime() + expirationMinutes * 60 * 1000);
+        return generateToken(username, null, null, expirationMinutes);
+    }
 
-        return Jwts.builder()
-                .subject(username)
-                .issuedAt(now)
-                .expiration(expiration)
-                .signWith(getKey())
-                .compact();
+    protected String generateToken(String username,
+                                   Collection<? extends GrantedAuthority> authorities,
+                                   Map<String, ?> claims,
+                                   long expirationMinutes) {
+        JwtKeyRing.KeyVersion signing = activeSigningKey();
+        checkClaims(claims);
+        return sign(signing, System.currentTimeMillis(), username, authorities, claims, expirationMinutes);
     }
 
-    private Key getKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(sk);
-        return Keys.hmacShaKeyFor(keyBytes);
+    /**
+     * Issues one token per spec, signing in parallel on the common fork-join pool once the batch is
+     * large enough. Every token in the batch is signed with the same key and issue time.
+     *
+     * @param specs tokens to issue
+     * @return the signed tokens, in the order of {@code specs}
+     */
+    protected List<String> generateTokens(List<TokenSpec> specs) {
+        return generateTokens(specs, ForkJoinPool.commonPool());
     }
 
-    public String extractUserName(String token) {
-        try {
-            return Jwts.parser()
-                    .verifyWith((SecretKey) getKey())
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload()
-                    .getSubject();
-        } catch (JwtException e) {
-            return null;
+    List<String> generateTokens(List<TokenSpec> specs, ForkJoinPool pool) {
+        JwtKeyRing.KeyVersion signing = activeSigningKey();
+        // Validate up front so a bad spec fails the batch before any work is forked
+        for (TokenSpec spec : specs) {
+            checkClaims(spec.getClaims());
         }
+        String[] tokens = new String[specs.size()];
+        SignBatch batch = new SignBatch(specs, tokens, signing, System.currentTimeMillis(), 0, tokens.length);
+        if (tokens.length < PARALLEL_THRESHOLD) {
+            batch.signRange();
+        } else {
+            pool.invoke(batch);
+        }
+        return List.of(tokens);
     }
 
-    public boolean validateToken(String token, String username) {
+    // ForkJoinTask is Serializable, but these tasks only ever live on the pool that runs them
+    @SuppressWarnings("serial")
+    private final class SignBatch extends RecursiveAction {
+
+        private final List<TokenSpec> specs;
+        private final String[] tokens;
+        private final JwtKeyRing.KeyVersion signing;
+        private final long nowMillis;
+        private final int from;
+        private final int to;
+
+        SignBatch(List<TokenSpec> specs, String[] tokens, JwtKeyRing.KeyVersion signing, long nowMillis,
+                  int from, int to) {
+            this.specs = specs;
+            this.tokens = tokens;
+            this.signing = signing;
+            this.nowMillis = nowMillis;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= BATCH_LEAF_SIZE) {
+                signRange();
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new SignBatch(specs, tokens, signing, nowMillis, from, middle),
+                      new SignBatch(specs, tokens, signing, nowMillis, middle, to));
+        }
+
+        void signRange() {
+            for (int i = from; i < to; i++) {
+                TokenSpec spec = specs.get(i);
+                long minutes = spec.getExpirationMinutes() > 0
+                        ? spec.getExpirationMinutes()
+                        : defaultExpirationMinutes;
+                tokens[i] = sign(signing, nowMillis, spec.getUsername(), spec.getAuthorities(), spec.getClaims(),
+                        minutes);
+            }
+        }
+    }
+
+    private JwtKeyRing.KeyVersion activeSigningKey() {
+        JwtKeyRing.KeyVersion signing = keyRing.signingKey();
+        if (signing == null) {
+            throw new IllegalStateException("[EasySecurity] No active signing key — this node can only verify tokens.");
+        }
+        return signing;
+    }
+
+    private static void checkClaims(Map<String, ?> claims) {
+        if (claims == null) {
+            return;
+        }
+        for (String name : claims.keySet()) {
+            if (RESERVED_CLAIMS.contains(name)) {
+                throw new IllegalArgumentException("[EasySecurity] Custom claim '" + name + "' is reserved.");
+            }
+        }
+    }
+
+    private String sign(JwtKeyRing.KeyVersion signing, long nowMillis, String username,
+                        Collection<? extends GrantedAuthority> authorities, Map<String, ?> claims,
+                        long expirationMinutes) {
+        Date now = new Date(nowMillis);
+        Date expiration = new Date(nowMillis + expirationMinutes * 60 * 1000);
+        List<String> names = authorityNames(authorities);
+
+        String token = switch (format) {
+            case STANDARD  -> signStandard(signing, now, expiration, username, names, claims);
+            case COMPACT   -> signCompact(signing, now, expiration, username, names, claims);
+            case REFERENCE -> storeReference(now, expiration, username, names, claims);
+        };
+        metrics.tokenIssued();
+        return token;
+    }
+
+    private String signStandard(JwtKeyRing.KeyVersion signing, Date now, Date expiration, String username,
+                                List<String> authorities, Map<String, ?> claims) {
+        JwtBuilder builder = Jwts.builder();
+        if (signing.getKid() != null) {
+            builder.header().keyId(signing.getKid());
+        }
+        if (claims != null && !claims.isEmpty()) {
+            builder.claims(claims);
+        }
+        if (!authorities.isEmpty()) {
+            builder.claim(AUTHORITIES_CLAIM, authorities);
+        }
+        builder.id(newTokenId(TOKEN_ID_BYTES))
+               .subject(username)
+               .issuedAt(now)
+               .expiration(expiration);
+        if (issuer != null) {
+            builder.issuer(issuer);
+        }
+        return signWith(builder, signing);
+    }
+
+    private String signCompact(JwtKeyRing.KeyVersion signing, Date now, Date expiration, String username,
+                               List<String> authorities, Map<String, ?> claims) {
+        JwtBuilder builder = Jwts.builder();
+        // With a single key the verifier needs no kid to find it
+        if (signing.getKid() != null && keyRing.getKeys().size() > 1) {
+            builder.header().keyId(signing.getKid());
+        }
+        int payloadChars = 0;
+        if (claims != null && !claims.isEmpty()) {
+            builder.claims(claims);
+            for (Map.Entry<String, ?> claim : claims.entrySet()) {
+                payloadChars += claim.getKey().length() + String.valueOf(claim.getValue()).length() + 6;
+            }
+        }
+        if (!authorities.isEmpty()) {
+            String joined = String.join(" ", authorities);
+            payloadChars += joined.length();
+            // A name containing a space cannot be joined unambiguously
+            builder.claim(COMPACT_AUTHORITIES_CLAIM, containsSpace(authorities) ? authorities : joined);
+        }
+        if (compressAbove > 0 && payloadChars > compressAbove) {
+            builder.compressWith(Jwts.ZIP.DEF);
+        }
+        builder.id(newTokenId(COMPACT_TOKEN_ID_BYTES))
+               .subject(username)
+               .issuedAt(now)
+               .expiration(expiration);
+        if (issuer != null) {
+            builder.issuer(issuer);
+        }
+        return signWith(builder, signing);
+    }
+
+    private static boolean containsSpace(List<String> authorities) {
+        for (String authority : authorities) {
+            if (authority.indexOf(' ') >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Reference tokens are never signed: the store itself vouches for them
+    private String storeReference(Date now, Date expiration, String username,
+                                  List<String> authorities, Map<String, ?> claims) {
+        ClaimsBuilder builder = Jwts.claims();
+        if (claims != null && !claims.isEmpty()) {
+            builder.add(claims);
+        }
+        if (!authorities.isEmpty()) {
+            builder.add(AUTHORITIES_CLAIM, authorities);
+        }
+        builder.id(newTokenId(TOKEN_ID_BYTES))
+               .subject(username)
+               .issuedAt(now)
+               .expiration(expiration);
+        if (issuer != null) {
+            builder.issuer(issuer);
+        }
+
+        byte[] bytes = new byte[HANDLE_BYTES];
+        HANDLE_RANDOM.get().nextBytes(bytes);
+        String handle = TOKEN_ID_ENCODER.encodeToString(bytes);
+        referenceTokens.put(handle, VerifiedToken.valid(builder.build()));
+        return handle;
+    }
+
+    private static List<String> authorityNames(Collection<? extends GrantedAuthority> authorities) {
+        if (authorities == null || authorities.isEmpty()) {
+            return List.of();
+        }
+        List<String> names = new ArrayList<>(authorities.size());
+        for (GrantedAuthority authority : authorities) {
+            names.add(authority.getAuthority());
+        }
+        return names;
+    }
+
+    // Reuse this thread's initialised Mac/Signature where the key type allows it
+    private static String signWith(JwtBuilder builder, JwtKeyRing.KeyVersion signing) {
+        ThreadLocalSigner signer = signing.signer();
+        if (signer != null) {
+            builder.signWith(signing.getSigningKey(), signer);
+        } else {
+            builder.signWith(signing.getSigningKey());
+        }
+        return builder.compact();
+    }
+
+    // Random bits; unpredictability is not needed because the token is signed
+    private static String newTokenId(int length) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        byte[] bytes = new byte[length];
+        random.nextBytes(bytes);
+        return TOKEN_ID_ENCODER.encodeToString(bytes);
+    }
+
+    /**
+     * Verifies the signature and expiry of {@code token} and parses its claims — once.
+     * Never throws for bad input; the returned {@link VerifiedToken} carries the failure reason instead.
+     *
+     * @param token compact JWS string
+     * @return the verified token, valid or not
+     */
+    public VerifiedToken verify(String token) {
+        long start = System.nanoTime();
+        VerifiedToken verified = verifyUntimed(token);
+        metrics.recordVerification(verified.getFailure(), System.nanoTime() - start);
+        return verified;
+    }
+
+    /**
+     * Verifies a batch of tokens, in parallel on the common fork-join pool once the batch is large enough.
+     * Each token is verified exactly as by {@link #verify(String)}.
+     *
+     * @param tokens compact JWS strings or reference handles
+     * @return the verified tokens, valid or not, in the order of {@code tokens}
+     */
+    public List<VerifiedToken> verifyAll(List<String> tokens) {
+        return verifyAll(tokens, ForkJoinPool.commonPool());
+    }
+
+    List<VerifiedToken> verifyAll(List<String> tokens, ForkJoinPool pool) {
+        VerifiedToken[] verified = new VerifiedToken[tokens.size()];
+        VerifyBatch batch = new VerifyBatch(tokens, verified, 0, verified.length);
+        if (verified.length < PARALLEL_THRESHOLD) {
+            batch.verifyRange();
+        } else {
+            pool.invoke(batch);
+        }
+        return List.of(verified);
+    }
+
+    // Like SignBatch, never serialized
+    @SuppressWarnings("serial")
+    private final class VerifyBatch extends RecursiveAction {
+
+        private final List<String> tokens;
+        private final VerifiedToken[] verified;
+        private final int from;
+        private final int to;
+
+        VerifyBatch(List<String> tokens, VerifiedToken[] verified, int from, int to) {
+            this.tokens = tokens;
+            this.verified = verified;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= BATCH_LEAF_SIZE) {
+                verifyRange();
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new VerifyBatch(tokens, verified, from, middle),
+                      new VerifyBatch(tokens, verified, middle, to));
+        }
+
+        void verifyRange() {
+            for (int i = from; i < to; i++) {
+                verified[i] = verify(tokens.get(i));
+            }
+        }
+    }
+
+    /**
+     * @return {@code true} if {@code token} was valid but has been revoked since it was verified
+     */
+    boolean isRevoked(VerifiedToken token) {
+        TokenRevocationList revocations = this.revocations;
+        return revocations != null && token.isValid()
+                && revocations.isRevoked(token.getTokenId());
+    }
+
+    private VerifiedToken verifyUntimed(String token) {
+        if (token == null || token.isBlank()) {
+            return VerifiedToken.failed(VerifiedToken.Failure.MALFORMED);
+        }
+
+        VerifiedToken verified;
+        if (referenceTokens != null && token.indexOf('.') < 0) {
+            verified = resolveReference(token);
+        } else if (precheck != null && precheck.check(token) != null) {
+            return VerifiedToken.failed(VerifiedToken.Failure.REJECTED);
+        } else {
+            verified = tokenCache == null ? parse(token) : parseCached(token);
+        }
+
+        // Checked after the cache too, so revoking a cached token takes effect immediately
+        TokenRevocationList revocations = this.revocations;
+        if (revocations != null && verified.isValid()
+                && revocations.isRevoked(verified.getTokenId())) {
+            return VerifiedToken.failed(VerifiedToken.Failure.REVOKED);
+        }
+        return verified;
+    }
+
+    private VerifiedToken resolveReference(String handle) {
+        if (handle.length() != HANDLE_LENGTH) {
+            return VerifiedToken.failed(VerifiedToken.Failure.MALFORMED);
+        }
+        VerifiedToken verified = referenceTokens.get(handle, System.currentTimeMillis());
+        return verified != null ? verified : VerifiedToken.failed(VerifiedToken.Failure.UNKNOWN);
+    }
+
+    private VerifiedToken parseCached(String token) {
+        long now = System.currentTimeMillis();
+        TokenDigest digest = TokenDigest.of(token);
+        VerifiedToken cached = tokenCache.get(digest, now);
+        if (cached != null) {
+            return cached;
+        }
+        VerifiedToken verified = parse(token);
+        if (verified.isValid()) {
+            tokenCache.put(digest, verified, now);
+        }
+        return verified;
+    }
+
+    private VerifiedToken parse(String token) {
         try {
-            String extractedUsername = extractUserName(token);
-            return extractedUsername != null
-                    && extractedUsername.equals(username)
-                    && !isTokenExpired(token);
-        } catch (JwtException e) {
+            return VerifiedToken.valid(parser.parseSignedClaims(token).getPayload());
+        } catch (ExpiredJwtException e) {
+            return VerifiedToken.failed(VerifiedToken.Failure.EXPIRED);
+        } catch (IncorrectClaimException | MissingClaimException e) {
+            return VerifiedToken.failed(VerifiedToken.Failure.INVALID_CLAIMS);
+        } catch (SecurityException e) {
+            return VerifiedToken.failed(VerifiedToken.Failure.BAD_SIGNATURE);
+        } catch (UnsupportedJwtException e) {
+            return VerifiedToken.failed(VerifiedToken.Failure.UNSUPPORTED);
+        } catch (JwtException | IllegalArgumentException e) {
+            return VerifiedToken.failed(VerifiedToken.Failure.MALFORMED);
+        }
+    }
+
+    /**
+     * @return the verified-token cache, or {@code null} if {@code easysecurity.jwt.cache.enabled} is off
+     */
+    public VerifiedTokenCache getTokenCache() {
+        return tokenCache;
+    }
+
+    /**
+     * @return the bearer-token pre-check, or {@code null} if {@code easysecurity.jwt.precheck.enabled} is off
+     */
+    public TokenPrecheck getPrecheck() {
+        return precheck;
+    }
+
+    /**
+     * @return the reference-token store, or {@code null} unless {@code easysecurity.jwt.format=reference}
+     */
+    public ReferenceTokenStore getReferenceTokens() {
+        return referenceTokens;
+    }
+
+    /**
+     * @return the revocation list, or {@code null} if no {@link TokenRevocationStore} is configured
+     */
+    public TokenRevocationList getRevocations() {
+        return revocations;
+    }
+
+    /**
+     * Revokes a verified token until its expiry.
+     *
+     * @param token a token returned by {@link #verify(String)}
+     * @return {@code true} if it was revoked, {@code false} if it is not valid or carries no {@code jti}
+     * @throws IllegalStateException if no {@link TokenRevocationStore} is configured
+     */
+    public boolean revoke(VerifiedToken token) {
+        TokenRevocationList revocations = this.revocations;
+        if (revocations == null) {
+            throw new IllegalStateException("[EasySecurity] Token revocation is not enabled. Override tokenRevocationStore().");
+        }
+        if (!token.isValid() || token.getTokenId() == null) {
             return false;
         }
+        // A token without exp never expires, so neither may its revocation
+        revocations.revoke(token.getTokenId(), token.getExpiration() != null ? token.getExpiration() : Instant.MAX);
+        return true;
     }
 
-    private boolean isTokenExpired(String token) {
-        try {
-            Date expiration = Jwts.parser()
-                    .verifyWith((SecretKey) getKey())
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload()
-                    .getExpiration();
-            return expiration.before(new Date());
-        } catch (JwtException e) {
-            return true;
-        }
-    }
-}
\ No newline at end of file
+    public String extractUserName(String token) {
+        return verify(token).getSubject();
+    }
+
+    public boolean validateToken(String token, String username) {
+        return verify(token).isValidFor(username);
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.simple_security.config;
+
+import io.jsonwebtoken.security.Jwk;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.PrivateJwk;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.RSAPrivateCrtKey;
+import java.security.spec.InvalidKeySpecException;
+import java.security.spec.KeySpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.RSAPublicKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+
+/**
+ * Reads signing and verification keys from local PEM and JWK files.
+ * PEM files must hold a PKCS#8 private key ({@code BEGIN PRIVATE KEY}) or an
+ * X.509 public key ({@code BEGIN PUBLIC KEY}); RSA, EC and Ed25519 keys are supported.
+ */
+final class KeyFiles {
+
+    private static final String[] ALGORITHMS = {"RSA", "EC", "Ed25519"};
+
+    private KeyFiles() {
+    }
+
+    static PrivateKey readPrivateKey(Path path) {
+        byte[] der = readPem(path, "PRIVATE KEY");
+        return (PrivateKey) generate(path, new PKCS8EncodedKeySpec(der), true);
+    }
+
+    static PublicKey readPublicKey(Path path) {
+        byte[] der = readPem(path, "PUBLIC KEY");
+        return (PublicKey) generate(path, new X509EncodedKeySpec(der), false);
+    }
+
+    /**
+     * Derives the public half of an RSA private key; other key types carry no public parameters.
+     *
+     * @return the public key, or {@code null} if it cannot be derived
+     */
+    static PublicKey derivePublicKey(PrivateKey privateKey) {
+        if (!(privateKey instanceof RSAPrivateCrtKey rsa)) {
+            return null;
+        }
+        try {
+            BigInteger modulus = rsa.getModulus();
+            return KeyFactory.getInstance("RSA").generatePublic(new RSAPublicKeySpec(modulus, rsa.getPublicExponent()));
+        } catch (GeneralSecurityException e) {
+            return null;
+        }
+    }
+
+    static Jwk<?> readJwk(Path path) {
+        try {
+            return Jwks.parser().build().parse(Files.readString(path));
+        } catch (IOException e) {
+            throw new IllegalStateException("[EasySecurity] Cannot read JWK file: " + path, e);
+        } catch (RuntimeException e) {
+            throw new IllegalStateException("[EasySecurity] Invalid JWK in " + path + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * @return the key to verify signatures with — the public half for a private JWK
+     */
+    static Key verificationKey(Jwk<?> jwk) {
+        return jwk instanceof PrivateJwk<?, ?, ?> privateJwk ? privateJwk.toKeyPair().getPublic() : jwk.toKey();
+    }
+
+    /**
+     * @return the key to sign with, or {@code null} if the JWK holds only a public key
+     */
+    static Key signingKey(Jwk<?> jwk) {
+        if (jwk instanceof PrivateJwk<?, ?, ?> privateJwk) {
+            return privateJwk.toKeyPair().getPrivate();
+        }
+        return jwk.toKey() instanceof PublicKey ? null : jwk.toKey();
+    }
+
+    private static byte[] readPem(Path path, String type) {
+        String pem;
+        try {
+            pem = Files.readString(path);
+        } catch (IOException e) {
+            throw new IllegalStateException("[EasySecurity] Cannot read key file: " + path, e);
+        }
+        String begin = "-----BEGIN " + type + "-----";
+        String end = "-----END " + type + "-----";
+        int start = pem.indexOf(begin);
+        int stop = pem.indexOf(end);
+        if (start < 0 || stop < start) {
+            throw new IllegalStateException("[EasySecurity] " + path + " is not a PEM file containing '" + begin + "'.");
+        }
+        String body = pem.substring(start + begin.length(), stop).replaceAll("\\s", "");
+        return Base64.getDecoder().decode(body);
+    }
+
+    private static Key generate(Path path, KeySpec spec, boolean privateKey) {
+        for (String algorithm : ALGORITHMS) {
+            try {
+                KeyFactory factory = KeyFactory.getInstance(algorithm);
+                return privateKey ? factory.generatePrivate(spec) : factory.generatePublic(spec);
+            } catch (InvalidKeySpecException | NoSuchAlgorithmException e) {
+                // try the next algorithm
+            }
+        }
+        throw new IllegalStateException("[EasySecurity] Unsupported key type in " + path + " (expected RSA, EC or Ed25519).");
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.simple_security.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Throttles form-login attempts per client IP and per username with token buckets, answering
+ * {@code 429 Too Many Requests} with a {@code Retry-After} header before the password is hashed.
+ * Every attempt takes one token from the IP's bucket and, if allowed, one from the username's.
+ *
+ * <pre>{@code
+ * easysecurity.login.rate-limit.ip.capacity=50
+ * easysecurity.login.rate-limit.ip.refill-per-minute=30
+ * easysecurity.login.rate-limit.username.capacity=10
+ * easysecurity.login.rate-limit.username.refill-per-minute=5
+ * easysecurity.login.rate-limit.max-keys=100000
+ * }</pre>
+ *
+ * The client IP is {@code request.getRemoteAddr()}; behind a proxy, register Spring's
+ * {@code ForwardedHeaderFilter} so it reflects the original client.
+ */
+public class LoginRateLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoginRateLimitFilter.class);
+
+    /** Form parameter read for the username — the Spring Security {@code formLogin} default. */
+    static final String USERNAME_PARAMETER = "username";
+
+    // Longer usernames share a bucket with their prefix, which bounds the memory per key
+    private static final int MAX_USERNAME_KEY_LENGTH = 256;
+
+    private final String loginProcessingUrl;
+    private final RateLimitBuckets byIp;
+    private final RateLimitBuckets byUsername;
+    private volatile SecurityAuditLog auditLog = SecurityAuditLog.DISABLED;
+
+    private final LongAdder throttledByIp       = new LongAdder();
+    private final LongAdder throttledByUsername = new LongAdder();
+
+    LoginRateLimitFilter(String loginProcessingUrl, EasySecurityProperties.RateLimit properties) {
+        this.loginProcessingUrl = loginProcessingUrl;
+        this.byIp = buckets("ip", properties.getIp(), properties.getMaxKeys());
+        this.byUsername = buckets("username", properties.getUsername(), properties.getMaxKeys());
+    }
+
+    private static RateLimitBuckets buckets(String name, EasySecurityProperties.Bucket bucket, int maxKeys) {
+        if (bucket.getCapacity() <= 0 || bucket.getRefillPerMinute() <= 0) {
+            throw new IllegalArgumentException("[EasySecurity] easysecurity.login.rate-limit." + name
+                    + ".capacity and refill-per-minute must be greater than zero.");
+        }
+        return new RateLimitBuckets(bucket.getCapacity(), bucket.getRefillPerMinute(), maxKeys);
+    }
+
+    void setAuditLog(SecurityAuditLog auditLog) {
+        this.auditLog = auditLog;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod())
+                || !loginProcessingUrl.equals(UrlPathHelper.defaultInstance.getPathWithinApplication(request));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        long now = System.nanoTime();
+
+        long wait = byIp.tryAcquire(request.getRemoteAddr(), now);
+        if (wait > 0) {
+            throttledByIp.increment();
+            auditLog.record(AuditEvent.Type.LOGIN_THROTTLED, null, request.getRemoteAddr(), loginProcessingUrl, "ip");
+            reject(response, wait);
+            return;
+        }
+
+        String username = request.getParameter(USERNAME_PARAMETER);
+        if (username != null && !username.isBlank()) {
+            wait = byUsername.tryAcquire(usernameKey(username), now);
+            if (wait > 0) {
+                throttledByUsername.increment();
+                auditLog.record(AuditEvent.Type.LOGIN_THROTTLED, username, request.getRemoteAddr(),
+                        loginProcessingUrl, "username");
+                reject(response, wait);
+                return;
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    // Case-folded so "Alice" and "alice" cannot be tried in parallel buckets
+    private static String usernameKey(String username) {
+        String key = username.strip().toLowerCase(Locale.ROOT);
+        return key.length() > MAX_USERNAME_KEY_LENGTH ? key.substring(0, MAX_USERNAME_KEY_LENGTH) : key;
+    }
+
+    private static void reject(HttpServletResponse response, long waitNanos) {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+        logger.debug("[EasySecurity] Login attempt throttled. Retry after {}s.", retryAfterSeconds);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader("Retry-After", Long.toString(retryAfterSeconds));
+    }
+
+    // ─── Statistics ───────────────────────────────────────────────────────────
+
+    public long throttledByIpCount()       { return throttledByIp.sum(); }
+    public long throttledByUsernameCount() { return throttledByUsername.sum(); }
+    public int trackedKeyCount()           { return byIp.size() + byUsername.size(); }
+}
@@ -0,0 +1,89 @@
+package com.example.simple_security.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer-backed {@link EasySecurityMetrics}. Every meter is registered up front so
+ * recording is a plain array lookup with no tag or meter allocation.
+ *
+ * <ul>
+ *   <li>{@code easysecurity.jwt.verification} — timer, tag {@code outcome}: {@code valid}, or one
+ *       value per {@link VerifiedToken.Failure}, lower-cased ({@code expired}, {@code bad_signature}, ...)</li>
+ *   <li>{@code easysecurity.user.lookup} — timer around {@code UserDetailsService} calls</li>
+ *   <li>{@code easysecurity.jwt.issued} — counter of tokens issued</li>
+ *   <li>{@code easysecurity.jwt.requests} — counter, tag {@code result} ({@code skipped}, {@code rejected})</li>
+ * </ul>
+ */
+public class MicrometerEasySecurityMetrics implements EasySecurityMetrics {
+
+    private final Timer validVerification;
+    private final Timer[] failedVerification;
+    private final Timer userLookup;
+    private final Counter tokensIssued;
+    private final Counter requestsSkipped;
+    private final Counter requestsRejected;
+
+    public MicrometerEasySecurityMetrics(MeterRegistry registry) {
+        this.validVerification = verificationTimer(registry, "valid");
+
+        VerifiedToken.Failure[] failures = VerifiedToken.Failure.values();
+        this.failedVerification = new Timer[failures.length];
+        for (VerifiedToken.Failure failure : failures) {
+            failedVerification[failure.ordinal()] = verificationTimer(registry, failure.name().toLowerCase(Locale.ROOT));
+        }
+
+        this.userLookup = Timer.builder("easysecurity.user.lookup")
+                .description("Time spent loading users through the UserDetailsService")
+                .register(registry);
+        this.tokensIssued = Counter.builder("easysecurity.jwt.issued")
+                .description("Tokens issued through EasySecurity.createToken")
+                .register(registry);
+        this.requestsSkipped = requestCounter(registry, "skipped");
+        this.requestsRejected = requestCounter(registry, "rejected");
+    }
+
+    private static Timer verificationTimer(MeterRegistry registry, String outcome) {
+        return Timer.builder("easysecurity.jwt.verification")
+                .description("Time spent verifying JWTs")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private static Counter requestCounter(MeterRegistry registry, String result) {
+        return Counter.builder("easysecurity.jwt.requests")
+                .description("Requests the JWT filter skipped (no bearer token) or rejected (invalid token)")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    @Override
+    public void recordVerification(VerifiedToken.Failure failure, long nanos) {
+        Timer timer = failure == null ? validVerification : failedVerification[failure.ordinal()];
+        timer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordUserLookup(long nanos) {
+        userLookup.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void tokenIssued() {
+        tokensIssued.increment();
+    }
+
+    @Override
+    public void requestSkipped() {
+        requestsSkipped.increment();
+    }
+
+    @Override
+    public void requestRejected() {
+        requestsRejected.increment();
+    }
+}
@@ -0,0 +1,209 @@
+package com.example.simple_security.config;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Path-segment trie of URL patterns. Resolves a request path to a value in time proportional
+ * to the path depth instead of testing every pattern in turn.
+ *
+ * <p>Supported segment syntax: literals ({@code users}), single-segment wildcards ({@code *},
+ * {@code {id}}), partial globs ({@code *.js}, {@code file?}), regex variables ({@code {id:\d+}})
+ * and multi-segment wildcards ({@code **}, {@code {*rest}}) — anywhere in the pattern.
+ *
+ * <p>Precedence is deterministic, most specific first: at every segment a literal beats a glob or
+ * regex, which beats {@code *}, which beats {@code **}. Registering the same pattern twice keeps the
+ * first value.
+ *
+ * @param <T> value attached to each pattern
+ */
+final class PathPatternTrie<T> {
+
+    private static final class Node<T> {
+        private Map<String, Node<T>> literals;
+        private List<PatternChild<T>> patterns;
+        private Node<T> wildcard;
+        private Node<T> doubleWildcard;
+        private T value;
+    }
+
+    private record PatternChild<T>(String segment, Pattern regex, Node<T> node) { }
+
+    private final Node<T> root = new Node<>();
+    private int size;
+
+    /**
+     * @return {@code true} if the pattern was added, {@code false} if it was already present
+     */
+    boolean add(String pattern, T value) {
+        Node<T> node = root;
+        for (String segment : split(pattern)) {
+            node = child(node, segment);
+        }
+        if (node.value != null) {
+            return false;
+        }
+        node.value = value;
+        size++;
+        return true;
+    }
+
+    /**
+     * @param path request path within the application, e.g. {@code /api/users/42}
+     * @return the value of the most specific matching pattern, or {@code null} if none matches
+     */
+    T match(String path) {
+        return match(root, split(path), 0);
+    }
+
+    int size() {
+        return size;
+    }
+
+    private T match(Node<T> node, String[] segments, int index) {
+        if (index == segments.length) {
+            if (node.value != null) {
+                return node.value;
+            }
+            // "**" also matches zero trailing segments
+            return node.doubleWildcard != null ? match(node.doubleWildcard, segments, index) : null;
+        }
+
+        String segment = segments[index];
+        T result;
+
+        if (node.literals != null) {
+            Node<T> literal = node.literals.get(segment);
+            if (literal != null && (result = match(literal, segments, index + 1)) != null) {
+                return result;
+            }
+        }
+        if (node.patterns != null) {
+            for (PatternChild<T> child : node.patterns) {
+                if (child.regex().matcher(segment).matches()
+                        && (result = match(child.node(), segments, index + 1)) != null) {
+                    return result;
+                }
+            }
+        }
+        if (node.wildcard != null && (result = match(node.wildcard, segments, index + 1)) != null) {
+            return result;
+        }
+        if (node.doubleWildcard != null) {
+            // Consume as few segments as possible so the rest of the pattern stays specific
+            for (int next = index; next <= segments.length; next++) {
+                if ((result = match(node.doubleWildcard, segments, next)) != null) {
+                    return result;
+                }
+            }
+        }
+        return null;
+    }
+
+    private Node<T> child(Node<T> node, String segment) {
+        if (segment.equals("**") || (segment.startsWith("{*") && segment.endsWith("}"))) {
+            if (node.doubleWildcard == null) {
+                node.doubleWildcard = new Node<>();
+            }
+            return node.doubleWildcard;
+        }
+        if (segment.equals("*") || isPlainVariable(segment)) {
+            if (node.wildcard == null) {
+                node.wildcard = new Node<>();
+            }
+            return node.wildcard;
+        }
+        if (isPatternSegment(segment)) {
+            if (node.patterns == null) {
+                node.patterns = new ArrayList<>(2);
+            }
+            for (PatternChild<T> child : node.patterns) {
+                if (child.segment().equals(segment)) {
+                    return child.node();
+                }
+            }
+            PatternChild<T> child = new PatternChild<>(segment, toRegex(segment), new Node<>());
+            node.patterns.add(child);
+            return child.node();
+        }
+        if (node.literals == null) {
+            node.literals = new HashMap<>(4);
+        }
+        return node.literals.computeIfAbsent(segment, s -> new Node<>());
+    }
+
+    private static boolean isPlainVariable(String segment) {
+        return segment.length() > 2 && segment.charAt(0) == '{' && segment.charAt(segment.length() - 1) == '}'
+                && segment.indexOf(':') < 0 && segment.indexOf('{', 1) < 0;
+    }
+
+    private static boolean isPatternSegment(String segment) {
+        return segment.indexOf('*') >= 0 || segment.indexOf('?') >= 0 || segment.indexOf('{') >= 0;
+    }
+
+    // Glob characters and {name} / {name:regex} variables inside one segment
+    private static Pattern toRegex(String segment) {
+        StringBuilder regex = new StringBuilder();
+        int i = 0;
+        while (i < segment.length()) {
+            char c = segment.charAt(i);
+            if (c == '*') {
+                regex.append("[^/]*");
+            } else if (c == '?') {
+                regex.append("[^/]");
+            } else if (c == '{') {
+                int end = closingBrace(segment, i);
+                String variable = segment.substring(i + 1, end);
+                int colon = variable.indexOf(':');
+                regex.append('(').append(colon >= 0 ? variable.substring(colon + 1) : "[^/]+").append(')');
+                i = end;
+            } else {
+                regex.append(Pattern.quote(String.valueOf(c)));
+            }
+            i++;
+        }
+        return Pattern.compile(regex.toString());
+    }
+
+    private static int closingBrace(String segment, int open) {
+        int depth = 0;
+        for (int i = open; i < segment.length(); i++) {
+            char c = segment.charAt(i);
+            if (c == '{') {
+                depth++;
+            } else if (c == '}' && --depth == 0) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("[EasySecurity] Unbalanced '{' in URL pattern segment: " + segment);
+    }
+
+    // Empty segments (leading, trailing or doubled slashes) are ignored
+    private static String[] split(String path) {
+        int count = 0;
+        int length = path.length();
+        for (int i = 0; i < length; i++) {
+            if (path.charAt(i) != '/' && (i == 0 || path.charAt(i - 1) == '/')) {
+                count++;
+            }
+        }
+        String[] segments = new String[count];
+        int n = 0;
+        int start = -1;
+        for (int i = 0; i <= length; i++) {
+            boolean slash = i == length || path.charAt(i) == '/';
+            if (slash) {
+                if (start >= 0) {
+                    segments[n++] = path.substring(start, i);
+                    start = -1;
+                }
+            } else if (start < 0) {
+                start = i;
+            }
+        }
+        return segments;
+    }
+}
@@ -0,0 +1,277 @@
+package com.example.simple_security.config;
+
+import io.jsonwebtoken.security.Keys;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * HMAC signing keys generated once and kept in a local file, so tokens survive restarts without a
+ * configured secret and every instance that shares the file (same host or volume) signs with the same key.
+ *
+ * <p>The file holds one line per key version — {@code <kid> <activate> <retire|-> <base64url key>},
+ * times in epoch seconds — and must be readable by its owner only. It is read through a memory map;
+ * changes are made under an exclusive lock on {@code <file>.lock} and written to a temporary file that
+ * atomically replaces the original, so a concurrent reader sees either the old or the new version.
+ *
+ * <p>With {@code rotation-days} set, the next key is written ahead of time with a future activation,
+ * so every instance already knows it when signing switches over. The previous key keeps verifying for
+ * {@code grace-minutes} after that and is then dropped from the file.
+ *
+ * <pre>{@code
+ * easysecurity.jwt.key-store.path=/var/lib/myapp/jwt-keys
+ * easysecurity.jwt.key-store.rotation-days=30   # 0 = never rotate
+ * easysecurity.jwt.key-store.grace-minutes=1440 # at least easysecurity.jwt.expiration
+ * }</pre>
+ */
+final class PersistentKeyStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(PersistentKeyStore.class);
+
+    private static final String HEADER = "# EasySecurity JWT key store - generated, do not edit";
+    private static final int KEY_BYTES = 32;            // HS256
+    private static final long MAX_FILE_SIZE = 1 << 20;
+
+    private static final Set<PosixFilePermission> OWNER_ONLY =
+            EnumSet.of(PosixFilePermission.OWNER_READ, PosixFilePermission.OWNER_WRITE);
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    // One key version; retire is Long.MAX_VALUE while the key has no successor
+    private record Entry(String kid, long activate, long retire, byte[] secret) {
+
+        Entry retiringAt(long retire) {
+            return new Entry(kid, activate, retire, secret);
+        }
+    }
+
+    private final Path file;
+    private final Path lockFile;
+    private final long rotationSeconds;
+    private final long graceSeconds;
+
+    /**
+     * @param file     the key file, created on first use
+     * @param rotation how long each key signs, or {@link Duration#ZERO} to keep one key forever
+     * @param grace    how long a replaced key keeps verifying
+     */
+    PersistentKeyStore(Path file, Duration rotation, Duration grace) {
+        if (rotation.isNegative() || grace.isNegative()) {
+            throw new IllegalArgumentException("[EasySecurity] easysecurity.jwt.key-store.rotation-days and grace-minutes must not be negative.");
+        }
+        this.file = file.toAbsolutePath();
+        this.lockFile = this.file.resolveSibling(this.file.getFileName() + ".lock");
+        this.rotationSeconds = rotation.toSeconds();
+        this.graceSeconds = grace.toSeconds();
+    }
+
+    static PersistentKeyStore create(EasySecurityProperties.KeyStore properties) {
+        return new PersistentKeyStore(Path.of(properties.getPath()),
+                Duration.ofDays(properties.getRotationDays()), Duration.ofMinutes(properties.getGraceMinutes()));
+    }
+
+    Path getFile() { return file; }
+
+    /**
+     * @return the key versions in the file, creating the file or rotating keys first if needed
+     */
+    List<JwtKeyRing.KeyVersion> load() {
+        return load(Instant.now().getEpochSecond());
+    }
+
+    List<JwtKeyRing.KeyVersion> load(long nowSeconds) {
+        // Common case: the file exists and is current — no lock, no write
+        List<Entry> entries = Files.exists(file) ? read() : List.of();
+        if (update(entries, nowSeconds) != entries) {
+            entries = updateLocked(nowSeconds);
+        }
+        List<JwtKeyRing.KeyVersion> versions = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            var key = Keys.hmacShaKeyFor(entry.secret());
+            versions.add(new JwtKeyRing.KeyVersion(entry.kid(), key, key, Instant.ofEpochSecond(entry.activate()),
+                    entry.retire() == Long.MAX_VALUE ? null : Instant.ofEpochSecond(entry.retire())));
+        }
+        return versions;
+    }
+
+    // Another instance may have changed the file while we waited for the lock, so re-read under it
+    private List<Entry> updateLocked(long nowSeconds) {
+        synchronized (PersistentKeyStore.class) {  // FileLock is per process; serialise this JVM's own stores
+            try {
+                Files.createDirectories(file.getParent());
+            } catch (IOException e) {
+                throw new UncheckedIOException("[EasySecurity] Cannot create directory for JWT key store " + file, e);
+            }
+            try (FileChannel channel = FileChannel.open(lockFile, Set.of(StandardOpenOption.CREATE, StandardOpenOption.WRITE), ownerOnly())) {
+                channel.lock();  // released when the channel closes
+                List<Entry> current = Files.exists(file) ? read() : List.of();
+                List<Entry> updated = update(current, nowSeconds);
+                if (updated != current) {
+                    write(updated);
+                }
+                return updated;
+            } catch (IOException e) {
+                throw new UncheckedIOException("[EasySecurity] Cannot update JWT key store " + file, e);
+            }
+        }
+    }
+
+    // Returns entries unchanged when nothing needs doing, otherwise a new list
+    private List<Entry> update(List<Entry> entries, long now) {
+        List<Entry> kept = new ArrayList<>(entries.size() + 1);
+        Entry active = null;
+        Entry pending = null;
+        for (Entry entry : entries) {
+            if (entry.retire() <= now) {
+                continue;
+            }
+            kept.add(entry);
+            if (entry.activate() <= now) {
+                active = active == null || entry.activate() >= active.activate() ? entry : active;
+            } else {
+                pending = pending == null || entry.activate() < pending.activate() ? entry : pending;
+            }
+        }
+        boolean changed = kept.size() != entries.size();
+
+        // No usable key, or the rotation came due while every instance was down: start a new key now
+        if (active == null || (rotationSeconds > 0 && pending == null && active.activate() + rotationSeconds <= now)) {
+            Entry next = newEntry(now);
+            if (active != null) {
+                retire(kept, active, now + graceSeconds);
+            }
+            kept.add(next);
+            active = next;
+            changed = true;
+        }
+        // Publish the successor ahead of time so every instance can verify it once it starts signing
+        if (rotationSeconds > 0 && pending == null) {
+            Entry next = newEntry(active.activate() + rotationSeconds);
+            retire(kept, active, next.activate() + graceSeconds);
+            kept.add(next);
+            changed = true;
+        }
+
+        if (!changed) {
+            return entries;
+        }
+        kept.sort(Comparator.comparingLong(Entry::activate));
+        return kept;
+    }
+
+    private static void retire(List<Entry> entries, Entry entry, long retire) {
+        entries.set(entries.indexOf(entry), entry.retiringAt(Math.min(entry.retire(), retire)));
+    }
+
+    private static Entry newEntry(long activate) {
+        byte[] secret = new byte[KEY_BYTES];
+        RANDOM.nextBytes(secret);
+        return new Entry("k" + Long.toString(activate, 36), activate, Long.MAX_VALUE, secret);
+    }
+
+    // ─── File I/O ─────────────────────────────────────────────────────────────
+
+    private List<Entry> read() {
+        checkPermissions();
+        String content;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > MAX_FILE_SIZE) {
+                throw new IllegalStateException("[EasySecurity] JWT key store " + file + " is larger than " + MAX_FILE_SIZE + " bytes.");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            content = StandardCharsets.US_ASCII.decode(buffer).toString();
+        } catch (IOException e) {
+            throw new UncheckedIOException("[EasySecurity] Cannot read JWT key store " + file, e);
+        }
+
+        List<Entry> entries = new ArrayList<>();
+        for (String line : content.split("\n")) {
+            line = line.strip();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] fields = line.split(" ");
+            if (fields.length != 4) {
+                throw new IllegalStateException("[EasySecurity] JWT key store " + file + " is malformed.");
+            }
+            try {
+                entries.add(new Entry(fields[0], Long.parseLong(fields[1]),
+                        "-".equals(fields[2]) ? Long.MAX_VALUE : Long.parseLong(fields[2]),
+                        Base64.getUrlDecoder().decode(fields[3])));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalStateException("[EasySecurity] JWT key store " + file + " is malformed.", e);
+            }
+        }
+        return entries;
+    }
+
+    private void write(List<Entry> entries) throws IOException {
+        StringBuilder content = new StringBuilder(HEADER).append('\n');
+        for (Entry entry : entries) {
+            content.append(entry.kid()).append(' ')
+                    .append(entry.activate()).append(' ')
+                    .append(entry.retire() == Long.MAX_VALUE ? "-" : Long.toString(entry.retire())).append(' ')
+                    .append(Base64.getUrlEncoder().withoutPadding().encodeToString(entry.secret())).append('\n');
+        }
+
+        Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp", ownerOnly());
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                ByteBuffer bytes = StandardCharsets.US_ASCII.encode(content.toString());
+                while (bytes.hasRemaining()) {
+                    channel.write(bytes);
+                }
+                channel.force(true);
+            }
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        logger.info("[EasySecurity] JWT key store {} updated ({} key versions).", file, entries.size());
+    }
+
+    // Like ssh with private keys: refuse a secret others could read or replace
+    private void checkPermissions() {
+        PosixFileAttributeView view = Files.getFileAttributeView(file, PosixFileAttributeView.class);
+        if (view == null) {
+            return;
+        }
+        try {
+            Set<PosixFilePermission> permissions = view.readAttributes().permissions();
+            if (!OWNER_ONLY.containsAll(permissions)) {
+                throw new IllegalStateException("[EasySecurity] JWT key store " + file + " is accessible by other users ("
+                        + PosixFilePermissions.toString(permissions) + "). Run 'chmod 600 " + file + "'.");
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("[EasySecurity] Cannot read permissions of " + file, e);
+        }
+    }
+
+    private FileAttribute<?>[] ownerOnly() {
+        return file.getFileSystem().supportedFileAttributeViews().contains("posix") ? new FileAttribute<?>[] { PosixFilePermissions.asFileAttribute(OWNER_ONLY) } : new FileAttribute<?>[0];
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.simple_security.config;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Token buckets keyed by string, held in a bounded, lock-striped map.
+ * Each bucket is a single {@link AtomicLong} — the time at which it will be full again
+ * (the generic cell rate algorithm) — so taking a token is one compare-and-set outside any lock.
+ * The segment lock is only held to find or create the bucket.
+ *
+ * <p>A bucket that has refilled completely behaves exactly like a missing one, so idle buckets are
+ * dropped whenever a segment adds a key. A full segment then drops its least recently used bucket.
+ */
+final class RateLimitBuckets {
+
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final Segment[] segments;
+    private final int mask;
+
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param capacity        tokens a bucket holds — the allowed burst
+     * @param refillPerMinute tokens added back per minute
+     * @param maxKeys         buckets kept before the least recently used are dropped
+     */
+    RateLimitBuckets(int capacity, int refillPerMinute, int maxKeys) {
+        if (capacity <= 0 || refillPerMinute <= 0 || maxKeys <= 0) {
+            throw new IllegalArgumentException("[EasySecurity] Rate limit capacity, refill rate and max keys must be greater than zero.");
+        }
+        this.intervalNanos = 60_000_000_000L / refillPerMinute;
+        this.toleranceNanos = (capacity - 1) * intervalNanos;
+
+        // Power-of-two stripe count: ~4 per core, but keep at least 16 entries per segment
+        int targetStripes = Runtime.getRuntime().availableProcessors() * 4;
+        int stripes = 1;
+        while (stripes < targetStripes && maxKeys / (stripes << 1) >= 16) {
+            stripes <<= 1;
+        }
+        int perSegment = (maxKeys + stripes - 1) / stripes;
+
+        this.segments = new Segment[stripes];
+        this.mask = stripes - 1;
+        for (int i = 0; i < stripes; i++) {
+            segments[i] = new Segment(perSegment, evictions);
+        }
+    }
+
+    /**
+     * Takes one token from {@code key}'s bucket.
+     *
+     * @param key       bucket key
+     * @param nowNanos  the current {@link System#nanoTime()}
+     * @return {@code 0} if a token was taken, otherwise the nanoseconds until one is available
+     */
+    long tryAcquire(String key, long nowNanos) {
+        AtomicLong fullAt = segmentFor(key).bucket(key, nowNanos);
+        while (true) {
+            long current = fullAt.get();
+            long base = current - nowNanos > 0 ? current : nowNanos;
+            long wait = base - toleranceNanos - nowNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, base + intervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    long evictionCount() { return evictions.sum(); }
+
+    private Segment segmentFor(String key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        return segments[h & mask];
+    }
+
+    // ─── Segment ──────────────────────────────────────────────────────────────
+
+    private static final class Segment extends ReentrantLock {
+
+        private static final long serialVersionUID = 1L;
+
+        // Idle buckets dropped per insert; bounds the time spent under the lock
+        private static final int MAX_IDLE_SWEEP = 8;
+
+        private final int capacity;
+        private final LongAdder evictions;
+        private final LinkedHashMap<String, AtomicLong> map = new LinkedHashMap<>(16, 0.75f, true);
+
+        Segment(int capacity, LongAdder evictions) {
+            this.capacity = capacity;
+            this.evictions = evictions;
+        }
+
+        AtomicLong bucket(String key, long nowNanos) {
+            lock();
+            try {
+                AtomicLong fullAt = map.get(key);
+                if (fullAt == null) {
+                    dropIdle(nowNanos);
+                    fullAt = new AtomicLong(nowNanos);
+                    map.put(key, fullAt);
+                    if (map.size() > capacity) {
+                        Iterator<AtomicLong> eldest = map.values().iterator();
+                        eldest.next();
+                        eldest.remove();
+                        evictions.increment();
+                    }
+                }
+                return fullAt;
+            } finally {
+                unlock();
+            }
+        }
+
+        // Access-ordered map: idle buckets gather at the head
+        private void dropIdle(long nowNanos) {
+            Iterator<Map.Entry<String, AtomicLong>> it = map.entrySet().iterator();
+            for (int i = 0; i < MAX_IDLE_SWEEP && it.hasNext(); i++) {
+                if (it.next().getValue().get() - nowNanos > 0) {
+                    return;
+                }
+                it.remove();
+            }
+        }
+
+        int size() {
+            lock();
+            try {
+                return map.size();
+            } finally {
+                unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.simple_security.config;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.reactive.CorsProcessor;
+import org.springframework.web.cors.reactive.CorsUtils;
+import org.springframework.web.cors.reactive.DefaultCorsProcessor;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux counterpart of {@link CorsPreflightFilter}: answers CORS preflight requests before the rest
+ * of the security web filter chain runs.
+ */
+final class ReactiveCorsPreflightFilter implements WebFilter {
+
+    private final CompiledCorsPolicies policies;
+    private final CorsProcessor processor = new DefaultCorsProcessor();
+
+    ReactiveCorsPreflightFilter(CompiledCorsPolicies policies) {
+        this.policies = policies;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!CorsUtils.isPreFlightRequest(exchange.getRequest())) {
+            return chain.filter(exchange);
+        }
+        CorsConfiguration policy = policies.resolve(exchange.getRequest().getPath().pathWithinApplication().value());
+        if (policy == null) {
+            return chain.filter(exchange);
+        }
+        // The processor writes the Access-Control-* headers, or a 403 if the preflight is not allowed
+        if (processor.process(policy, exchange)) {
+            exchange.getResponse().setStatusCode(HttpStatus.OK);
+        }
+        return exchange.getResponse().setComplete();
+    }
+}
@@ -0,0 +1,357 @@
+package com.example.simple_security.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.RedirectServerAuthenticationSuccessHandler;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatchers;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * WebFlux counterpart of {@link EasySecurity}: the same configuration methods,
+ * turned into a {@code SecurityWebFilterChain} for Netty-based applications.
+ * Requires {@code spring-webflux} on the classpath.
+ *
+ * <pre>{@code
+ * @Configuration
+ * public class GatewaySecurity extends ReactiveEasySecurity {
+ *     // override the same methods as for EasySecurity
+ * }
+ * }</pre>
+ *
+ * <p>JWTs are verified by a {@link ReactiveJWTValidate} filter that never blocks: users are resolved
+ * through a {@link ReactiveUserDetailsService} bean, or from the token's claims when
+ * {@link #statelessAuthentication()} is enabled.
+ */
+@Configuration
+public abstract class ReactiveEasySecurity {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveEasySecurity.class);
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private ObjectProvider<ReactiveUserDetailsService> userDetailsService;
+
+    @Autowired
+    private ObjectProvider<EasySecurityMetrics> metrics;
+
+    @Autowired
+    private ObjectProvider<SecurityAuditLog> auditLog;
+
+    private final List<String> permittedUrls;
+    private final List<String> authenticatedUrls;
+    private final Map<String, String> roleBasedUrls;
+    private final boolean disableCsrfToken;
+    private final boolean enableOAuth;
+    private final boolean enableTokenValidation;
+    private final boolean isCustomLoginPage;
+    private final String customLoginPageUrl;
+    private final String loginProcessingUrl;
+    private final String successForwardUrl;
+    private final UserDetailsCache userDetailsCache;
+    private final boolean statelessAuthentication;
+    private final TokenRevocationStore tokenRevocationStore;
+    private final CompiledUrlRules urlRules;
+
+    private volatile ReactiveUserDetailsLoader userDetailsLoader;
+
+    protected ReactiveEasySecurity() {
+        this.permittedUrls           = safeList(permittedUrls());
+        this.authenticatedUrls       = safeList(authenticatedUrls());
+        this.roleBasedUrls           = safeMap(roleBasedUrls());
+        this.disableCsrfToken        = disableCsrfToken();
+        this.enableOAuth             = enableOAuth();
+        this.enableTokenValidation   = enableTokenValidation();
+        this.isCustomLoginPage       = isCustomLoginPage();
+        this.customLoginPageUrl      = customLoginPageUrl();
+        this.loginProcessingUrl      = loginProcessingUrl();
+        this.successForwardUrl       = successForwardUrl();
+        this.userDetailsCache        = userDetailsCache();
+        this.statelessAuthentication = statelessAuthentication();
+        this.tokenRevocationStore    = tokenRevocationStore();
+        this.urlRules                = new CompiledUrlRules(withLoginUrls(permittedUrls), authenticatedUrls, roleBasedUrls);
+    }
+
+    // The servlet form login permits its own URLs; ServerHttpSecurity does not
+    private List<String> withLoginUrls(List<String> urls) {
+        if (!isCustomLoginPage) {
+            return urls;
+        }
+        List<String> permitted = new ArrayList<>(urls);
+        permitted.add(customLoginPageUrl);
+        permitted.add(loginProcessingUrl);
+        return permitted;
+    }
+
+    // ─── Security Web Filter Chain ────────────────────────────────────────────
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
+
+        // CORS
+        EasyCorsConfiguration easyCors = corsConfiguration();
+        if (easyCors != null) {
+            CompiledCorsPolicies corsPolicies = new CompiledCorsPolicies(easyCors);
+            http.cors(cors -> cors.configurationSource(exchange ->
+                    corsPolicies.resolve(exchange.getRequest().getPath().pathWithinApplication().value())));
+            // Valid preflights are answered before any security-context, JWT or authorization work
+            http.addFilterAt(new ReactiveCorsPreflightFilter(corsPolicies), SecurityWebFiltersOrder.FIRST);
+            logger.info("[EasySecurity] CORS configured. Allowed origins: {} ({} path policies).",
+                    easyCors.getAllowedOrigins(), easyCors.getPathPolicies().size());
+        } else {
+            logger.info("[EasySecurity] CORS not configured. Override corsConfiguration() to enable it.");
+        }
+
+        // Authorization & CSRF — the same precompiled trie as the servlet variant
+        http.authorizeExchange(exchanges ->
+                exchanges.anyExchange().access(new ReactiveUrlRules(urlRules, roleBasedUrls.values())));
+        if (disableCsrfToken) {
+            http.csrf(ServerHttpSecurity.CsrfSpec::disable);
+        }
+
+        // Session Management — WebFlux has no creation policy: either no context is stored, or the WebSession is used
+        if (sessionPolicy() == SessionPolicy.STATELESS) {
+            http.securityContextRepository(NoOpServerSecurityContextRepository.getInstance());
+        }
+        logger.info("[EasySecurity] Session policy set to: {}", sessionPolicy());
+        logger.info("[EasySecurity] {} URL rules compiled (most specific pattern wins).", urlRules.size());
+
+        // Token Revocation
+        if (tokenRevocationStore != null) {
+            jwtUtils.enableRevocation(tokenRevocationStore);
+        }
+
+        // JWT Filter
+        if (enableTokenValidation) {
+            EasySecurityMetrics easyMetrics = metrics.getIfAvailable(() -> EasySecurityMetrics.NOOP);
+            ReactiveUserDetailsService service = userDetailsService.getIfUnique();
+            if (!statelessAuthentication && service == null) {
+                logger.error("[EasySecurity] enableTokenValidation=true but no ReactiveUserDetailsService bean was found. " +
+                        "Provide a ReactiveUserDetailsService bean or override statelessAuthentication() to return true.");
+            } else {
+                if (statelessAuthentication) {
+                    logger.info("[EasySecurity] Stateless JWT authentication enabled — authorities are read from token claims.");
+                } else {
+                    userDetailsLoader = new ReactiveUserDetailsLoader(service, easyMetrics);
+                    if (userDetailsCache != null) {
+                        userDetailsLoader.setCache(userDetailsCache);
+                        logger.info("[EasySecurity] UserDetails cache enabled: {}", userDetailsCache.getClass().getSimpleName());
+                    }
+                }
+                // Permitted URLs never need a principal — bypass token verification for them
+                ReactiveJWTValidate jwtFilter = new ReactiveJWTValidate(jwtUtils, userDetailsLoader, easyMetrics,
+                        statelessAuthentication, urlRules);
+                jwtFilter.setAuditLog(auditLog.getIfAvailable(() -> SecurityAuditLog.DISABLED));
+                http.addFilterAt(jwtFilter, SecurityWebFiltersOrder.AUTHENTICATION);
+            }
+        }
+
+        // OAuth2
+        if (enableOAuth) {
+            try {
+                http.oauth2Login(Customizer.withDefaults());
+            } catch (Exception e) {
+                logger.error("[EasySecurity] OAuth2 setup failed. Check your application.properties: {}", e.getMessage());
+            }
+        }
+
+        // Form Login
+        if (isCustomLoginPage) {
+            try {
+                http.formLogin(form ->
+                        form.loginPage(customLoginPageUrl)
+                                .requiresAuthenticationMatcher(
+                                        ServerWebExchangeMatchers.pathMatchers(HttpMethod.POST, loginProcessingUrl))
+                                .authenticationSuccessHandler(new RedirectServerAuthenticationSuccessHandler(successForwardUrl))
+                );
+            } catch (Exception e) {
+                logger.error("[EasySecurity] Custom login page configuration failed: {}", e.getMessage());
+            }
+        } else {
+            try {
+                http.formLogin(Customizer.withDefaults());
+            } catch (Exception e) {
+                logger.error("[EasySecurity] Default form login configuration failed: {}", e.getMessage());
+            }
+        }
+
+        return http.build();
+    }
+
+    /**
+     * See {@link EasySecurity#sessionPolicy()}. {@link SessionPolicy#STATELESS} stores no security context;
+     * every other policy keeps it in the {@code WebSession}.
+     *
+     * @return the {@link SessionPolicy} to apply
+     */
+    public SessionPolicy sessionPolicy() {
+        return SessionPolicy.STATELESS;
+    }
+
+    /**
+     * See {@link EasySecurity#statelessAuthentication()}. When {@code false}, a
+     * {@link ReactiveUserDetailsService} bean is required.
+     *
+     * @return {@code true} to trust authorities embedded in the token
+     */
+    public boolean statelessAuthentication() {
+        return false;
+    }
+
+    /**
+     * See {@link EasySecurity#tokenRevocationStore()}.
+     *
+     * @return a {@link TokenRevocationStore}, or {@code null} to disable revocation
+     */
+    public TokenRevocationStore tokenRevocationStore() {
+        return null;
+    }
+
+    /**
+     * See {@link EasySecurity#userDetailsCache()}. The cache is read and written on the event loop,
+     * so it must not block — {@link InMemoryUserDetailsCache} does not.
+     *
+     * @return a {@link UserDetailsCache}, or {@code null} to disable caching
+     */
+    public UserDetailsCache userDetailsCache() {
+        return null;
+    }
+
+    // ─── JWT Utilities ────────────────────────────────────────────────────────
+
+    public String createToken(String username) {
+        return jwtUtils.generateToken(username);
+    }
+
+    public String createToken(String username, Collection<? extends GrantedAuthority> authorities) {
+        return jwtUtils.generateToken(username, authorities, null, jwtUtils.getDefaultExpirationMinutes());
+    }
+
+    public String createToken(UserDetails userDetails) {
+        if (userDetails == null) {
+            throw new IllegalArgumentException("[EasySecurity] UserDetails must not be null.");
+        }
+        return createToken(userDetails.getUsername(), userDetails.getAuthorities());
+    }
+
+    public VerifiedToken verifyToken(String token) {
+        if (token == null || token.isBlank()) {
+            throw new IllegalArgumentException("[EasySecurity] Token must not be null or empty.");
+        }
+        return jwtUtils.verify(token);
+    }
+
+    /**
+     * Revokes {@code token} until it expires; later requests carrying it are unauthenticated.
+     * Requires {@link #tokenRevocationStore()}.
+     * <pre>{@code
+     * webSecurity.revokeToken(bearerToken); // on logout
+     * }</pre>
+     *
+     * @param token compact JWS string
+     * @return {@code true} if it was revoked, {@code false} if it was already invalid
+     */
+    public boolean revokeToken(String token) {
+        if (token == null || token.isBlank()) {
+            throw new IllegalArgumentException("[EasySecurity] Token must not be null or empty.");
+        }
+        return jwtUtils.revoke(jwtUtils.verify(token));
+    }
+
+    /**
+     * @return the compiled URL rules, e.g. to check which rule applies to a path
+     */
+    public CompiledUrlRules urlRules() {
+        return urlRules;
+    }
+
+    // ─── User Cache ───────────────────────────────────────────────────────────
+
+    public void evictUser(String username) {
+        if (username == null) {
+            throw new IllegalArgumentException("[EasySecurity] Username must not be null.");
+        }
+        ReactiveUserDetailsLoader loader = userDetailsLoader;
+        if (loader != null) {
+            loader.evict(username);
+        }
+    }
+
+    public void evictAllUsers() {
+        ReactiveUserDetailsLoader loader = userDetailsLoader;
+        if (loader != null) {
+            loader.evictAll();
+        }
+    }
+
+    /**
+     * @return the JWT filter's user loader, or {@code null} before the chain is built or in stateless mode
+     */
+    public ReactiveUserDetailsLoader userDetailsLoader() {
+        return userDetailsLoader;
+    }
+
+    // ─── Abstract Methods (same contract as EasySecurity) ─────────────────────
+
+    /** See {@link EasySecurity#permittedUrls()}. */
+    public abstract List<String> permittedUrls();
+
+    /** See {@link EasySecurity#authenticatedUrls()}. */
+    public abstract List<String> authenticatedUrls();
+
+    /** See {@link EasySecurity#roleBasedUrls()}. */
+    public abstract Map<String, String> roleBasedUrls();
+
+    /** See {@link EasySecurity#disableCsrfToken()}. */
+    public abstract boolean disableCsrfToken();
+
+    /** See {@link EasySecurity#enableTokenValidation()}. Needs a {@link ReactiveUserDetailsService} bean unless stateless. */
+    public abstract boolean enableTokenValidation();
+
+    /** See {@link EasySecurity#enableOAuth()}. */
+    public abstract boolean enableOAuth();
+
+    /** See {@link EasySecurity#isCustomLoginPage()}. */
+    public abstract boolean isCustomLoginPage();
+
+    /** See {@link EasySecurity#customLoginPageUrl()}. */
+    public abstract String customLoginPageUrl();
+
+    /** See {@link EasySecurity#loginProcessingUrl()}. */
+    public abstract String loginProcessingUrl();
+
+    /** See {@link EasySecurity#successForwardUrl()}. */
+    public abstract String successForwardUrl();
+
+    /** See {@link EasySecurity#corsConfiguration()}. */
+    public abstract EasyCorsConfiguration corsConfiguration();
+
+    // ─── Internal Helpers ─────────────────────────────────────────────────────
+
+    private List<String> safeList(List<String> list) {
+        return list != null ? list : Collections.emptyList();
+    }
+
+    private Map<String, String> safeMap(Map<String, String> map) {
+        return map != null ? map : Collections.emptyMap();
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.simple_security.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.Optional;
+
+/**
+ * Non-blocking JWT filter for {@link ReactiveEasySecurity}.
+ * Token verification is pure CPU work and runs inline on the event loop; the user is
+ * resolved through a {@link ReactiveUserDetailsLoader}, or from the token's claims alone
+ * in stateless mode. The resulting {@code Authentication} is written to the Reactor context
+ * of the rest of the chain.
+ *
+ * <p>Created by {@link ReactiveEasySecurity} and added to its {@code SecurityWebFilterChain} only —
+ * it is deliberately not a bean, so WebFlux does not also register it as a global {@code WebFilter}.
+ */
+public class ReactiveJWTValidate implements WebFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveJWTValidate.class);
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtUtils jwtUtils;
+    private final ReactiveUserDetailsLoader userDetailsLoader;  // null when no ReactiveUserDetailsService bean exists
+    private final EasySecurityMetrics metrics;
+    private final boolean statelessAuthentication;
+    private final CompiledUrlRules urlRules;  // null to filter every request
+    private volatile SecurityAuditLog auditLog = SecurityAuditLog.DISABLED;
+
+    public ReactiveJWTValidate(JwtUtils jwtUtils,
+                               ReactiveUserDetailsLoader userDetailsLoader,
+                               EasySecurityMetrics metrics,
+                               boolean statelessAuthentication) {
+        this(jwtUtils, userDetailsLoader, metrics, statelessAuthentication, null);
+    }
+
+    /**
+     * @param urlRules requests resolving to a {@link CompiledUrlRules.Access#PERMIT_ALL} rule bypass
+     *                 token verification, or {@code null} to verify on every request
+     */
+    public ReactiveJWTValidate(JwtUtils jwtUtils,
+                               ReactiveUserDetailsLoader userDetailsLoader,
+                               EasySecurityMetrics metrics,
+                               boolean statelessAuthentication,
+                               CompiledUrlRules urlRules) {
+        this.jwtUtils = jwtUtils;
+        this.userDetailsLoader = userDetailsLoader;
+        this.metrics = metrics;
+        this.statelessAuthentication = statelessAuthentication;
+        this.urlRules = urlRules;
+    }
+
+    /**
+     * Receives rejected tokens and failed user lookups instead of the log.
+     */
+    void setAuditLog(SecurityAuditLog auditLog) {
+        this.auditLog = auditLog;
+    }
+
+    /**
+     * @return the user loader, or {@code null} if the application has no {@code ReactiveUserDetailsService} bean
+     */
+    public ReactiveUserDetailsLoader getUserDetailsLoader() {
+        return userDetailsLoader;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+
+        if (!statelessAuthentication && userDetailsLoader == null) {
+            return chain.filter(exchange);
+        }
+
+        if (urlRules != null && urlRules.resolve(exchange.getRequest().getPath().pathWithinApplication().value())
+                .access() == CompiledUrlRules.Access.PERMIT_ALL) {
+            return chain.filter(exchange);
+        }
+
+        final String authHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+
+        if (authHeader == null || !authHeader.startsWith(BEARER_PREFIX)) {
+            metrics.requestSkipped();
+            return chain.filter(exchange);
+        }
+
+        final VerifiedToken token = jwtUtils.verify(authHeader.substring(BEARER_PREFIX.length()));
+
+        if (!token.isValid()) {
+            metrics.requestRejected();
+            // Sampled and rate limited by the audit log, so a junk-token flood cannot flood the log too
+            auditLog.record(AuditEvent.Type.TOKEN_REJECTED, null, remoteAddress(exchange),
+                    exchange.getRequest().getPath().value(), token.getFailure().name());
+            return chain.filter(exchange);
+        }
+
+        final String username = token.getSubject();
+
+        if (username == null) {
+            return chain.filter(exchange);
+        }
+
+        if (statelessAuthentication) {
+            logger.debug("[EasySecurity] Authenticated user '{}' from JWT claims.", username);
+            return proceed(exchange, chain,
+                    new UsernamePasswordAuthenticationToken(username, null, token.getAuthorities()));
+        }
+
+        return userDetailsLoader.load(username)
+                .filter(userDetails -> token.isValidFor(userDetails.getUsername()))
+                .map(userDetails -> {
+                    logger.debug("[EasySecurity] Authenticated user '{}' via JWT.", username);
+                    return Optional.<Authentication>of(new UsernamePasswordAuthenticationToken(
+                            userDetails, null, userDetails.getAuthorities()));
+                })
+                .onErrorResume(e -> {
+                    auditLog.record(AuditEvent.Type.USER_LOOKUP_FAILED, username, remoteAddress(exchange),
+                            exchange.getRequest().getPath().value(), e.getClass().getSimpleName());
+                    return Mono.empty();
+                })
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(authentication -> proceed(exchange, chain, authentication.orElse(null)));
+    }
+
+    private static String remoteAddress(ServerWebExchange exchange) {
+        InetSocketAddress address = exchange.getRequest().getRemoteAddress();
+        return address != null && address.getAddress() != null ? address.getAddress().getHostAddress() : null;
+    }
+
+    private static Mono<Void> proceed(ServerWebExchange exchange, WebFilterChain chain, Authentication authentication) {
+        Mono<Void> next = chain.filter(exchange);
+        return authentication != null
+                ? next.contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication))
+                : next;
+    }
+}
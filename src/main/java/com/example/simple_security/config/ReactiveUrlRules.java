@@ -0,0 +1,57 @@
+package com.example.simple_security.config;
+
+import org.springframework.security.authorization.AuthenticatedReactiveAuthorizationManager;
+import org.springframework.security.authorization.AuthorityReactiveAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationResult;
+import org.springframework.security.authorization.ReactiveAuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.server.authorization.AuthorizationContext;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@link CompiledUrlRules} as a {@link ReactiveAuthorizationManager}, for {@link ReactiveEasySecurity}.
+ * The trie and its precedence are shared with the servlet variant; only the per-rule
+ * decision is made by the reactive managers.
+ */
+final class ReactiveUrlRules implements ReactiveAuthorizationManager<AuthorizationContext> {
+
+    private static final Mono<AuthorizationResult> GRANTED = Mono.just(new AuthorizationDecision(true));
+
+    private final CompiledUrlRules rules;
+    private final ReactiveAuthorizationManager<AuthorizationContext> authenticated =
+            AuthenticatedReactiveAuthorizationManager.authenticated();
+    private final Map<String, ReactiveAuthorizationManager<AuthorizationContext>> byRole = new HashMap<>();
+
+    ReactiveUrlRules(CompiledUrlRules rules, Collection<String> roles) {
+        this.rules = rules;
+        for (String role : roles) {
+            byRole.computeIfAbsent(role, AuthorityReactiveAuthorizationManager::hasRole);
+        }
+    }
+
+    @Override
+    public Mono<AuthorizationResult> authorize(Mono<Authentication> authentication, AuthorizationContext context) {
+        String path = context.getExchange().getRequest().getPath().pathWithinApplication().value();
+        CompiledUrlRules.Rule rule = rules.resolve(path);
+        return switch (rule.access()) {
+            case PERMIT_ALL    -> GRANTED;
+            case AUTHENTICATED -> authenticated.authorize(authentication, context);
+            case ROLE          -> byRole.get(rule.role()).authorize(authentication, context);
+        };
+    }
+
+    /**
+     * @deprecated use {@link #authorize(Mono, AuthorizationContext)}; kept only because
+     * {@link ReactiveAuthorizationManager} still declares it
+     */
+    @Deprecated
+    @Override
+    public Mono<AuthorizationDecision> check(Mono<Authentication> authentication, AuthorizationContext context) {
+        return authorize(authentication, context).map(CompiledUrlRules::toDecision);
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.simple_security.config;
+
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.UserDetails;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Reactive counterpart of {@link UserDetailsLoader}, used by {@link ReactiveJWTValidate}.
+ * Users are resolved through a {@link ReactiveUserDetailsService} and an optional
+ * {@link UserDetailsCache}; concurrent misses for the same username share one
+ * {@code findByUsername} call. Nothing here blocks the calling thread.
+ */
+public class ReactiveUserDetailsLoader {
+
+    private final ReactiveUserDetailsService userDetailsService;
+    private final EasySecurityMetrics metrics;
+    private final ConcurrentHashMap<String, CompletableFuture<UserDetails>> inFlight = new ConcurrentHashMap<>();
+
+    // Bumped on every eviction so a lookup that started before it is not cached afterwards
+    private final AtomicLong evictionEpoch = new AtomicLong();
+
+    private final LongAdder hits        = new LongAdder();
+    private final LongAdder misses      = new LongAdder();
+    private final LongAdder coalesced   = new LongAdder();
+    private final LongAdder lookups     = new LongAdder();
+    private final LongAdder lookupNanos = new LongAdder();
+
+    private volatile UserDetailsCache cache;
+
+    public ReactiveUserDetailsLoader(ReactiveUserDetailsService userDetailsService) {
+        this(userDetailsService, EasySecurityMetrics.NOOP);
+    }
+
+    public ReactiveUserDetailsLoader(ReactiveUserDetailsService userDetailsService, EasySecurityMetrics metrics) {
+        this.userDetailsService = userDetailsService;
+        this.metrics = metrics;
+    }
+
+    /**
+     * @param username the username to load
+     * @return the user, from the cache or from the {@code ReactiveUserDetailsService};
+     *         empty if the service does not know the user
+     */
+    public Mono<UserDetails> load(String username) {
+        return Mono.defer(() -> {
+            UserDetailsCache cache = this.cache;
+            if (cache != null) {
+                UserDetails cached = cache.get(username);
+                if (cached != null) {
+                    hits.increment();
+                    return Mono.just(cached);
+                }
+            }
+            misses.increment();
+
+            CompletableFuture<UserDetails> mine = new CompletableFuture<>();
+            CompletableFuture<UserDetails> existing = inFlight.putIfAbsent(username, mine);
+            if (existing != null) {
+                coalesced.increment();
+                return Mono.fromFuture(existing, true);
+            }
+            lookup(username, cache, mine);
+            // One subscriber cancelling must not cancel the lookup the others are waiting on
+            return Mono.fromFuture(mine, true);
+        });
+    }
+
+    private void lookup(String username, UserDetailsCache cache, CompletableFuture<UserDetails> result) {
+        long epoch = evictionEpoch.get();
+        long start = System.nanoTime();
+        userDetailsService.findByUsername(username).subscribe(
+                userDetails -> {
+                    record(start);
+                    if (cache != null && epoch == evictionEpoch.get()) {
+                        cache.put(username, userDetails);
+                    }
+                    inFlight.remove(username, result);
+                    result.complete(userDetails);
+                },
+                error -> {
+                    inFlight.remove(username, result);
+                    result.completeExceptionally(error);
+                },
+                () -> {
+                    if (!result.isDone()) {
+                        record(start);
+                        inFlight.remove(username, result);
+                        result.complete(null);
+                    }
+                });
+    }
+
+    private void record(long start) {
+        long elapsed = System.nanoTime() - start;
+        lookupNanos.add(elapsed);
+        lookups.increment();
+        metrics.recordUserLookup(elapsed);
+    }
+
+    /**
+     * Removes a user from the cache so the next request reloads it.
+     *
+     * @param username the username to evict
+     */
+    public void evict(String username) {
+        evictionEpoch.incrementAndGet();
+        UserDetailsCache cache = this.cache;
+        if (cache != null) {
+            cache.evict(username);
+        }
+    }
+
+    /** Removes every user from the cache. */
+    public void evictAll() {
+        evictionEpoch.incrementAndGet();
+        UserDetailsCache cache = this.cache;
+        if (cache != null) {
+            cache.evictAll();
+        }
+    }
+
+    void setCache(UserDetailsCache cache) {
+        this.cache = cache;
+    }
+
+    public UserDetailsCache getCache() {
+        return cache;
+    }
+
+    // ─── Statistics ───────────────────────────────────────────────────────────
+
+    public long hitCount()       { return hits.sum(); }
+    public long missCount()      { return misses.sum(); }
+    public long coalescedCount() { return coalesced.sum(); }
+    public long lookupCount()    { return lookups.sum(); }
+
+    /**
+     * @return fraction of loads served from the cache, between {@code 0.0} and {@code 1.0}
+     */
+    public double hitRatio() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    /**
+     * @return mean {@code findByUsername} latency in milliseconds, or {@code 0.0} before the first lookup
+     */
+    public double averageLookupMillis() {
+        long count = lookups.sum();
+        return count == 0 ? 0.0 : lookupNanos.sum() / 1_000_000.0 / count;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.simple_security.config;
+
+/**
+ * Bounded in-memory store behind {@link TokenFormat#REFERENCE} tokens: each opaque handle maps to the
+ * already-verified token it stands for, so resolving a handle is one hash lookup with no base64 decoding,
+ * JSON parsing or signature check. An entry lives until the token's {@code exp}; a full store drops its
+ * least recently used tokens, which then verify as {@link VerifiedToken.Failure#UNKNOWN}.
+ *
+ * <pre>{@code
+ * easysecurity.jwt.format=reference
+ * easysecurity.jwt.reference.max-size=100000
+ * }</pre>
+ *
+ * Handles are not shared between nodes or kept across restarts — use reference tokens behind sticky
+ * sessions or on a single node, and a signed format everywhere else.
+ */
+public class ReferenceTokenStore {
+
+    private final StripedLruCache<String, VerifiedToken> tokens;
+
+    public ReferenceTokenStore(int maxSize) {
+        this.tokens = new StripedLruCache<>(maxSize);
+    }
+
+    void put(String handle, VerifiedToken token) {
+        tokens.put(handle, token, token.getExpiration().toEpochMilli());
+    }
+
+    /**
+     * @return the token behind {@code handle}, or {@code null} if it is unknown, evicted or expired
+     */
+    VerifiedToken get(String handle, long nowMillis) {
+        return tokens.get(handle, nowMillis);
+    }
+
+    /** Invalidates one handle, e.g. on logout. */
+    public void remove(String handle) {
+        tokens.remove(handle);
+    }
+
+    /** Invalidates every handle. */
+    public void clear() {
+        tokens.clear();
+    }
+
+    // ─── Statistics ───────────────────────────────────────────────────────────
+
+    public long hitCount()      { return tokens.hitCount(); }
+    public long missCount()     { return tokens.missCount(); }
+    public long evictionCount() { return tokens.evictionCount(); }
+    public int size()           { return tokens.size(); }
+}
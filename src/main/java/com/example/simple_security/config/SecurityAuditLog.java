@@ -0,0 +1,287 @@
+package com.example.simple_security.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous security audit stream. Request threads only claim a preallocated slot in a bounded
+ * ring buffer with one compare-and-set and fill in its fields — no formatting, no I/O, no lock.
+ * A single background thread hands the events to the {@link AuditSink}s.
+ *
+ * <p>Before an event is enqueued it passes its category's sampling (keep one in {@code sample-every})
+ * and rate limit (at most {@code max-per-second}, bursting up to one second's worth), so a token flood
+ * costs a counter increment per request rather than a log line. When the buffer is full, new events
+ * are dropped and counted instead of blocking the request.
+ *
+ * <pre>{@code
+ * easysecurity.audit.enabled=true
+ * easysecurity.audit.buffer-size=8192
+ * easysecurity.audit.log=true                     # Slf4jAuditSink, logger "easysecurity.audit"
+ * easysecurity.audit.file=/var/log/myapp/audit.jsonl
+ * easysecurity.audit.categories.token-rejected.sample-every=10
+ * easysecurity.audit.categories.token-rejected.max-per-second=50
+ * }</pre>
+ */
+public class SecurityAuditLog implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(SecurityAuditLog.class);
+
+    /** Records nothing. */
+    public static final SecurityAuditLog DISABLED = new SecurityAuditLog();
+
+    // Consumer sleep while the buffer is empty; bounds event latency, not request latency
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final AuditEvent[] ring;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong();  // next sequence a producer may claim
+    private volatile long consumed;                       // next sequence the consumer will read
+    private final List<AuditSink> sinks;
+    private final Category[] categories;
+    private final Thread consumer;
+    private volatile boolean running;
+
+    private final LongAdder recorded   = new LongAdder();
+    private final LongAdder suppressed = new LongAdder();
+    private final LongAdder dropped    = new LongAdder();
+    private final LongAdder sinkErrors = new LongAdder();
+
+    private SecurityAuditLog() {
+        this.ring = null;
+        this.mask = 0;
+        this.sinks = List.of();
+        this.categories = null;
+        this.consumer = null;
+    }
+
+    /**
+     * @param bufferSize events held before new ones are dropped, rounded up to a power of two
+     * @param policies   sampling and rate limit per category, keyed by type name in kebab case
+     *                   ({@code token-rejected}); missing categories use the {@link EasySecurityProperties.AuditCategory} defaults
+     * @param sinks      where events are written, in order
+     */
+    public SecurityAuditLog(int bufferSize, Map<String, EasySecurityProperties.AuditCategory> policies, List<AuditSink> sinks) {
+        if (bufferSize <= 0 || bufferSize > (1 << 30)) {
+            throw new IllegalArgumentException("[EasySecurity] easysecurity.audit.buffer-size must be between 1 and 2^30.");
+        }
+        int capacity = 1;
+        while (capacity < bufferSize) {
+            capacity <<= 1;
+        }
+        this.ring = new AuditEvent[capacity];
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            ring[i] = new AuditEvent();
+        }
+        this.sinks = List.copyOf(sinks);
+
+        AuditEvent.Type[] types = AuditEvent.Type.values();
+        this.categories = new Category[types.length];
+        for (AuditEvent.Type type : types) {
+            EasySecurityProperties.AuditCategory policy = policies.get(categoryName(type));
+            categories[type.ordinal()] = new Category(type, policy != null ? policy : new EasySecurityProperties.AuditCategory());
+        }
+
+        this.running = true;
+        this.consumer = new Thread(this::drain, "easysecurity-audit");
+        consumer.setDaemon(true);
+        consumer.start();
+    }
+
+    /**
+     * Builds the log from {@code easysecurity.audit.*} plus any application-defined sinks.
+     */
+    static SecurityAuditLog create(EasySecurityProperties.Audit properties, List<AuditSink> extraSinks) {
+        if (!properties.isEnabled()) {
+            return DISABLED;
+        }
+        List<AuditSink> sinks = new ArrayList<>();
+        if (properties.isLog()) {
+            sinks.add(new Slf4jAuditSink());
+        }
+        if (properties.getFile() != null && !properties.getFile().isBlank()) {
+            sinks.add(new FileAuditSink(Path.of(properties.getFile())));
+        }
+        sinks.addAll(extraSinks);
+        if (sinks.isEmpty()) {
+            return DISABLED;
+        }
+        logger.info("[EasySecurity] Security audit log enabled ({} sinks, buffer {}).", sinks.size(), properties.getBufferSize());
+        return new SecurityAuditLog(properties.getBufferSize(), properties.getCategories(), sinks);
+    }
+
+    static String categoryName(AuditEvent.Type type) {
+        return type.name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+
+    // ─── Producer ─────────────────────────────────────────────────────────────
+
+    /**
+     * Enqueues an event unless its category is sampled out or over its rate. Never blocks.
+     *
+     * @param type          category
+     * @param principal     username, if known
+     * @param remoteAddress client address, if known
+     * @param path          request path, if any
+     * @param detail        reason, e.g. the verification failure
+     */
+    public void record(AuditEvent.Type type, String principal, String remoteAddress, String path, String detail) {
+        if (consumer == null) {
+            return;
+        }
+        if (!categories[type.ordinal()].admit(System.nanoTime())) {
+            suppressed.increment();
+            return;
+        }
+        long sequence;
+        do {
+            sequence = claimed.get();
+            // The slot a full lap back must have been consumed before it is reused
+            if (sequence - consumed >= ring.length) {
+                dropped.increment();
+                return;
+            }
+        } while (!claimed.compareAndSet(sequence, sequence + 1));
+
+        AuditEvent slot = ring[(int) sequence & mask];
+        slot.set(type, System.currentTimeMillis(), principal, remoteAddress, path, detail);
+        slot.publish(sequence);
+        recorded.increment();
+    }
+
+    // ─── Consumer ─────────────────────────────────────────────────────────────
+
+    private void drain() {
+        long next = consumed;
+        boolean unflushed = false;
+        while (true) {
+            AuditEvent slot = ring[(int) next & mask];
+            if (slot.sequence() == next) {
+                dispatch(slot);
+                unflushed = true;
+                next++;
+                consumed = next;
+                continue;
+            }
+            if (unflushed) {
+                flushSinks();
+                unflushed = false;
+            }
+            if (!running) {
+                return;
+            }
+            LockSupport.parkNanos(IDLE_PARK_NANOS);
+        }
+    }
+
+    private void dispatch(AuditEvent event) {
+        for (AuditSink sink : sinks) {
+            try {
+                sink.write(event);
+            } catch (RuntimeException e) {
+                sinkError(sink, e);
+            }
+        }
+    }
+
+    private void flushSinks() {
+        for (AuditSink sink : sinks) {
+            try {
+                sink.flush();
+            } catch (RuntimeException e) {
+                sinkError(sink, e);
+            }
+        }
+    }
+
+    // The first failure is logged; later ones are only counted so a broken sink cannot flood the log
+    private void sinkError(AuditSink sink, RuntimeException e) {
+        sinkErrors.increment();
+        if (sinkErrors.sum() == 1) {
+            logger.warn("[EasySecurity] Audit sink {} failed: {}", sink.getClass().getSimpleName(), e.getMessage());
+        }
+    }
+
+    /**
+     * Writes the events already enqueued, then stops the consumer and closes the sinks.
+     */
+    @Override
+    public void close() {
+        if (consumer == null || !running) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(consumer);
+        try {
+            consumer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (AuditSink sink : sinks) {
+            try {
+                sink.close();
+            } catch (RuntimeException e) {
+                sinkError(sink, e);
+            }
+        }
+    }
+
+    // ─── Category ─────────────────────────────────────────────────────────────
+
+    // Sampling plus a one-AtomicLong rate limiter (generic cell rate algorithm, as in RateLimitBuckets)
+    private static final class Category {
+
+        private final int sampleEvery;
+        private final long intervalNanos;   // 0 = unlimited
+        private final long toleranceNanos;
+        private final AtomicLong fullAt = new AtomicLong(System.nanoTime());
+
+        Category(AuditEvent.Type type, EasySecurityProperties.AuditCategory policy) {
+            if (policy.getSampleEvery() <= 0 || policy.getMaxPerSecond() < 0) {
+                throw new IllegalArgumentException("[EasySecurity] easysecurity.audit.categories." + categoryName(type)
+                        + ": sample-every must be greater than zero and max-per-second must not be negative.");
+            }
+            this.sampleEvery = policy.getSampleEvery();
+            this.intervalNanos = policy.getMaxPerSecond() == 0 ? 0 : 1_000_000_000L / policy.getMaxPerSecond();
+            this.toleranceNanos = Math.max(0, policy.getMaxPerSecond() - 1) * intervalNanos;
+        }
+
+        boolean admit(long nowNanos) {
+            if (sampleEvery > 1 && ThreadLocalRandom.current().nextInt(sampleEvery) != 0) {
+                return false;
+            }
+            if (intervalNanos == 0) {
+                return true;
+            }
+            while (true) {
+                long current = fullAt.get();
+                long base = current - nowNanos > 0 ? current : nowNanos;
+                if (base - toleranceNanos - nowNanos > 0) {
+                    return false;
+                }
+                if (fullAt.compareAndSet(current, base + intervalNanos)) {
+                    return true;
+                }
+            }
+        }
+    }
+
+    // ─── Statistics ───────────────────────────────────────────────────────────
+
+    public long recordedCount()   { return recorded.sum(); }
+    public long suppressedCount() { return suppressed.sum(); }
+    public long droppedCount()    { return dropped.sum(); }
+    public long sinkErrorCount()  { return sinkErrors.sum(); }
+    public long pendingCount()    { return claimed.get() - consumed; }
+}
@@ -0,0 +1,25 @@
+package com.example.simple_security.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes audit events to the {@code easysecurity.audit} logger — successes at INFO, everything else
+ * at WARN — so they can be routed to their own appender or silenced independently of EasySecurity's
+ * own logging.
+ */
+public class Slf4jAuditSink implements AuditSink {
+
+    private static final Logger logger = LoggerFactory.getLogger("easysecurity.audit");
+
+    @Override
+    public void write(AuditEvent event) {
+        if (event.getType() == AuditEvent.Type.AUTHENTICATION_SUCCESS) {
+            logger.info("[EasySecurity] {} principal={} remote={}",
+                    event.getType(), event.getPrincipal(), event.getRemoteAddress());
+        } else {
+            logger.warn("[EasySecurity] {} principal={} remote={} path={} detail={}",
+                    event.getType(), event.getPrincipal(), event.getRemoteAddress(), event.getPath(), event.getDetail());
+        }
+    }
+}
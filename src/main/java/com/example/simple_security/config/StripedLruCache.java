@@ -0,0 +1,241 @@
+package com.example.simple_security.config;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded, lock-striped LRU map with a per-entry expiry time.
+ * Keys are spread over independent segments, each guarded by its own lock,
+ * so concurrent lookups on different keys rarely contend.
+ * Expired entries are dropped when they are read; a full segment drops its least recently used entry.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+final class StripedLruCache<K, V> {
+
+    private final Segment<K, V>[] segments;
+    private final int mask;
+
+    private final LongAdder hits      = new LongAdder();
+    private final LongAdder misses    = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    StripedLruCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("[EasySecurity] Cache max size must be greater than zero.");
+        }
+        // Power-of-two stripe count: ~4 per core, but keep at least 16 entries per segment
+        int targetStripes = Runtime.getRuntime().availableProcessors() * 4;
+        int stripes = 1;
+        while (stripes < targetStripes && maxSize / (stripes << 1) >= 16) {
+            stripes <<= 1;
+        }
+        int perSegment = (maxSize + stripes - 1) / stripes;
+
+        this.segments = newSegments(stripes);
+        this.mask = stripes - 1;
+        for (int i = 0; i < stripes; i++) {
+            segments[i] = new Segment<>(perSegment, evictions);
+        }
+    }
+
+    V get(K key, long nowMillis) {
+        V value = segmentFor(key).get(key, nowMillis);
+        if (value != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return value;
+    }
+
+    /**
+     * Like {@link #get}, but also moves the entry's expiry to {@code nowMillis + ttlMillis} (sliding expiry).
+     * The expiry is only rewritten once it has fallen behind by more than 1/64 of the TTL.
+     */
+    V getAndExtend(K key, long nowMillis, long ttlMillis) {
+        V value = segmentFor(key).getAndExtend(key, nowMillis, ttlMillis);
+        if (value != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return value;
+    }
+
+    void put(K key, V value, long expiresAtMillis) {
+        segmentFor(key).put(key, value, expiresAtMillis);
+    }
+
+    void remove(K key) {
+        segmentFor(key).remove(key);
+    }
+
+    void clear() {
+        for (Segment<K, V> segment : segments) {
+            segment.clear();
+        }
+    }
+
+    /**
+     * Visits every entry not yet expired at {@code nowMillis}, one segment at a time.
+     * Does not change the access order.
+     */
+    void forEach(long nowMillis, EntryVisitor<K, V> visitor) {
+        for (Segment<K, V> segment : segments) {
+            segment.forEach(nowMillis, visitor);
+        }
+    }
+
+    int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    long hitCount()      { return hits.sum(); }
+    long missCount()     { return misses.sum(); }
+    long evictionCount() { return evictions.sum(); }
+
+    // Generic arrays cannot be created directly; every element is a Segment<K, V>, so the cast is safe
+    @SuppressWarnings("unchecked")
+    private static <K, V> Segment<K, V>[] newSegments(int length) {
+        return (Segment<K, V>[]) new Segment<?, ?>[length];
+    }
+
+    private Segment<K, V> segmentFor(Object key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        return segments[h & mask];
+    }
+
+    @FunctionalInterface
+    interface EntryVisitor<K, V> {
+        void visit(K key, V value, long expiresAtMillis);
+    }
+
+    // ─── Segment ──────────────────────────────────────────────────────────────
+
+    private record Entry<V>(V value, long expiresAtMillis) { }
+
+    private static final class Segment<K, V> extends ReentrantLock {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int capacity;
+        private final LongAdder evictions;
+        private final LinkedHashMap<K, Entry<V>> map;
+
+        Segment(int capacity, LongAdder evictions) {
+            this.capacity = capacity;
+            this.evictions = evictions;
+            this.map = new LinkedHashMap<>(16, 0.75f, true);
+        }
+
+        V get(K key, long nowMillis) {
+            lock();
+            try {
+                Entry<V> entry = map.get(key);
+                if (entry == null) {
+                    return null;
+                }
+                if (entry.expiresAtMillis() <= nowMillis) {
+                    map.remove(key);
+                    return null;
+                }
+                return entry.value();
+            } finally {
+                unlock();
+            }
+        }
+
+        V getAndExtend(K key, long nowMillis, long ttlMillis) {
+            lock();
+            try {
+                Entry<V> entry = map.get(key);
+                if (entry == null) {
+                    return null;
+                }
+                if (entry.expiresAtMillis() <= nowMillis) {
+                    map.remove(key);
+                    return null;
+                }
+                long expiresAt = nowMillis + ttlMillis;
+                if (expiresAt - entry.expiresAtMillis() > ttlMillis >> 6) {
+                    map.put(key, new Entry<>(entry.value(), expiresAt));
+                }
+                return entry.value();
+            } finally {
+                unlock();
+            }
+        }
+
+        void put(K key, V value, long expiresAtMillis) {
+            lock();
+            try {
+                map.put(key, new Entry<>(value, expiresAtMillis));
+                if (map.size() > capacity) {
+                    evictEldest();
+                }
+            } finally {
+                unlock();
+            }
+        }
+
+        void remove(K key) {
+            lock();
+            try {
+                map.remove(key);
+            } finally {
+                unlock();
+            }
+        }
+
+        void clear() {
+            lock();
+            try {
+                map.clear();
+            } finally {
+                unlock();
+            }
+        }
+
+        void forEach(long nowMillis, EntryVisitor<K, V> visitor) {
+            lock();
+            try {
+                for (Map.Entry<K, Entry<V>> entry : map.entrySet()) {
+                    if (entry.getValue().expiresAtMillis() > nowMillis) {
+                        visitor.visit(entry.getKey(), entry.getValue().value(), entry.getValue().expiresAtMillis());
+                    }
+                }
+            } finally {
+                unlock();
+            }
+        }
+
+        int size() {
+            lock();
+            try {
+                return map.size();
+            } finally {
+                unlock();
+            }
+        }
+
+        // Access-ordered map: the first entry is the least recently used
+        private void evictEldest() {
+            Iterator<Map.Entry<K, Entry<V>>> it = map.entrySet().iterator();
+            while (map.size() > capacity && it.hasNext()) {
+                it.next();
+                it.remove();
+                evictions.increment();
+            }
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.simple_security.config;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * One tenant's security settings, registered with a {@link TenantRegistry}. Unset URL rules and CORS
+ * fall back to the default {@link EasySecurity} configuration; the signing key has no fallback.
+ * <pre>{@code
+ * registry.register(new TenantConfiguration("acme")
+ *         .hosts(List.of("acme.example.com"))
+ *         .secret(acmeSecret)
+ *         .expirationMinutes(60)
+ *         .permittedUrls(List.of("/public/**"))
+ *         .roleBasedUrls(Map.of("/api/admin/**", "ADMIN"))
+ *         .corsConfiguration(new EasyCorsConfiguration().allowedOrigins(List.of("https://app.acme.com"))));
+ * }</pre>
+ */
+public class TenantConfiguration {
+
+    private final String id;
+    private List<String> hosts = List.of();
+    private String pathPrefix;
+    private String issuer;
+    private String secret;
+    private String jwksUri;
+    private long expirationMinutes = 30;
+    private List<String> permittedUrls;
+    private List<String> authenticatedUrls;
+    private Map<String, String> roleBasedUrls;
+    private EasyCorsConfiguration corsConfiguration;
+
+    /**
+     * @param id tenant id, unique within the registry
+     */
+    public TenantConfiguration(String id) {
+        if (id == null || id.isBlank()) {
+            throw new IllegalArgumentException("[EasySecurity] Tenant id must not be null or empty.");
+        }
+        this.id = id;
+    }
+
+    /**
+     * Host names served for this tenant, for {@link TenantResolution#HOST}. Compared case-insensitively,
+     * without the port.
+     *
+     * @param hosts host names, e.g. {@code acme.example.com}
+     * @return this instance for chaining
+     */
+    public TenantConfiguration hosts(List<String> hosts) {
+        this.hosts = hosts.stream().map(host -> host.toLowerCase(Locale.ROOT)).toList();
+        return this;
+    }
+
+    /**
+     * First path segment of this tenant's requests, for {@link TenantResolution#PATH}. The tenant's URL
+     * rules and CORS path policies match the full path, prefix included.
+     *
+     * @param pathPrefix a single segment, e.g. {@code /acme}
+     * @return this instance for chaining
+     */
+    public TenantConfiguration pathPrefix(String pathPrefix) {
+        if (pathPrefix == null || !pathPrefix.startsWith("/") || pathPrefix.length() < 2 || pathPrefix.indexOf('/', 1) >= 0) {
+            throw new IllegalArgumentException("[EasySecurity] Tenant path prefix must be a single segment such as /acme, got: " + pathPrefix);
+        }
+        this.pathPrefix = pathPrefix;
+        return this;
+    }
+
+    /**
+     * {@code iss} claim of this tenant's tokens. Written to the tokens the tenant issues and required on
+     * verification; with {@link TenantResolution#ISSUER} it also selects the tenant.
+     *
+     * @param issuer issuer identifier, e.g. {@code https://acme.example.com}
+     * @return this instance for chaining
+     */
+    public TenantConfiguration issuer(String issuer) {
+        this.issuer = issuer;
+        return this;
+    }
+
+    /**
+     * HMAC secret the tenant signs and verifies its tokens with — at least 32 characters.
+     *
+     * @param secret the tenant's secret
+     * @return this instance for chaining
+     */
+    public TenantConfiguration secret(String secret) {
+        this.secret = secret;
+        return this;
+    }
+
+    /**
+     * Verifies the tenant's tokens with the keys its identity provider publishes instead of a secret,
+     * as with {@code easysecurity.jwt.jwks.uri}. The tenant then cannot issue tokens.
+     *
+     * @param jwksUri {@code http(s):} URL or {@code file:} path of the JWK Set
+     * @return this instance for chaining
+     */
+    public TenantConfiguration jwksUri(String jwksUri) {
+        this.jwksUri = jwksUri;
+        return this;
+    }
+
+    /**
+     * Lifetime of the tokens this tenant issues. Default is {@code 30}.
+     *
+     * @param expirationMinutes lifetime in minutes
+     * @return this instance for chaining
+     */
+    public TenantConfiguration expirationMinutes(long expirationMinutes) {
+        if (expirationMinutes <= 0) {
+            throw new IllegalArgumentException("[EasySecurity] Expiration time must be greater than zero.");
+        }
+        this.expirationMinutes = expirationMinutes;
+        return this;
+    }
+
+    /**
+     * URL rules as in {@link EasySecurity#permittedUrls()}. Setting any of the three lists replaces all
+     * of the default configuration's rules for this tenant.
+     *
+     * @param permittedUrls publicly accessible URL patterns
+     * @return this instance for chaining
+     */
+    public TenantConfiguration permittedUrls(List<String> permittedUrls) {
+        this.permittedUrls = permittedUrls;
+        return this;
+    }
+
+    /**
+     * @param authenticatedUrls URL patterns requiring any authenticated user
+     * @return this instance for chaining
+     * @see EasySecurity#authenticatedUrls()
+     */
+    public TenantConfiguration authenticatedUrls(List<String> authenticatedUrls) {
+        this.authenticatedUrls = authenticatedUrls;
+        return this;
+    }
+
+    /**
+     * @param roleBasedUrls URL pattern to required role, without the {@code ROLE_} prefix
+     * @return this instance for chaining
+     * @see EasySecurity#roleBasedUrls()
+     */
+    public TenantConfiguration roleBasedUrls(Map<String, String> roleBasedUrls) {
+        this.roleBasedUrls = roleBasedUrls;
+        return this;
+    }
+
+    /**
+     * CORS settings for this tenant's requests, in place of {@link EasySecurity#corsConfiguration()}.
+     *
+     * @param corsConfiguration the tenant's CORS policy
+     * @return this instance for chaining
+     */
+    public TenantConfiguration corsConfiguration(EasyCorsConfiguration corsConfiguration) {
+        this.corsConfiguration = corsConfiguration;
+        return this;
+    }
+
+    // ─── Getters (used internally by TenantRegistry) ──────────────────────────
+
+    public String getId()                                 { return id; }
+    public List<String> getHosts()                        { return hosts; }
+    public String getPathPrefix()                         { return pathPrefix; }
+    public String getIssuer()                             { return issuer; }
+    public String getSecret()                             { return secret; }
+    public String getJwksUri()                            { return jwksUri; }
+    public long getExpirationMinutes()                    { return expirationMinutes; }
+    public List<String> getPermittedUrls()                { return permittedUrls; }
+    public List<String> getAuthenticatedUrls()            { return authenticatedUrls; }
+    public Map<String, String> getRoleBasedUrls()         { return roleBasedUrls; }
+    public EasyCorsConfiguration getCorsConfiguration()   { return corsConfiguration; }
+
+    boolean hasUrlRules() {
+        return permittedUrls != null || authenticatedUrls != null || roleBasedUrls != null;
+    }
+}
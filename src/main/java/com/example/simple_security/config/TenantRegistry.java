@@ -0,0 +1,400 @@
+package com.example.simple_security.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.AuthorizationResult;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.web.cors.CorsConfigurationSource;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * The tenants served by one {@link EasySecurity} deployment, each with its own JWT key and expiration,
+ * URL rules and CORS policy, compiled when the tenant is registered. A request is mapped to its tenant
+ * by host name, first path segment or token issuer — one hash lookup, done once per request — and the
+ * JWT filter, authorization and CORS then use that tenant's settings. Requests that match no tenant get
+ * the default configuration.
+ *
+ * <p>Tenants can be registered and removed while the application runs; the filter chain reads the
+ * registry on every request and is never rebuilt. Lookups take no lock.
+ *
+ * <p>Keys, issuer and expiration are each tenant's own. Everything else under {@code easysecurity.jwt} —
+ * pre-check limits, verified-token cache, token format — and the {@link TokenRevocationStore} are the
+ * application's, applied to every tenant once {@link EasySecurity} has built its filter chain. Revocation
+ * uses one list for all tenants. Each tenant gets its own verified-token cache of the configured size,
+ * and its pre-check accepts the algorithms of its own keys.
+ *
+ * <pre>{@code
+ * private final TenantRegistry tenants = new TenantRegistry(TenantResolution.HOST);
+ *
+ * @Override
+ * public TenantRegistry tenantRegistry() {
+ *     return tenants;
+ * }
+ *
+ * // later, e.g. when a customer signs up
+ * tenants.register(new TenantConfiguration("acme").hosts(List.of("acme.example.com")).secret(secret));
+ * String token = tenants.get("acme").createToken(user.getUsername(), user.getAuthorities());
+ * }</pre>
+ */
+public final class TenantRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(TenantRegistry.class);
+
+    private static final String TENANT_ATTRIBUTE = TenantRegistry.class.getName() + ".TENANT";
+    private static final Object NO_TENANT = new Object();
+
+    /** One registered tenant, compiled. */
+    public static final class Tenant {
+
+        private final TenantConfiguration configuration;
+        private final JwtUtils jwtUtils;
+        private final CompiledUrlRules urlRules;         // null: the default rules apply
+        private final CompiledCorsPolicies corsPolicies; // null: the default CORS policy applies
+
+        private Tenant(TenantConfiguration configuration, JwtUtils jwtUtils,
+                       CompiledUrlRules urlRules, CompiledCorsPolicies corsPolicies) {
+            this.configuration = configuration;
+            this.jwtUtils      = jwtUtils;
+            this.urlRules      = urlRules;
+            this.corsPolicies  = corsPolicies;
+        }
+
+        public String getId()                          { return configuration.getId(); }
+        public TenantConfiguration getConfiguration()  { return configuration; }
+        public JwtUtils getJwtUtils()                  { return jwtUtils; }
+        public CompiledUrlRules getUrlRules()          { return urlRules; }
+        public CompiledCorsPolicies getCorsPolicies()  { return corsPolicies; }
+
+        /**
+         * Issues a token signed with this tenant's key, carrying its issuer and expiration.
+         *
+         * @param username    token subject
+         * @param authorities authorities to embed, or {@code null}
+         * @return signed token
+         */
+        public String createToken(String username, Collection<? extends GrantedAuthority> authorities) {
+            return jwtUtils.generateToken(username, authorities, null, jwtUtils.getDefaultExpirationMinutes());
+        }
+
+        public String createToken(String username) {
+            return createToken(username, null);
+        }
+    }
+
+    // Replaced as a whole on every change, so a lookup sees either the old or the new set of tenants
+    private record Index(Map<String, Tenant> byId, Map<String, Tenant> byKey) { }
+
+    private final TenantResolution resolution;
+    private volatile Index index = new Index(Map.of(), Map.of());
+
+    // The application's token settings and revocation list; null until EasySecurity binds them
+    private volatile EasySecurityProperties.Jwt defaults;
+    private volatile TokenRevocationList revocations;
+
+    public TenantRegistry(TenantResolution resolution) {
+        if (resolution == null) {
+            throw new IllegalArgumentException("[EasySecurity] Tenant resolution must not be null.");
+        }
+        this.resolution = resolution;
+    }
+
+    public TenantResolution getResolution() {
+        return resolution;
+    }
+
+    // ─── Registration ─────────────────────────────────────────────────────────
+
+    /**
+     * Compiles {@code configuration} and starts serving it, replacing a tenant with the same id.
+     *
+     * @param configuration the tenant's settings
+     * @return the compiled tenant
+     * @throws IllegalArgumentException if the tenant has no key, no host / path prefix / issuer for this
+     *                                  registry's {@link TenantResolution}, or one another tenant already uses
+     */
+    public Tenant register(TenantConfiguration configuration) {
+        List<String> keys = keysOf(configuration);
+        Tenant tenant = compile(configuration);
+        Tenant replaced;
+        synchronized (this) {
+            Index current = index;
+            for (String key : keys) {
+                Tenant owner = current.byKey().get(key);
+                if (owner != null && !owner.getId().equals(configuration.getId())) {
+                    tenant.jwtUtils.close();
+                    throw new IllegalArgumentException("[EasySecurity] Tenant '" + configuration.getId()
+                            + "' claims '" + key + "', which belongs to tenant '" + owner.getId() + "'.");
+                }
+            }
+            replaced = current.byId().get(configuration.getId());
+            Map<String, Tenant> byId = new HashMap<>(current.byId());
+            Map<String, Tenant> byKey = new HashMap<>(current.byKey());
+            if (replaced != null) {
+                byKey.values().removeIf(owner -> owner == replaced);
+            }
+            byId.put(configuration.getId(), tenant);
+            keys.forEach(key -> byKey.put(key, tenant));
+            index = new Index(Map.copyOf(byId), Map.copyOf(byKey));
+        }
+        if (replaced != null) {
+            replaced.jwtUtils.close();
+        }
+        logger.info("[EasySecurity] Tenant '{}' {} ({}: {}).", configuration.getId(),
+                replaced != null ? "updated" : "registered", resolution.name().toLowerCase(Locale.ROOT), keys);
+        return tenant;
+    }
+
+    /**
+     * Applies the application's token settings and revocation list to every tenant, recompiling the
+     * tenants registered so far. Called by {@link EasySecurity} when it builds the filter chain.
+     *
+     * @param defaults    the application's {@code easysecurity.jwt} settings
+     * @param revocations the application's revocation list, or {@code null} if revocation is disabled
+     */
+    void bind(EasySecurityProperties.Jwt defaults, TokenRevocationList revocations) {
+        List<TenantConfiguration> registered;
+        synchronized (this) {
+            this.defaults = defaults;
+            this.revocations = revocations;
+            registered = index.byId().values().stream().map(Tenant::getConfiguration).toList();
+        }
+        registered.forEach(this::register);
+    }
+
+    /**
+     * Stops serving a tenant. Its requests get the default configuration from then on.
+     *
+     * @param id tenant id
+     * @return {@code true} if the tenant was registered
+     */
+    public boolean remove(String id) {
+        Tenant removed;
+        synchronized (this) {
+            Index current = index;
+            removed = current.byId().get(id);
+            if (removed == null) {
+                return false;
+            }
+            Map<String, Tenant> byId = new HashMap<>(current.byId());
+            Map<String, Tenant> byKey = new HashMap<>(current.byKey());
+            byId.remove(id);
+            byKey.values().removeIf(owner -> owner == removed);
+            index = new Index(Map.copyOf(byId), Map.copyOf(byKey));
+        }
+        removed.jwtUtils.close();
+        logger.info("[EasySecurity] Tenant '{}' removed.", id);
+        return true;
+    }
+
+    /**
+     * @return the tenant registered under {@code id}, or {@code null}
+     */
+    public Tenant get(String id) {
+        return index.byId().get(id);
+    }
+
+    public Set<String> ids() {
+        return Collections.unmodifiableSet(index.byId().keySet());
+    }
+
+    public int size() {
+        return index.byId().size();
+    }
+
+    private List<String> keysOf(TenantConfiguration configuration) {
+        List<String> keys = switch (resolution) {
+            case HOST   -> configuration.getHosts();
+            case PATH   -> configuration.getPathPrefix() != null ? List.of(configuration.getPathPrefix()) : List.of();
+            case ISSUER -> configuration.getIssuer() != null ? List.of(configuration.getIssuer()) : List.of();
+        };
+        if (keys.isEmpty()) {
+            String setting = switch (resolution) {
+                case HOST   -> "hosts";
+                case PATH   -> "a path prefix";
+                case ISSUER -> "an issuer";
+            };
+            throw new IllegalArgumentException("[EasySecurity] Tenant '" + configuration.getId() + "' needs "
+                    + setting + " to be resolved by " + resolution.name().toLowerCase(Locale.ROOT) + ".");
+        }
+        return keys;
+    }
+
+    private Tenant compile(TenantConfiguration configuration) {
+        boolean hasSecret = configuration.getSecret() != null && !configuration.getSecret().isBlank();
+        boolean hasJwks = configuration.getJwksUri() != null && !configuration.getJwksUri().isBlank();
+        if (hasSecret == hasJwks) {
+            throw new IllegalArgumentException("[EasySecurity] Tenant '" + configuration.getId()
+                    + "' needs either a secret or a JWKS URI.");
+        }
+        EasySecurityProperties properties = new EasySecurityProperties();
+        EasySecurityProperties.Jwt jwt = properties.getJwt();
+        EasySecurityProperties.Jwt defaults = this.defaults;
+        if (defaults != null) {
+            inherit(defaults, jwt);
+        }
+        jwt.setExpiration(configuration.getExpirationMinutes());
+        if (hasJwks) {
+            jwt.getJwks().setUri(configuration.getJwksUri());
+            jwt.getJwks().setIssuer(configuration.getIssuer() != null ? configuration.getIssuer() : "");
+        } else {
+            jwt.setSecret(configuration.getSecret());
+            jwt.setIssuer(configuration.getIssuer() != null ? configuration.getIssuer() : "");
+        }
+
+        CompiledUrlRules urlRules = null;
+        CompiledCorsPolicies corsPolicies = null;
+        if (resolution == TenantResolution.ISSUER) {
+            if (configuration.hasUrlRules() || configuration.getCorsConfiguration() != null) {
+                logger.warn("[EasySecurity] Tenant '{}': URL rules and CORS are ignored when tenants are resolved by issuer.",
+                        configuration.getId());
+            }
+        } else {
+            if (configuration.hasUrlRules()) {
+                urlRules = new CompiledUrlRules(orEmpty(configuration.getPermittedUrls()),
+                        orEmpty(configuration.getAuthenticatedUrls()),
+                        configuration.getRoleBasedUrls() != null ? configuration.getRoleBasedUrls() : Map.of());
+            }
+            if (configuration.getCorsConfiguration() != null) {
+                corsPolicies = new CompiledCorsPolicies(configuration.getCorsConfiguration());
+            }
+        }
+        // Last, so an invalid rule or CORS policy cannot leave a JWKS refresh thread behind
+        JwtUtils jwtUtils = new JwtUtils(properties);
+        TokenRevocationList revocations = this.revocations;
+        if (revocations != null) {
+            jwtUtils.useRevocations(revocations);
+        }
+        return new Tenant(configuration, jwtUtils, urlRules, corsPolicies);
+    }
+
+    // The pre-check's algorithms are left empty, so they follow the tenant's own key type
+    private static void inherit(EasySecurityProperties.Jwt from, EasySecurityProperties.Jwt to) {
+        to.getPrecheck().setEnabled(from.getPrecheck().isEnabled());
+        to.getPrecheck().setMaxLength(from.getPrecheck().getMaxLength());
+        to.setCache(from.getCache());
+        to.setFormat(from.getFormat());
+        to.setCompact(from.getCompact());
+        to.setReference(from.getReference());
+    }
+
+    private static List<String> orEmpty(List<String> list) {
+        return list != null ? list : List.of();
+    }
+
+    // ─── Resolution ───────────────────────────────────────────────────────────
+
+    /**
+     * @return the tenant {@code request} belongs to, or {@code null} if it matches none
+     */
+    public Tenant resolve(HttpServletRequest request) {
+        Object cached = request.getAttribute(TENANT_ATTRIBUTE);
+        if (cached != null) {
+            return cached == NO_TENANT ? null : (Tenant) cached;
+        }
+        String key = switch (resolution) {
+            case HOST   -> request.getServerName() != null ? request.getServerName().toLowerCase(Locale.ROOT) : null;
+            case PATH   -> firstSegment(UrlPathHelper.defaultInstance.getPathWithinApplication(request));
+            case ISSUER -> unverifiedIssuer(request.getHeader("Authorization"));
+        };
+        Tenant tenant = key != null ? index.byKey().get(key) : null;
+        request.setAttribute(TENANT_ATTRIBUTE, tenant != null ? tenant : NO_TENANT);
+        return tenant;
+    }
+
+    private static String firstSegment(String path) {
+        if (path == null || path.length() < 2 || path.charAt(0) != '/') {
+            return null;
+        }
+        int end = path.indexOf('/', 1);
+        return end < 0 ? path : path.substring(0, end);
+    }
+
+    private static String unverifiedIssuer(String authorization) {
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            return null;
+        }
+        return unverifiedTokenIssuer(authorization.substring(7));
+    }
+
+    // Only picks the key to verify with; the tenant's parser then requires the same iss
+    private static String unverifiedTokenIssuer(String token) {
+        int first = token.indexOf('.');
+        int second = first < 0 ? -1 : token.indexOf('.', first + 1);
+        if (second < 0) {
+            return null;
+        }
+        return TokenPrecheck.readStringMember(token.substring(first + 1, second), "iss");
+    }
+
+    JwtUtils jwtUtils(HttpServletRequest request, JwtUtils fallback) {
+        Tenant tenant = resolve(request);
+        return tenant != null ? tenant.jwtUtils : fallback;
+    }
+
+    /**
+     * @param request the request {@code token} arrived with, or {@code null} outside a request; only
+     *                needed when tenants are resolved by host or path
+     * @return the keys {@code token} must be verified with: its tenant's, or {@code fallback}
+     */
+    JwtUtils jwtUtils(String token, HttpServletRequest request, JwtUtils fallback) {
+        Tenant tenant;
+        if (resolution == TenantResolution.ISSUER) {
+            String issuer = unverifiedTokenIssuer(token);
+            tenant = issuer != null ? index.byKey().get(issuer) : null;
+        } else {
+            tenant = request != null ? resolve(request) : null;
+        }
+        return tenant != null ? tenant.jwtUtils : fallback;
+    }
+
+    CompiledUrlRules urlRules(HttpServletRequest request, CompiledUrlRules fallback) {
+        Tenant tenant = resolve(request);
+        return tenant != null && tenant.urlRules != null ? tenant.urlRules : fallback;
+    }
+
+    /**
+     * @return authorization by the requesting tenant's URL rules, or by {@code fallback}
+     */
+    AuthorizationManager<RequestAuthorizationContext> authorizationManager(CompiledUrlRules fallback) {
+        return new AuthorizationManager<>() {
+            @Override
+            public AuthorizationResult authorize(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+                return urlRules(context.getRequest(), fallback).authorize(authentication, context);
+            }
+
+            @Deprecated
+            @Override
+            public AuthorizationDecision check(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+                return CompiledUrlRules.toDecision(authorize(authentication, context));
+            }
+        };
+    }
+
+    /**
+     * @param fallback the default CORS policies, or {@code null} for no CORS outside tenants that set their own
+     * @return the requesting tenant's CORS policy, or {@code fallback}'s
+     */
+    CorsConfigurationSource corsConfigurationSource(CorsConfigurationSource fallback) {
+        return request -> {
+            Tenant tenant = resolve(request);
+            if (tenant != null && tenant.corsPolicies != null) {
+                return tenant.corsPolicies.getCorsConfiguration(request);
+            }
+            return fallback != null ? fallback.getCorsConfiguration(request) : null;
+        };
+    }
+}
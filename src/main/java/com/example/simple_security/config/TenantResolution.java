@@ -0,0 +1,20 @@
+package com.example.simple_security.config;
+
+/**
+ * How a {@link TenantRegistry} tells which tenant a request belongs to.
+ */
+public enum TenantResolution {
+
+    /** The request's host name, e.g. {@code acme.example.com}. */
+    HOST,
+
+    /** The first path segment, e.g. {@code /acme} in {@code /acme/api/orders}. */
+    PATH,
+
+    /**
+     * The {@code iss} claim of the bearer token. Selects the tenant's keys only: the URL rules and
+     * CORS policy come from the default {@link EasySecurity} configuration, because the claim is read
+     * before the signature is checked and must not be able to pick laxer rules.
+     */
+    ISSUER
+}
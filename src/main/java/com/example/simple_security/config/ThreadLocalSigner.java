@@ -0,0 +1,144 @@
+package com.example.simple_security.config;
+
+import io.jsonwebtoken.security.SecureDigestAlgorithm;
+import io.jsonwebtoken.security.SecureRequest;
+import io.jsonwebtoken.security.SecurityException;
+import io.jsonwebtoken.security.VerifySecureDigestRequest;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.interfaces.EdECKey;
+import java.security.interfaces.RSAKey;
+
+/**
+ * JWS algorithm for one signing key that keeps an initialised {@link Mac} or {@link Signature} per thread.
+ * jjwt's built-in algorithms look up and initialise a fresh JCA instance for every token; reusing one
+ * per thread leaves just the hashing and signing itself.
+ *
+ * <p>Covers HMAC ({@code HS256/384/512}), RSA ({@code RS256/384/512}) and EdDSA keys, choosing the same
+ * algorithm jjwt would. {@link #forKey} returns {@code null} for other keys, such as EC or RSA-PSS,
+ * which keep jjwt's default signing.
+ */
+final class ThreadLocalSigner implements SecureDigestAlgorithm<Key, Key> {
+
+    private final String id;
+    private final String jcaName;
+    private final Key signingKey;
+    private final ThreadLocal<Mac> macs;
+    private final ThreadLocal<Signature> signatures;
+
+    private ThreadLocalSigner(String id, String jcaName, Key signingKey) {
+        this.id = id;
+        this.jcaName = jcaName;
+        this.signingKey = signingKey;
+        if (signingKey instanceof SecretKey) {
+            this.macs = ThreadLocal.withInitial(this::newMac);
+            this.signatures = null;
+        } else {
+            this.macs = null;
+            this.signatures = ThreadLocal.withInitial(this::newSignature);
+        }
+    }
+
+    /**
+     * @return a signer for {@code signingKey}, or {@code null} if its key type is not supported
+     */
+    static ThreadLocalSigner forKey(Key signingKey) {
+        if (signingKey instanceof SecretKey) {
+            return switch (signingKey.getAlgorithm()) {
+                case "HmacSHA256" -> new ThreadLocalSigner("HS256", "HmacSHA256", signingKey);
+                case "HmacSHA384" -> new ThreadLocalSigner("HS384", "HmacSHA384", signingKey);
+                case "HmacSHA512" -> new ThreadLocalSigner("HS512", "HmacSHA512", signingKey);
+                default -> null;
+            };
+        }
+        if (signingKey instanceof PrivateKey && signingKey instanceof RSAKey rsa
+                && "RSA".equals(signingKey.getAlgorithm())) {
+            int bits = rsa.getModulus().bitLength();
+            return bits >= 4096 ? new ThreadLocalSigner("RS512", "SHA512withRSA", signingKey)
+                 : bits >= 3072 ? new ThreadLocalSigner("RS384", "SHA384withRSA", signingKey)
+                 : new ThreadLocalSigner("RS256", "SHA256withRSA", signingKey);
+        }
+        if (signingKey instanceof PrivateKey && signingKey instanceof EdECKey) {
+            return new ThreadLocalSigner("EdDSA", "EdDSA", signingKey);
+        }
+        return null;
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public byte[] digest(SecureRequest<InputStream, Key> request) throws SecurityException {
+        if (request.getKey() != signingKey) {
+            throw new SecurityException("[EasySecurity] Signer for " + id + " used with a different key.");
+        }
+        byte[] input = readAll(request.getPayload());
+        try {
+            if (macs != null) {
+                return macs.get().doFinal(input);  // doFinal resets the Mac for the next token
+            }
+            Signature signature = signatures.get();
+            signature.update(input);
+            return signature.sign();               // sign() resets the Signature for the next token
+        } catch (GeneralSecurityException e) {
+            throw new SecurityException("[EasySecurity] Failed to sign token with " + id, e);
+        }
+    }
+
+    @Override
+    public boolean verify(VerifySecureDigestRequest<Key> request) throws SecurityException {
+        byte[] input = readAll(request.getPayload());
+        try {
+            if (macs != null) {
+                Mac mac = Mac.getInstance(jcaName);
+                mac.init(request.getKey());
+                return MessageDigest.isEqual(mac.doFinal(input), request.getDigest());
+            }
+            Signature verifier = Signature.getInstance(jcaName);
+            verifier.initVerify((PublicKey) request.getKey());
+            verifier.update(input);
+            return verifier.verify(request.getDigest());
+        } catch (GeneralSecurityException | ClassCastException e) {
+            throw new SecurityException("[EasySecurity] Failed to verify token with " + id, e);
+        }
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(jcaName);
+            mac.init(signingKey);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new SecurityException("[EasySecurity] Cannot initialise " + jcaName, e);
+        }
+    }
+
+    private Signature newSignature() {
+        try {
+            Signature signature = Signature.getInstance(jcaName);
+            signature.initSign((PrivateKey) signingKey);
+            return signature;
+        } catch (GeneralSecurityException e) {
+            throw new SecurityException("[EasySecurity] Cannot initialise " + jcaName, e);
+        }
+    }
+
+    private static byte[] readAll(InputStream payload) {
+        try {
+            return payload.readAllBytes();
+        } catch (IOException e) {
+            throw new SecurityException("[EasySecurity] Cannot read JWS signing input", e);
+        }
+    }
+}
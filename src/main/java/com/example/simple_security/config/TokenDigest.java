@@ -0,0 +1,58 @@
+package com.example.simple_security.config;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * SHA-256 digest of a raw token, used as a cache key so the token itself is never retained.
+ * The 32 digest bytes are held as four longs for cheap {@code equals}/{@code hashCode}.
+ */
+final class TokenDigest {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("[EasySecurity] SHA-256 is not available on this JVM", e);
+        }
+    });
+
+    private final long d0;
+    private final long d1;
+    private final long d2;
+    private final long d3;
+
+    private TokenDigest(byte[] digest) {
+        this.d0 = readLong(digest, 0);
+        this.d1 = readLong(digest, 8);
+        this.d2 = readLong(digest, 16);
+        this.d3 = readLong(digest, 24);
+    }
+
+    static TokenDigest of(String token) {
+        MessageDigest sha256 = SHA_256.get();
+        return new TokenDigest(sha256.digest(token.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    private static long readLong(byte[] b, int offset) {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (b[offset + i] & 0xFFL);
+        }
+        return value;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TokenDigest other)) return false;
+        return d0 == other.d0 && d1 == other.d1 && d2 == other.d2 && d3 == other.d3;
+    }
+
+    @Override
+    public int hashCode() {
+        // Digest bits are already uniformly distributed
+        return (int) (d0 ^ (d0 >>> 32));
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.simple_security.config;
+
+/**
+ * Shape of the tokens {@link JwtUtils} issues. Standard and compact tokens verify on every node
+ * whatever its format, so switching between the two does not invalidate tokens already issued.
+ *
+ * <pre>{@code
+ * easysecurity.jwt.format=compact
+ * }</pre>
+ */
+public enum TokenFormat {
+
+    /** A regular JWS: {@code kid} header, {@code authorities} array, 128-bit {@code jti}. */
+    STANDARD,
+
+    /**
+     * A smaller JWS: no {@code kid} while the ring holds a single key, authorities as one
+     * space-separated {@code au} string, a 96-bit {@code jti}, and a DEFLATE-compressed payload
+     * once the claims exceed {@code easysecurity.jwt.compact.compress-above} characters.
+     */
+    COMPACT,
+
+    /**
+     * An opaque 32-character random handle resolved through this node's {@link ReferenceTokenStore}.
+     * Verification is a hash lookup, but the token is only valid on the node that issued it.
+     */
+    REFERENCE
+}
@@ -0,0 +1,303 @@
+package com.example.simple_security.config;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Batch token introspection for gateways and services that cannot verify EasySecurity tokens
+ * themselves. One {@code POST} carries many tokens; they are verified in parallel through
+ * {@link JwtUtils#verifyAll(List)} and answered in request order, in the shape of RFC 7662 responses:
+ *
+ * <pre>{@code
+ * POST /easysecurity/introspect
+ * {"tokens": ["eyJhbGciOi...", "eyJhbGciOi..."]}
+ *
+ * {"results": [
+ *   {"active": true, "sub": "alice", "exp": 1767225600, "iat": 1767223800, "jti": "...", "authorities": ["ROLE_USER"]},
+ *   {"active": false, "failure": "EXPIRED"}
+ * ]}
+ * }</pre>
+ *
+ * The caller must hold the configured role — its own rule, independent of the application's URL rules.
+ * The rendered result of each active token is cached by the token's SHA-256 digest until the token
+ * expires or the cache TTL passes, whichever comes first; a cached token revoked in the meantime is
+ * reported inactive.
+ *
+ * <pre>{@code
+ * easysecurity.introspection.enabled=true
+ * easysecurity.introspection.path=/easysecurity/introspect
+ * easysecurity.introspection.role=INTROSPECTION
+ * easysecurity.introspection.max-batch=1000
+ * easysecurity.introspection.cache-size=10000
+ * easysecurity.introspection.cache-ttl-seconds=60
+ * }</pre>
+ */
+public class TokenIntrospectionFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenIntrospectionFilter.class);
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    // Bytes of JSON framing allowed per token on top of the token itself
+    private static final int BYTES_PER_TOKEN_OVERHEAD = 8;
+
+    // The JwtUtils that verified a cached token: a token is only active for the tenant whose key signed it
+    private record CachedResult(JwtUtils verifier, VerifiedToken token, String json) { }
+
+    private final String path;
+    private final String authority;
+    private final int maxBatch;
+    private final int maxBodyBytes;
+    private final long cacheTtlMillis;
+    private final JwtUtils jwtUtils;
+    private final StripedLruCache<TokenDigest, CachedResult> cache;
+    private volatile TenantRegistry tenants;
+
+    private final LongAdder requests  = new LongAdder();
+    private final LongAdder tokens    = new LongAdder();
+    private final LongAdder forbidden = new LongAdder();
+
+    TokenIntrospectionFilter(EasySecurityProperties.Introspection properties, int maxTokenLength, JwtUtils jwtUtils) {
+        if (properties.getRole() == null || properties.getRole().isBlank()) {
+            throw new IllegalArgumentException("[EasySecurity] easysecurity.introspection.role must not be empty.");
+        }
+        if (properties.getMaxBatch() <= 0 || properties.getCacheSize() <= 0 || properties.getCacheTtlSeconds() <= 0) {
+            throw new IllegalArgumentException("[EasySecurity] easysecurity.introspection.max-batch, cache-size and "
+                    + "cache-ttl-seconds must be greater than zero.");
+        }
+        this.path = properties.getPath();
+        this.authority = "ROLE_" + properties.getRole();
+        this.maxBatch = properties.getMaxBatch();
+        this.maxBodyBytes = (int) Math.min(Integer.MAX_VALUE - 8,
+                (long) maxBatch * (maxTokenLength + BYTES_PER_TOKEN_OVERHEAD) + 1024);
+        this.cacheTtlMillis = properties.getCacheTtlSeconds() * 1000;
+        this.jwtUtils = jwtUtils;
+        this.cache = new StripedLruCache<>(properties.getCacheSize());
+    }
+
+    /**
+     * Introspects each request's tokens with its tenant's keys.
+     */
+    void setTenants(TenantRegistry tenants) {
+        this.tenants = tenants;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod())
+                || !path.equals(UrlPathHelper.defaultInstance.getPathWithinApplication(request));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        requests.increment();
+        // Also enforced by the URL rule; checked here too, since a tenant's own rules could permit the path
+        if (!hasAuthority(SecurityContextHolder.getContext().getAuthentication())) {
+            forbidden.increment();
+            response.setStatus(HttpServletResponse.SC_FORBIDDEN);
+            return;
+        }
+
+        List<String> batch;
+        try {
+            batch = readTokens(request.getInputStream());
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            error(response, e instanceof JsonProcessingException ? "Request body must be {\"tokens\": [...]}" : e.getMessage());
+            return;
+        }
+        tokens.add(batch.size());
+
+        TenantRegistry tenants = this.tenants;
+        JwtUtils verifier = tenants != null ? tenants.jwtUtils(request, jwtUtils) : jwtUtils;
+        String[] results = introspect(batch, verifier);
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setHeader("Cache-Control", "no-store");
+        try (JsonGenerator out = JSON.createGenerator((OutputStream) response.getOutputStream())) {
+            out.writeStartObject();
+            out.writeArrayFieldStart("results");
+            for (String result : results) {
+                out.writeRawValue(result);
+            }
+            out.writeEndArray();
+            out.writeEndObject();
+        }
+    }
+
+    private boolean hasAuthority(Authentication authentication) {
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return false;
+        }
+        for (GrantedAuthority granted : authentication.getAuthorities()) {
+            if (authority.equals(granted.getAuthority())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Cached results first; the rest are verified as one parallel batch
+    String[] introspect(List<String> batch, JwtUtils verifier) throws IOException {
+        long now = System.currentTimeMillis();
+        String[] results = new String[batch.size()];
+        TokenDigest[] digests = new TokenDigest[batch.size()];
+        List<String> misses = new ArrayList<>();
+        List<Integer> missIndexes = new ArrayList<>();
+
+        for (int i = 0; i < results.length; i++) {
+            digests[i] = TokenDigest.of(batch.get(i));
+            CachedResult cached = cache.get(digests[i], now);
+            if (cached != null && cached.verifier() == verifier) {
+                if (verifier.isRevoked(cached.token())) {
+                    cache.remove(digests[i]);
+                    results[i] = render(VerifiedToken.failed(VerifiedToken.Failure.REVOKED));
+                } else {
+                    results[i] = cached.json();
+                }
+            } else {
+                misses.add(batch.get(i));
+                missIndexes.add(i);
+            }
+        }
+
+        List<VerifiedToken> verified = verifier.verifyAll(misses);
+        for (int m = 0; m < verified.size(); m++) {
+            int i = missIndexes.get(m);
+            VerifiedToken token = verified.get(m);
+            results[i] = render(token);
+            if (token.isValid()) {
+                long expiresAt = now + cacheTtlMillis;
+                if (token.getExpiration() != null) {
+                    expiresAt = Math.min(expiresAt, token.getExpiration().toEpochMilli());
+                }
+                if (expiresAt > now) {
+                    cache.put(digests[i], new CachedResult(verifier, token, results[i]), expiresAt);
+                }
+            }
+        }
+        return results;
+    }
+
+    // ─── JSON ─────────────────────────────────────────────────────────────────
+
+    // Streams {"tokens": [...]} without binding, refusing bodies and batches over the limits
+    private List<String> readTokens(InputStream body) throws IOException {
+        byte[] bytes = body.readNBytes(maxBodyBytes + 1);
+        if (bytes.length > maxBodyBytes) {
+            throw new IllegalArgumentException("Request body is too large");
+        }
+        List<String> batch = new ArrayList<>();
+        try (JsonParser parser = JSON.createParser(bytes)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("Request body must be {\"tokens\": [...]}");
+            }
+            boolean found = false;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (!"tokens".equals(field)) {
+                    parser.skipChildren();
+                    continue;
+                }
+                if (value != JsonToken.START_ARRAY) {
+                    throw new IllegalArgumentException("\"tokens\" must be an array of strings");
+                }
+                found = true;
+                while ((value = parser.nextToken()) != JsonToken.END_ARRAY) {
+                    if (value != JsonToken.VALUE_STRING) {
+                        throw new IllegalArgumentException("\"tokens\" must be an array of strings");
+                    }
+                    if (batch.size() == maxBatch) {
+                        throw new IllegalArgumentException("At most " + maxBatch + " tokens per request");
+                    }
+                    batch.add(parser.getText());
+                }
+            }
+            if (!found) {
+                throw new IllegalArgumentException("Request body must be {\"tokens\": [...]}");
+            }
+        }
+        return batch;
+    }
+
+    private static String render(VerifiedToken token) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(128);
+        try (JsonGenerator out = JSON.createGenerator(buffer)) {
+            out.writeStartObject();
+            out.writeBooleanField("active", token.isValid());
+            if (!token.isValid()) {
+                out.writeStringField("failure", token.getFailure().name());
+            } else {
+                if (token.getSubject() != null) {
+                    out.writeStringField("sub", token.getSubject());
+                }
+                if (token.getExpiration() != null) {
+                    out.writeNumberField("exp", token.getExpiration().getEpochSecond());
+                }
+                if (token.getIssuedAt() != null) {
+                    out.writeNumberField("iat", token.getIssuedAt().getEpochSecond());
+                }
+                if (token.getTokenId() != null) {
+                    out.writeStringField("jti", token.getTokenId());
+                }
+                if (token.getClaims() != null && token.getClaims().getIssuer() != null) {
+                    out.writeStringField("iss", token.getClaims().getIssuer());
+                }
+                out.writeArrayFieldStart("authorities");
+                for (GrantedAuthority granted : token.getAuthorities()) {
+                    out.writeString(granted.getAuthority());
+                }
+                out.writeEndArray();
+            }
+            out.writeEndObject();
+        }
+        return buffer.toString(StandardCharsets.UTF_8);
+    }
+
+    private static void error(HttpServletResponse response, String message) throws IOException {
+        logger.debug("[EasySecurity] Introspection request rejected: {}", message);
+        response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        try (JsonGenerator out = JSON.createGenerator((OutputStream) response.getOutputStream())) {
+            out.writeStartObject();
+            out.writeStringField("error", message);
+            out.writeEndObject();
+        }
+    }
+
+    // ─── Statistics ───────────────────────────────────────────────────────────
+
+    public long requestCount()   { return requests.sum(); }
+    public long tokenCount()     { return tokens.sum(); }
+    public long forbiddenCount() { return forbidden.sum(); }
+    public long cacheHitCount()  { return cache.hitCount(); }
+    public long cacheMissCount() { return cache.missCount(); }
+    public int cacheSize()       { return cache.size(); }
+}
@@ -0,0 +1,227 @@
+package com.example.simple_security.config;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.interfaces.ECKey;
+import java.security.interfaces.RSAKey;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Structural checks run on every bearer token before {@link JwtUtils} does any
+ * base64 decoding of the payload, JSON parsing or signature work:
+ *
+ * <ol>
+ *   <li>length at most {@code easysecurity.jwt.precheck.max-length}</li>
+ *   <li>exactly three non-empty, dot-separated segments</li>
+ *   <li>only base64url characters ({@code A-Z a-z 0-9 - _})</li>
+ *   <li>a header {@code alg} the configured keys can verify (or one listed in
+ *       {@code easysecurity.jwt.precheck.algorithms})</li>
+ * </ol>
+ *
+ * <p>Keys fetched from a JWKS can change type at the provider's discretion, so in that mode every
+ * asymmetric algorithm passes step 4 unless algorithms are configured. A token signed with a key
+ * the node has not loaded yet then reaches the key ring, which schedules the refetch.
+ *
+ * <p>The first three are a single pass over the string with no allocation. Header segments
+ * that passed step 4 are remembered, so the header of a known token is compared, not decoded.
+ * A rejected token verifies as {@link VerifiedToken.Failure#REJECTED}; rejections are counted
+ * per {@link Reason} instead of being logged.
+ */
+public final class TokenPrecheck {
+
+    /** Why a token was rejected. */
+    public enum Reason { TOO_LONG, STRUCTURE, ALPHABET, ALGORITHM }
+
+    private static final int HEADER_SLOTS = 64;
+
+    private static final Set<String> ASYMMETRIC = Set.of(
+            "RS256", "RS384", "RS512", "PS256", "PS384", "PS512", "ES256", "ES384", "ES512", "EdDSA");
+
+    private static final boolean[] BASE64URL = new boolean[128];
+
+    static {
+        for (char c = 'A'; c <= 'Z'; c++) BASE64URL[c] = true;
+        for (char c = 'a'; c <= 'z'; c++) BASE64URL[c] = true;
+        for (char c = '0'; c <= '9'; c++) BASE64URL[c] = true;
+        BASE64URL['-'] = true;
+        BASE64URL['_'] = true;
+    }
+
+    // Accepted algorithms for one version of the key list, with the header segments already seen to use them
+    private record Accepted(List<JwtKeyRing.KeyVersion> keys, Set<String> algorithms,
+                            AtomicReferenceArray<String> headers) { }
+
+    private final int maxLength;
+    private final Set<String> configuredAlgorithms;
+    private final JwtKeyRing keyRing;
+    private final LongAdder[] rejected = new LongAdder[Reason.values().length];
+
+    private volatile Accepted accepted;
+
+    /**
+     * @param remoteKeys whether the key ring is kept in sync with a JWKS rather than configured locally
+     */
+    TokenPrecheck(int maxLength, Collection<String> algorithms, JwtKeyRing keyRing, boolean remoteKeys) {
+        if (maxLength <= 0) {
+            throw new IllegalArgumentException("[EasySecurity] easysecurity.jwt.precheck.max-length must be greater than zero.");
+        }
+        this.maxLength = maxLength;
+        this.configuredAlgorithms = algorithms.isEmpty() && remoteKeys ? ASYMMETRIC : Set.copyOf(algorithms);
+        this.keyRing = keyRing;
+        for (int i = 0; i < rejected.length; i++) {
+            rejected[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * @param token compact JWS string, not blank
+     * @return {@code null} if the token may be parsed, otherwise the reason it was rejected
+     */
+    Reason check(String token) {
+        int length = token.length();
+        if (length > maxLength) {
+            return reject(Reason.TOO_LONG);
+        }
+
+        int firstDot = -1;
+        int secondDot = -1;
+        for (int i = 0; i < length; i++) {
+            char c = token.charAt(i);
+            if (c == '.') {
+                if (firstDot < 0) {
+                    firstDot = i;
+                } else if (secondDot < 0) {
+                    secondDot = i;
+                } else {
+                    return reject(Reason.STRUCTURE);
+                }
+            } else if (c >= 128 || !BASE64URL[c]) {
+                return reject(Reason.ALPHABET);
+            }
+        }
+        if (firstDot <= 0 || secondDot < 0 || secondDot == firstDot + 1 || secondDot == length - 1) {
+            return reject(Reason.STRUCTURE);
+        }
+
+        return acceptsHeader(token, firstDot) ? null : reject(Reason.ALGORITHM);
+    }
+
+    private boolean acceptsHeader(String token, int headerLength) {
+        Accepted current = current();
+        int hash = 0;
+        for (int i = 0; i < headerLength; i++) {
+            hash = 31 * hash + token.charAt(i);
+        }
+        int slot = (hash ^ (hash >>> 16)) & (HEADER_SLOTS - 1);
+        String known = current.headers().get(slot);
+        if (known != null && known.length() == headerLength && token.regionMatches(0, known, 0, headerLength)) {
+            return true;
+        }
+
+        String header = token.substring(0, headerLength);
+        String algorithm = readStringMember(header, "alg");
+        if (algorithm == null || !current.algorithms().contains(algorithm)) {
+            return false;
+        }
+        current.headers().set(slot, header);
+        return true;
+    }
+
+    private Reason reject(Reason reason) {
+        rejected[reason.ordinal()].increment();
+        return reason;
+    }
+
+    // Re-derived only when the key ring's key list is replaced (reload, setKeys)
+    private Accepted current() {
+        Accepted current = accepted;
+        List<JwtKeyRing.KeyVersion> keys = keyRing.getKeys();
+        if (current == null || current.keys() != keys) {
+            Set<String> algorithms = configuredAlgorithms.isEmpty() ? algorithmsFor(keys) : configuredAlgorithms;
+            current = new Accepted(keys, algorithms, new AtomicReferenceArray<>(HEADER_SLOTS));
+            accepted = current;
+        }
+        return current;
+    }
+
+    // The JWS algorithms jjwt can verify with each key type
+    private static Set<String> algorithmsFor(List<JwtKeyRing.KeyVersion> keys) {
+        Set<String> algorithms = new HashSet<>();
+        for (JwtKeyRing.KeyVersion version : keys) {
+            Key key = version.getVerificationKey();
+            if (key instanceof SecretKey secret) {
+                byte[] encoded = secret.getEncoded();
+                int bytes = encoded != null ? encoded.length : Integer.MAX_VALUE;
+                algorithms.add("HS256");
+                if (bytes >= 48) algorithms.add("HS384");
+                if (bytes >= 64) algorithms.add("HS512");
+            } else if (key instanceof RSAKey) {
+                algorithms.addAll(List.of("RS256", "RS384", "RS512", "PS256", "PS384", "PS512"));
+            } else if (key instanceof ECKey) {
+                algorithms.addAll(List.of("ES256", "ES384", "ES512"));
+            } else {
+                // Ed25519 / Ed448
+                algorithms.add("EdDSA");
+            }
+        }
+        return Set.copyOf(algorithms);
+    }
+
+    // Minimal scan for "<name>":"<value>" in a base64url-encoded JSON object; null if absent or not decodable
+    static String readStringMember(String encodedJson, String name) {
+        String json;
+        try {
+            json = new String(Base64.getUrlDecoder().decode(encodedJson), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        String key = "\"" + name + "\"";
+        int from = 0;
+        int at;
+        while ((at = json.indexOf(key, from)) >= 0) {
+            int i = skipWhitespace(json, at + key.length());
+            if (i < json.length() && json.charAt(i) == ':') {
+                i = skipWhitespace(json, i + 1);
+                if (i < json.length() && json.charAt(i) == '"') {
+                    int end = json.indexOf('"', i + 1);
+                    return end > i ? json.substring(i + 1, end) : null;
+                }
+                return null;
+            }
+            from = at + key.length();
+        }
+        return null;
+    }
+
+    private static int skipWhitespace(String json, int i) {
+        while (i < json.length() && Character.isWhitespace(json.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    // ─── Statistics ───────────────────────────────────────────────────────────
+
+    public long rejectedCount(Reason reason) {
+        return rejected[reason.ordinal()].sum();
+    }
+
+    public long rejectedCount() {
+        long total = 0;
+        for (LongAdder adder : rejected) {
+            total += adder.sum();
+        }
+        return total;
+    }
+
+    public int getMaxLength() {
+        return maxLength;
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.simple_security.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Revoked token ids ({@code jti}) checked by {@link JwtUtils#verify(String)} on every valid token.
+ * An in-memory Bloom filter answers the common case — a token that was never revoked — in a few
+ * array reads; the {@link TokenRevocationStore} is only consulted when the filter reports a possible hit,
+ * or for every token when the store is {@linkplain TokenRevocationStore#isShared() shared}.
+ *
+ * <p>Once per purge interval a background thread purges expired entries from the store and rebuilds
+ * the filter from what is left, so request threads never wait on the store's housekeeping.
+ *
+ * <pre>{@code
+ * easysecurity.jwt.revocation.expected-revocations=10000
+ * easysecurity.jwt.revocation.false-positive-rate=0.01
+ * easysecurity.jwt.revocation.purge-interval-seconds=60
+ * }</pre>
+ */
+public final class TokenRevocationList implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationList.class);
+
+    // One daemon thread purges every list in the JVM; each purge is a short, infrequent task
+    private static final ScheduledExecutorService PURGER = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "easysecurity-revocation");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final TokenRevocationStore store;
+    private final boolean shared;
+    private final int expectedRevocations;
+    private final double falsePositiveRate;
+    private final ScheduledFuture<?> purging;
+
+    // Serialises revocations with filter rebuilds so no revocation is lost from a fresh filter
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final LongAdder possibleHits   = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+
+    private volatile BloomFilter filter;
+
+    TokenRevocationList(TokenRevocationStore store, int expectedRevocations, double falsePositiveRate,
+                        long purgeIntervalSeconds) {
+        if (purgeIntervalSeconds <= 0) {
+            throw new IllegalArgumentException("[EasySecurity] easysecurity.jwt.revocation.purge-interval-seconds must be greater than zero.");
+        }
+        this.store = store;
+        this.shared = store.isShared();
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = rebuild(store.revoked());
+        this.purging = PURGER.scheduleWithFixedDelay(this::purge,
+                purgeIntervalSeconds, purgeIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * @param tokenId   the token's {@code jti}
+     * @param expiresAt the token's {@code exp}; the revocation is dropped after it
+     */
+    public void revoke(String tokenId, Instant expiresAt) {
+        if (tokenId == null || expiresAt == null) {
+            throw new IllegalArgumentException("[EasySecurity] Token id and expiry must not be null.");
+        }
+        lock.lock();
+        try {
+            store.revoke(tokenId, expiresAt);
+            filter.add(tokenId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @param tokenId the token's {@code jti}, or {@code null} for tokens issued without one
+     * @return {@code true} if the token was revoked
+     */
+    boolean isRevoked(String tokenId) {
+        if (tokenId == null) {
+            return false;
+        }
+        if (shared) {
+            return store.isRevoked(tokenId);
+        }
+        if (!filter.mightContain(tokenId)) {
+            return false;
+        }
+        possibleHits.increment();
+        if (store.isRevoked(tokenId)) {
+            return true;
+        }
+        falsePositives.increment();
+        return false;
+    }
+
+    // Runs on the purge thread; a failure is logged and retried at the next interval
+    void purge() {
+        lock.lock();
+        try {
+            store.purgeExpired(Instant.now());
+            filter = rebuild(store.revoked());
+        } catch (RuntimeException e) {
+            logger.warn("[EasySecurity] Purging expired token revocations failed: {}", e.toString());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Sized for at least twice the current entries so the false-positive rate holds as revocations grow
+    private BloomFilter rebuild(Map<String, Instant> revoked) {
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedRevocations, revoked.size() * 2), falsePositiveRate);
+        revoked.keySet().forEach(rebuilt::add);
+        return rebuilt;
+    }
+
+    public TokenRevocationStore getStore() {
+        return store;
+    }
+
+    /**
+     * Stops the scheduled purge.
+     */
+    @Override
+    public void close() {
+        purging.cancel(false);
+    }
+
+    // ─── Statistics ───────────────────────────────────────────────────────────
+
+    public long possibleHitCount()   { return possibleHits.sum(); }
+    public long falsePositiveCount() { return falsePositives.sum(); }
+}
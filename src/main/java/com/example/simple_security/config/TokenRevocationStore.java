@@ -0,0 +1,60 @@
+package com.example.simple_security.config;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Durable record of revoked token ids ({@code jti}). {@link TokenRevocationList} keeps a Bloom filter
+ * in front of the store, so {@link #isRevoked(String)} is only called for ids that were possibly revoked.
+ * Implement this to share revocations between nodes, or use {@link InMemoryTokenRevocationStore}
+ * or {@link FileTokenRevocationStore}.
+ *
+ * <p>A node's Bloom filter only learns of revocations made on other nodes when it is rebuilt, once per
+ * {@code easysecurity.jwt.revocation.purge-interval-seconds}. A store written by several nodes should
+ * therefore return {@code true} from {@link #isShared()}, so that every valid token is looked up in it
+ * and a revocation takes effect on all nodes at once.
+ *
+ * <pre>{@code
+ * @Override
+ * public TokenRevocationStore tokenRevocationStore() {
+ *     return new FileTokenRevocationStore(Path.of("/var/lib/myapp/revoked-tokens"));
+ * }
+ * }</pre>
+ */
+public interface TokenRevocationStore {
+
+    /**
+     * Records a revocation.
+     *
+     * @param tokenId   the token's {@code jti}
+     * @param expiresAt the token's {@code exp} — the entry may be dropped after this time
+     */
+    void revoke(String tokenId, Instant expiresAt);
+
+    /**
+     * @param tokenId the token's {@code jti}
+     * @return {@code true} if the id was revoked and has not expired yet
+     */
+    boolean isRevoked(String tokenId);
+
+    /**
+     * Drops every entry whose token has expired — such tokens fail verification anyway.
+     *
+     * @param now the current time
+     */
+    void purgeExpired(Instant now);
+
+    /**
+     * @return a snapshot of every revoked id and its expiry, used to rebuild the Bloom filter
+     */
+    Map<String, Instant> revoked();
+
+    /**
+     * @return {@code true} if other nodes revoke tokens in this store too. {@link #isRevoked(String)}
+     * is then called for every valid token instead of only after a Bloom filter hit, so it should be fast,
+     * e.g. a Redis lookup. Default is {@code false}.
+     */
+    default boolean isShared() {
+        return false;
+    }
+}
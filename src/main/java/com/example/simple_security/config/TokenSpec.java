@@ -0,0 +1,79 @@
+package com.example.simple_security.config;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * One token to issue in a batch with {@link EasySecurity#createTokens(java.util.List)}.
+ * <pre>{@code
+ * new TokenSpec("device-42")
+ *         .authorities(List.of(new SimpleGrantedAuthority("ROLE_DEVICE")))
+ *         .claims(Map.of("site", "berlin"))
+ *         .expirationMinutes(24 * 60)
+ * }</pre>
+ */
+public class TokenSpec {
+
+    private final String username;
+    private Collection<? extends GrantedAuthority> authorities;
+    private Map<String, ?> claims;
+    private long expirationMinutes;
+
+    /**
+     * @param username token subject
+     */
+    public TokenSpec(String username) {
+        if (username == null || username.isBlank()) {
+            throw new IllegalArgumentException("[EasySecurity] Token username must not be null or empty.");
+        }
+        this.username = username;
+    }
+
+    /**
+     * Authorities to embed in the {@code authorities} claim.
+     *
+     * @param authorities granted authorities, or {@code null}
+     * @return this instance for chaining
+     */
+    public TokenSpec authorities(Collection<? extends GrantedAuthority> authorities) {
+        this.authorities = authorities;
+        return this;
+    }
+
+    /**
+     * Custom claims to embed; the reserved names {@code sub}, {@code iat}, {@code exp}, {@code nbf},
+     * {@code jti}, {@code iss}, {@code aud}, {@code authorities} and {@code au} are rejected.
+     *
+     * @param claims custom claims, or {@code null}
+     * @return this instance for chaining
+     */
+    public TokenSpec claims(Map<String, ?> claims) {
+        this.claims = claims;
+        return this;
+    }
+
+    /**
+     * Token lifetime in minutes. Defaults to {@code easysecurity.jwt.expiration}.
+     *
+     * @param expirationMinutes lifetime in minutes, greater than zero
+     * @return this instance for chaining
+     */
+    public TokenSpec expirationMinutes(long expirationMinutes) {
+        if (expirationMinutes <= 0) {
+            throw new IllegalArgumentException("[EasySecurity] Expiration time must be greater than zero.");
+        }
+        this.expirationMinutes = expirationMinutes;
+        return this;
+    }
+
+    public String getUsername()                                     { return username; }
+    public Collection<? extends GrantedAuthority> getAuthorities()  { return authorities; }
+    public Map<String, ?> getClaims()                               { return claims; }
+
+    /**
+     * @return the lifetime in minutes, or {@code 0} for the configured default
+     */
+    public long getExpirationMinutes()                              { return expirationMinutes; }
+}
@@ -0,0 +1,42 @@
+package com.example.simple_security.config;
+
+import org.springframework.security.core.userdetails.UserDetails;
+
+/**
+ * Cache of {@link UserDetails} consulted by {@link JWTValidate} before calling the
+ * {@code UserDetailsService}. Implement this to plug in your own store, or use
+ * {@link InMemoryUserDetailsCache}.
+ *
+ * <pre>{@code
+ * @Override
+ * public UserDetailsCache userDetailsCache() {
+ *     return new InMemoryUserDetailsCache(Duration.ofMinutes(5), 10_000);
+ * }
+ * }</pre>
+ */
+public interface UserDetailsCache {
+
+    /**
+     * @param username the username to look up
+     * @return the cached user, or {@code null} on a miss
+     */
+    UserDetails get(String username);
+
+    /**
+     * Stores a freshly loaded user.
+     *
+     * @param username    the username that was looked up
+     * @param userDetails the loaded user
+     */
+    void put(String username, UserDetails userDetails);
+
+    /**
+     * Removes a single user, e.g. after a role change or an account lock.
+     *
+     * @param username the username to evict
+     */
+    void evict(String username);
+
+    /** Removes every cached user. */
+    void evictAll();
+}
@@ -0,0 +1,160 @@
+package com.example.simple_security.config;
+
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Loads users for {@link JWTValidate} through an optional {@link UserDetailsCache}.
+ * Concurrent misses for the same username are coalesced: only one
+ * {@code loadUserByUsername} call runs and the other callers wait for its result.
+ */
+public class UserDetailsLoader {
+
+    private final UserDetailsService userDetailsService;
+    private final EasySecurityMetrics metrics;
+    private final ConcurrentHashMap<String, CompletableFuture<UserDetails>> inFlight = new ConcurrentHashMap<>();
+
+    // Bumped on every eviction so a lookup that started before it is not cached afterwards
+    private final AtomicLong evictionEpoch = new AtomicLong();
+
+    private final LongAdder hits        = new LongAdder();
+    private final LongAdder misses      = new LongAdder();
+    private final LongAdder coalesced   = new LongAdder();
+    private final LongAdder lookups     = new LongAdder();
+    private final LongAdder lookupNanos = new LongAdder();
+
+    private volatile UserDetailsCache cache;
+
+    public UserDetailsLoader(UserDetailsService userDetailsService) {
+        this(userDetailsService, EasySecurityMetrics.NOOP);
+    }
+
+    public UserDetailsLoader(UserDetailsService userDetailsService, EasySecurityMetrics metrics) {
+        this.userDetailsService = userDetailsService;
+        this.metrics = metrics;
+    }
+
+    /**
+     * @param username the username to load
+     * @return the user, from the cache or from the {@code UserDetailsService}
+     * @throws org.springframework.security.core.userdetails.UsernameNotFoundException if the user does not exist
+     */
+    public UserDetails load(String username) {
+        UserDetailsCache cache = this.cache;
+        if (cache != null) {
+            UserDetails cached = cache.get(username);
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+        }
+        misses.increment();
+
+        CompletableFuture<UserDetails> mine = new CompletableFuture<>();
+        CompletableFuture<UserDetails> existing = inFlight.putIfAbsent(username, mine);
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing);
+        }
+
+        long epoch = evictionEpoch.get();
+        try {
+            long start = System.nanoTime();
+            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            long elapsed = System.nanoTime() - start;
+            lookupNanos.add(elapsed);
+            lookups.increment();
+            metrics.recordUserLookup(elapsed);
+
+            if (cache != null && userDetails != null && epoch == evictionEpoch.get()) {
+                cache.put(username, userDetails);
+                // An eviction between the check and the put would otherwise leave the stale user cached
+                if (epoch != evictionEpoch.get()) {
+                    cache.evict(username);
+                }
+            }
+            mine.complete(userDetails);
+            return userDetails;
+        } catch (Throwable e) {
+            // Any failure, including an Error, must release the coalesced waiters
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(username, mine);
+        }
+    }
+
+    private UserDetails await(CompletableFuture<UserDetails> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Removes a user from the cache so the next request reloads it.
+     *
+     * @param username the username to evict
+     */
+    public void evict(String username) {
+        evictionEpoch.incrementAndGet();
+        UserDetailsCache cache = this.cache;
+        if (cache != null) {
+            cache.evict(username);
+        }
+    }
+
+    /** Removes every user from the cache. */
+    public void evictAll() {
+        evictionEpoch.incrementAndGet();
+        UserDetailsCache cache = this.cache;
+        if (cache != null) {
+            cache.evictAll();
+        }
+    }
+
+    void setCache(UserDetailsCache cache) {
+        this.cache = cache;
+    }
+
+    public UserDetailsCache getCache() {
+        return cache;
+    }
+
+    // ─── Statistics ───────────────────────────────────────────────────────────
+
+    public long hitCount()       { return hits.sum(); }
+    public long missCount()      { return misses.sum(); }
+    public long coalescedCount() { return coalesced.sum(); }
+    public long lookupCount()    { return lookups.sum(); }
+
+    /**
+     * @return fraction of loads served from the cache, between {@code 0.0} and {@code 1.0}
+     */
+    public double hitRatio() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    /**
+     * @return mean {@code loadUserByUsername} latency in milliseconds, or {@code 0.0} before the first lookup
+     */
+    public double averageLookupMillis() {
+        long count = lookups.sum();
+        return count == 0 ? 0.0 : lookupNanos.sum() / 1_000_000.0 / count;
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.simple_security.config;
+
+import io.jsonwebtoken.Claims;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable result of verifying a JWT exactly once.
+ * A valid token carries its subject, expiry, issued-at, claims and any embedded authorities;
+ * an invalid one carries only the {@link Failure} reason.
+ *
+ * <pre>{@code
+ * VerifiedToken token = jwtUtils.verify(jwt);
+ * if (token.isValid()) {
+ *     String username = token.getSubject();
+ * }
+ * }</pre>
+ */
+public final class VerifiedToken {
+
+    /** Reason a token failed verification. */
+    public enum Failure {
+
+        /** The token was signed correctly but its {@code exp} has passed. */
+        EXPIRED,
+
+        /** The signature does not match the configured key. */
+        BAD_SIGNATURE,
+
+        /** The token is not a well-formed compact JWS. */
+        MALFORMED,
+
+        /** The token is well-formed but uses a format or algorithm that is not accepted. */
+        UNSUPPORTED,
+
+        /** The token failed the {@link TokenPrecheck} and was never parsed. */
+        REJECTED,
+
+        /** The token is valid but its {@code jti} has been revoked. */
+        REVOKED,
+
+        /** The reference token is not in this node's {@link ReferenceTokenStore}. */
+        UNKNOWN,
+
+        /** The signature is valid but the {@code iss} or {@code aud} claim is not the one required. */
+        INVALID_CLAIMS
+    }
+
+    private static final VerifiedToken EXPIRED       = new VerifiedToken(null, Failure.EXPIRED);
+    private static final VerifiedToken BAD_SIGNATURE = new VerifiedToken(null, Failure.BAD_SIGNATURE);
+    private static final VerifiedToken MALFORMED     = new VerifiedToken(null, Failure.MALFORMED);
+    private static final VerifiedToken UNSUPPORTED   = new VerifiedToken(null, Failure.UNSUPPORTED);
+    private static final VerifiedToken REJECTED      = new VerifiedToken(null, Failure.REJECTED);
+    private static final VerifiedToken REVOKED       = new VerifiedToken(null, Failure.REVOKED);
+    private static final VerifiedToken UNKNOWN       = new VerifiedToken(null, Failure.UNKNOWN);
+    private static final VerifiedToken INVALID_CLAIMS = new VerifiedToken(null, Failure.INVALID_CLAIMS);
+
+    private final Claims claims;
+    private final String subject;
+    private final String tokenId;
+    private final Instant expiration;
+    private final Instant issuedAt;
+    private final List<GrantedAuthority> authorities;
+    private final Failure failure;
+
+    private VerifiedToken(Claims claims, Failure failure) {
+        this.claims      = claims;
+        this.subject     = claims != null ? claims.getSubject() : null;
+        this.tokenId     = claims != null ? claims.getId() : null;
+        this.expiration  = claims != null && claims.getExpiration() != null ? claims.getExpiration().toInstant() : null;
+        this.issuedAt    = claims != null && claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null;
+        this.authorities = readAuthorities(claims);
+        this.failure     = failure;
+    }
+
+    private static List<GrantedAuthority> readAuthorities(Claims claims) {
+        if (claims == null) {
+            return Collections.emptyList();
+        }
+        Object value = claims.get(JwtUtils.AUTHORITIES_CLAIM);
+        if (value == null) {
+            value = claims.get(JwtUtils.COMPACT_AUTHORITIES_CLAIM);
+        }
+        // Tokens from an OAuth2 authorization server carry scopes instead, mapped as Spring Security does
+        String prefix = "";
+        if (value == null) {
+            value = claims.get("scope") != null ? claims.get("scope") : claims.get("scp");
+            prefix = "SCOPE_";
+        }
+        // Compact tokens join the names with spaces, and so does the OAuth2 scope claim
+        if (value instanceof String joined) {
+            value = joined.isEmpty() ? List.of() : List.of(joined.split(" "));
+        }
+        if (!(value instanceof Collection<?> names) || names.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<GrantedAuthority> authorities = new ArrayList<>(names.size());
+        for (Object name : names) {
+            if (name != null) {
+                authorities.add(new SimpleGrantedAuthority(prefix + name));
+            }
+        }
+        return Collections.unmodifiableList(authorities);
+    }
+
+    static VerifiedToken valid(Claims claims) {
+        return new VerifiedToken(claims, null);
+    }
+
+    static VerifiedToken failed(Failure failure) {
+        return switch (failure) {
+            case EXPIRED       -> EXPIRED;
+            case BAD_SIGNATURE -> BAD_SIGNATURE;
+            case MALFORMED     -> MALFORMED;
+            case UNSUPPORTED   -> UNSUPPORTED;
+            case REJECTED      -> REJECTED;
+            case REVOKED       -> REVOKED;
+            case UNKNOWN       -> UNKNOWN;
+            case INVALID_CLAIMS -> INVALID_CLAIMS;
+        };
+    }
+
+    /**
+     * @return {@code true} if the signature was verified and the token had not expired
+     */
+    public boolean isValid() {
+        return failure == null;
+    }
+
+    /**
+     * @return {@code true} if this token is valid and its subject equals {@code username}
+     */
+    public boolean isValidFor(String username) {
+        return isValid() && subject != null && subject.equals(username);
+    }
+
+    /**
+     * @return {@code true} if the token has an expiry at or before {@code nowMillis}
+     */
+    public boolean isExpiredAt(long nowMillis) {
+        return expiration != null && expiration.toEpochMilli() <= nowMillis;
+    }
+
+    // ─── Getters ──────────────────────────────────────────────────────────────
+
+    public String getSubject()                     { return subject; }
+    public String getTokenId()                     { return tokenId; }
+    public Instant getExpiration()                 { return expiration; }
+    public Instant getIssuedAt()                   { return issuedAt; }
+    public Claims getClaims()                      { return claims; }
+    public List<GrantedAuthority> getAuthorities() { return authorities; }
+    public Failure getFailure()                    { return failure; }
+}
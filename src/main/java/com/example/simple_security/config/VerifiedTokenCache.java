@@ -0,0 +1,52 @@
+package com.example.simple_security.config;
+
+/**
+ * Bounded in-memory cache of successfully verified tokens, keyed by the SHA-256 digest of the token.
+ * An entry lives until the token's own {@code exp} or the configured TTL, whichever comes first.
+ * A hit skips signature verification and JSON parsing entirely.
+ *
+ * <pre>{@code
+ * easysecurity.jwt.cache.enabled=true
+ * easysecurity.jwt.cache.max-size=10000
+ * easysecurity.jwt.cache.ttl-seconds=300
+ * }</pre>
+ */
+public class VerifiedTokenCache {
+
+    private final StripedLruCache<TokenDigest, VerifiedToken> cache;
+    private final long ttlMillis;
+
+    public VerifiedTokenCache(int maxSize, long ttlSeconds) {
+        if (ttlSeconds <= 0) {
+            throw new IllegalArgumentException("[EasySecurity] easysecurity.jwt.cache.ttl-seconds must be greater than zero.");
+        }
+        this.cache = new StripedLruCache<>(maxSize);
+        this.ttlMillis = ttlSeconds * 1000;
+    }
+
+    VerifiedToken get(TokenDigest digest, long nowMillis) {
+        return cache.get(digest, nowMillis);
+    }
+
+    void put(TokenDigest digest, VerifiedToken token, long nowMillis) {
+        long expiresAt = nowMillis + ttlMillis;
+        if (token.getExpiration() != null) {
+            expiresAt = Math.min(expiresAt, token.getExpiration().toEpochMilli());
+        }
+        if (expiresAt > nowMillis) {
+            cache.put(digest, token, expiresAt);
+        }
+    }
+
+    /** Removes every cached token. */
+    public void clear() {
+        cache.clear();
+    }
+
+    // ─── Statistics ───────────────────────────────────────────────────────────
+
+    public long hitCount()      { return cache.hitCount(); }
+    public long missCount()     { return cache.missCount(); }
+    public long evictionCount() { return cache.evictionCount(); }
+    public int size()           { return cache.size(); }
+}
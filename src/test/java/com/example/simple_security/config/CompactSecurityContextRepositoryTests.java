@@ -0,0 +1,182 @@
+package com.example.simple_security.config;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompactSecurityContextRepositoryTests {
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void storesNameAndSharedAuthoritiesBehindANewSessionCookie() {
+		CompactSecurityContextRepository repository = new CompactSecurityContextRepository(
+				100, Duration.ofMinutes(30), "EASYSESSION", null, Duration.ZERO);
+
+		String alice = login(repository, "alice", null);
+		String bob = login(repository, "bob", null);
+		assertEquals(1, repository.authoritySetCount());
+
+		Authentication authentication = load(repository, alice).getAuthentication();
+		assertEquals("alice", authentication.getPrincipal());
+		assertTrue(authentication.isAuthenticated());
+		assertEquals("ROLE_USER", authentication.getAuthorities().iterator().next().getAuthority());
+		assertEquals(authentication.getAuthorities(), load(repository, bob).getAuthentication().getAuthorities());
+
+		// Logging in again never promotes the presented id
+		String again = login(repository, "alice", alice);
+		assertNotEquals(alice, again);
+		assertNull(load(repository, alice).getAuthentication());
+	}
+
+	@Test
+	void logoutRemovesTheSessionAndExpiresTheCookie() {
+		CompactSecurityContextRepository repository = new CompactSecurityContextRepository(
+				100, Duration.ofMinutes(30), "EASYSESSION", null, Duration.ZERO);
+		String alice = login(repository, "alice", null);
+		assertTrue(repository.containsContext(request(alice)));
+
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		repository.saveContext(SecurityContextHolder.createEmptyContext(), request(alice), response);
+		String cookie = response.getHeader("Set-Cookie");
+		assertTrue(cookie.startsWith("EASYSESSION=;") && cookie.contains("Max-Age=0"), cookie);
+		assertNull(load(repository, alice).getAuthentication());
+		assertFalse(repository.containsContext(request(alice)));
+		assertEquals(0, repository.size());
+	}
+
+	@Test
+	void idleSessionsExpireAndUseExtendsThem() throws Exception {
+		CompactSecurityContextRepository repository = new CompactSecurityContextRepository(
+				100, Duration.ofMillis(400), "EASYSESSION", null, Duration.ZERO);
+		String alice = login(repository, "alice", null);
+
+		// Each request pushes the idle deadline out again
+		for (int i = 0; i < 3; i++) {
+			Thread.sleep(200);
+			assertEquals("alice", load(repository, alice).getAuthentication().getName());
+		}
+		Thread.sleep(600);
+		assertNull(load(repository, alice).getAuthentication());
+		assertFalse(repository.containsContext(request(alice)));
+	}
+
+	@Test
+	void nonCompactablePrincipalStaysInTheHttpSession() {
+		CompactSecurityContextRepository repository = new CompactSecurityContextRepository(
+				100, Duration.ofMinutes(30), "EASYSESSION", null, Duration.ZERO);
+		Map<String, Object> oauth2User = Map.of("sub", "alice");
+		SecurityContext context = new SecurityContextImpl(UsernamePasswordAuthenticationToken.authenticated(
+				oauth2User, null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+
+		MockHttpServletRequest login = request(null);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		repository.saveContext(context, login, response);
+		assertNull(response.getHeader("Set-Cookie"));
+		assertEquals(0, repository.size());
+
+		MockHttpServletRequest next = request(null);
+		next.setSession(login.getSession(false));
+		assertTrue(repository.containsContext(next));
+		assertSame(oauth2User, load(repository, next).getAuthentication().getPrincipal());
+	}
+
+	@Test
+	void concurrentSnapshotsDoNotCollide() throws Exception {
+		CompactSecurityContextRepository repository = new CompactSecurityContextRepository(
+				100, Duration.ofMinutes(30), "EASYSESSION", dir.resolve("sessions"), Duration.ofMillis(1));
+		login(repository, "alice", null);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<?>> writers = new ArrayList<>();
+			for (int i = 0; i < 4; i++) {
+				writers.add(executor.submit(() -> {
+					for (int j = 0; j < 50; j++) {
+						repository.snapshot();
+					}
+				}));
+			}
+			for (Future<?> writer : writers) {
+				writer.get(30, TimeUnit.SECONDS);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		repository.close();
+		assertFalse(Files.exists(dir.resolve("sessions.tmp")));
+	}
+
+	@Test
+	void snapshotRestoresSessionsAfterRestart() throws Exception {
+		Path file = dir.resolve("sessions");
+		CompactSecurityContextRepository first = new CompactSecurityContextRepository(
+				100, Duration.ofMinutes(30), "EASYSESSION", file, Duration.ofHours(1));
+		String alice = login(first, "alice", null);
+		first.close();
+
+		assertEquals("rw-------", PosixFilePermissions.toString(Files.getPosixFilePermissions(file)));
+		CompactSecurityContextRepository second = new CompactSecurityContextRepository(
+				100, Duration.ofMinutes(30), "EASYSESSION", file, Duration.ofHours(1));
+		assertEquals("alice", load(second, alice).getAuthentication().getName());
+		assertEquals(1, second.size());
+		second.close();
+
+		Files.write(file, new byte[] {1, 2, 3});
+		CompactSecurityContextRepository corrupt = new CompactSecurityContextRepository(
+				100, Duration.ofMinutes(30), "EASYSESSION", file, Duration.ofHours(1));
+		assertEquals(0, corrupt.size());
+		corrupt.close();
+	}
+
+	private static String login(CompactSecurityContextRepository repository, String username, String previousId) {
+		UserDetails user = User.withUsername(username).password("{noop}pw").roles("USER").build();
+		SecurityContext context = new SecurityContextImpl(
+				UsernamePasswordAuthenticationToken.authenticated(user, null, user.getAuthorities()));
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		repository.saveContext(context, request(previousId), response);
+		String cookie = response.getHeader("Set-Cookie");
+		assertTrue(cookie.contains("HttpOnly") && cookie.contains("SameSite=Lax"), cookie);
+		return cookie.substring("EASYSESSION=".length(), cookie.indexOf(';'));
+	}
+
+	private static SecurityContext load(CompactSecurityContextRepository repository, String id) {
+		return load(repository, request(id));
+	}
+
+	private static SecurityContext load(CompactSecurityContextRepository repository, MockHttpServletRequest request) {
+		return repository.loadDeferredContext(request).get();
+	}
+
+	private static MockHttpServletRequest request(String id) {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/account");
+		if (id != null) {
+			request.setCookies(new Cookie("EASYSESSION", id));
+		}
+		return request;
+	}
+}
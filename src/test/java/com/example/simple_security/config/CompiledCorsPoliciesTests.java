@@ -0,0 +1,68 @@
+package com.example.simple_security.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.cors.CorsConfiguration;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompiledCorsPoliciesTests {
+
+	private final CompiledCorsPolicies policies = new CompiledCorsPolicies(new EasyCorsConfiguration()
+			.allowedOrigins(List.of("https://app.example.com", "https://*.example.org"))
+			.path("/public/**", new EasyCorsConfiguration().allowedOrigins(List.of("*")))
+			.path("/partner/**", new EasyCorsConfiguration()
+					.allowedOrigins(List.of("https://*.partner.com"))
+					.allowCredentials(true)));
+
+	@Test
+	void matchesExactAndWildcardOrigins() {
+		CorsConfiguration root = policies.resolve("/api/orders");
+
+		assertEquals("https://app.example.com", root.checkOrigin("https://app.example.com"));
+		assertEquals("https://APP.example.com/", root.checkOrigin("https://APP.example.com/"));
+		assertEquals("https://a.b.example.org", root.checkOrigin("https://a.b.example.org"));
+		assertNull(root.checkOrigin("https://example.org"));
+		assertNull(root.checkOrigin("http://app.example.org"));
+		assertNull(root.checkOrigin("https://evil.com/.example.org"));
+		assertNull(root.checkOrigin("https://other.com"));
+	}
+
+	@Test
+	void mostSpecificPathPolicyWins() {
+		assertEquals(CorsConfiguration.ALL, policies.resolve("/public/logo.png").checkOrigin("https://anyone.net"));
+		assertEquals("https://eu.partner.com", policies.resolve("/partner/feed").checkOrigin("https://eu.partner.com"));
+		assertNull(policies.resolve("/partner/feed").checkOrigin("https://app.example.com"));
+		assertEquals(3, policies.size());
+		assertThrows(IllegalArgumentException.class, () -> new CompiledCorsPolicies(
+				new EasyCorsConfiguration().allowedOrigins(List.of("*")).allowCredentials(true)));
+	}
+
+	@Test
+	void preflightIsAnsweredWithoutTheChain() throws Exception {
+		CorsPreflightFilter filter = new CorsPreflightFilter(policies);
+		MockFilterChain chain = new MockFilterChain();
+
+		MockHttpServletResponse allowed = preflight(filter, chain, "https://app.example.com");
+		assertEquals(200, allowed.getStatus());
+		assertEquals("https://app.example.com", allowed.getHeader("Access-Control-Allow-Origin"));
+		assertNull(chain.getRequest());
+
+		assertEquals(403, preflight(filter, chain, "https://other.com").getStatus());
+		assertNull(chain.getRequest());
+	}
+
+	private static MockHttpServletResponse preflight(CorsPreflightFilter filter, MockFilterChain chain, String origin)
+			throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("OPTIONS", "/api/orders");
+		request.addHeader("Origin", origin);
+		request.addHeader("Access-Control-Request-Method", "POST");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request, response, chain);
+		return response;
+	}
+}
@@ -0,0 +1,42 @@
+package com.example.simple_security.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static com.example.simple_security.config.CompiledUrlRules.Access.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompiledUrlRulesTests {
+
+	private final CompiledUrlRules rules = new CompiledUrlRules(
+			List.of("/api/**", "/static/*.js", "/public/**", "/shared"),
+			List.of("/api/orders/{id}", "/shared"),
+			Map.of("/api/admin/**", "ADMIN", "/api/orders/{id:\\d+}/refund", "MANAGER", "/shared", "OPS"));
+
+	@Test
+	void mostSpecificPatternWins() {
+		assertEquals(PERMIT_ALL, rules.resolve("/api/products").access());
+		assertEquals(PERMIT_ALL, rules.resolve("/api").access());
+		assertEquals(ROLE, rules.resolve("/api/admin/users").access());
+		assertEquals("ADMIN", rules.resolve("/api/admin").role());
+		assertEquals(AUTHENTICATED, rules.resolve("/api/orders/42").access());
+		assertEquals("MANAGER", rules.resolve("/api/orders/42/refund").role());
+		assertEquals(PERMIT_ALL, rules.resolve("/api/orders/abc/refund").access());
+	}
+
+	@Test
+	void globsAndDefaults() {
+		assertEquals(PERMIT_ALL, rules.resolve("/static/app.js").access());
+		assertEquals(AUTHENTICATED, rules.resolve("/static/app.css").access());
+		assertEquals(AUTHENTICATED, rules.resolve("/static/js/app.js").access());
+		assertEquals(AUTHENTICATED, rules.resolve("/unknown").access());
+		assertEquals(PERMIT_ALL, rules.resolve("/public/").access());
+	}
+
+	@Test
+	void strictestRuleWinsForDuplicatePattern() {
+		assertEquals("OPS", rules.resolve("/shared").role());
+	}
+}
@@ -0,0 +1,105 @@
+package com.example.simple_security.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.context.annotation.ImportCandidates;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+import org.springframework.security.crypto.password.StandardPasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EasyPasswordEncoderTests {
+
+	@Test
+	void upgradesWeakerAndForeignHashes() {
+		try (EasyPasswordEncoder encoder = new EasyPasswordEncoder("bcrypt", 11, 2, 10)) {
+			String current = encoder.encode("secret");
+			String weaker = "{bcrypt}" + new BCryptPasswordEncoder(10).encode("secret");
+
+			assertTrue(current.startsWith("{bcrypt}$2a$11$"));
+			assertTrue(encoder.matches("secret", current));
+			assertTrue(encoder.matches("secret", weaker));
+			assertTrue(encoder.matches("secret", "{noop}secret"));
+			assertFalse(encoder.matches("wrong", current));
+			assertFalse(encoder.upgradeEncoding(current));
+			assertTrue(encoder.upgradeEncoding(weaker));
+			assertTrue(encoder.upgradeEncoding("{noop}secret"));
+		}
+	}
+
+	@Test
+	void pbkdf2HashesKeepTheirIterationCount() {
+		try (EasyPasswordEncoder old = new EasyPasswordEncoder("pbkdf2", 20_000, 0, 1);
+		     EasyPasswordEncoder current = new EasyPasswordEncoder("pbkdf2", 40_000, 0, 1)) {
+			String hash = old.encode("secret");
+
+			assertTrue(hash.startsWith("{pbkdf2-sha256}20000$"));
+			assertTrue(current.matches("secret", hash));
+			assertFalse(current.matches("wrong", hash));
+			assertTrue(current.upgradeEncoding(hash));
+			assertFalse(current.upgradeEncoding(current.encode("secret")));
+		}
+	}
+
+	@Test
+	@SuppressWarnings("deprecation")
+	void acceptsEverySpringSecurityHashId() {
+		try (EasyPasswordEncoder encoder = new EasyPasswordEncoder("bcrypt", 10, 0, 1)) {
+			String pbkdf2 = "{pbkdf2}" + Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_5().encode("secret");
+			String sha256 = "{sha256}" + new StandardPasswordEncoder().encode("secret");
+
+			assertTrue(encoder.matches("secret", pbkdf2));
+			assertFalse(encoder.matches("wrong", pbkdf2));
+			assertTrue(encoder.matches("secret", sha256));
+			assertTrue(encoder.upgradeEncoding(pbkdf2));
+		}
+	}
+
+	@Test
+	void backsOffForTheApplicationsPasswordEncoder() {
+		assertTrue(ImportCandidates.load(AutoConfiguration.class, getClass().getClassLoader()).getCandidates()
+				.contains(EasySecurityAutoConfiguration.class.getName()));
+		new ApplicationContextRunner()
+				.withConfiguration(AutoConfigurations.of(EasySecurityAutoConfiguration.class))
+				.withBean(PasswordEncoder.class, BCryptPasswordEncoder::new)
+				.run(context -> assertEquals(1, context.getBeanNamesForType(PasswordEncoder.class).length));
+	}
+
+	@Test
+	void rejectsHashingBeyondQueueCapacity() throws Exception {
+		try (EasyPasswordEncoder encoder = new EasyPasswordEncoder("bcrypt", 14, 1, 1)) {
+			CountDownLatch started = new CountDownLatch(2);
+			for (int i = 0; i < 2; i++) {
+				Thread thread = new Thread(() -> {
+					started.countDown();
+					encoder.encode("slow");
+				});
+				thread.setDaemon(true);
+				thread.start();
+			}
+			started.await();
+			// One hash runs, one waits in the queue; the next is turned away immediately
+			long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+			while (encoder.queuedCount() < 1 && System.nanoTime() < deadline) {
+				Thread.sleep(5);
+			}
+			assertThrows(IllegalStateException.class, () -> encoder.matches("x", "{noop}x"));
+			assertEquals(1, encoder.rejectedCount());
+		}
+	}
+
+	@Test
+	void calibratesWithinBounds() {
+		int strength = EasyPasswordEncoder.calibrate(EasyPasswordEncoder.BCRYPT_ID, 1);
+
+		assertEquals(EasyPasswordEncoder.MIN_BCRYPT_STRENGTH, strength);
+		assertThrows(IllegalArgumentException.class, () -> new EasyPasswordEncoder("md5", 10, 0, 1));
+	}
+}
@@ -0,0 +1,38 @@
+package com.example.simple_security.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import org.springframework.core.io.support.SpringFactoriesLoader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EasySecurityRuntimeHintsTests {
+
+	@Test
+	void isRegisteredForAotProcessing() {
+		assertTrue(SpringFactoriesLoader.forResourceLocation("META-INF/spring/aot.factories")
+				.load(RuntimeHintsRegistrar.class).stream()
+				.anyMatch(EasySecurityRuntimeHints.class::isInstance));
+	}
+
+	@Test
+	void coversPropertiesBindingAndJjwtServiceLoading() {
+		RuntimeHints hints = new RuntimeHints();
+		new EasySecurityRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+		assertTrue(RuntimeHintsPredicates.reflection().onType(EasySecurityProperties.class).test(hints));
+		assertTrue(RuntimeHintsPredicates.reflection().onType(EasySecurityProperties.KeyStore.class).test(hints));
+		assertTrue(RuntimeHintsPredicates.reflection().onType(EasySecurityProperties.AuditCategory.class).test(hints));
+		for (String type : EasySecurityRuntimeHints.JJWT_IMPLEMENTATIONS) {
+			assertTrue(RuntimeHintsPredicates.reflection().onType(TypeReference.of(type))
+					.withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS).test(hints), type);
+		}
+		for (String service : EasySecurityRuntimeHints.JJWT_SERVICES) {
+			assertTrue(RuntimeHintsPredicates.resource().forResource("META-INF/services/" + service).test(hints), service);
+		}
+	}
+}
@@ -0,0 +1,81 @@
+package com.example.simple_security.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JWTValidateTests {
+
+	private final AtomicInteger lookups = new AtomicInteger();
+	private final JwtUtils jwtUtils = TestJwtUtils.withSecret();
+	private final JWTValidate filter = new JWTValidate(jwtUtils, provider(UserDetailsService.class, username -> {
+		lookups.incrementAndGet();
+		return User.withUsername(username).password("{noop}x").roles("USER").build();
+	}), provider(EasySecurityMetrics.class, null));
+
+	private static <T> ObjectProvider<T> provider(Class<T> type, T bean) {
+		StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+		if (bean != null) {
+			beanFactory.addBean(type.getSimpleName(), bean);
+		}
+		return beanFactory.getBeanProvider(type);
+	}
+
+	private MockHttpServletRequest request(String path) {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+		request.addHeader("Authorization", "Bearer " + jwtUtils.generateToken("alice"));
+		return request;
+	}
+
+	@AfterEach
+	void clearContext() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void permittedUrlsBypassTokenVerification() throws Exception {
+		filter.setUrlRules(new CompiledUrlRules(List.of("/public/**"), List.of(), Map.of("/public/admin/**", "ADMIN")));
+		AtomicReference<Authentication> seen = new AtomicReference<>();
+
+		filter.doFilter(request("/public/logo.png"), new MockHttpServletResponse(),
+				(req, res) -> seen.set(SecurityContextHolder.getContext().getAuthentication()));
+		assertNull(seen.get());
+		assertEquals(0, lookups.get());
+
+		filter.doFilter(request("/public/admin/users"), new MockHttpServletResponse(),
+				(req, res) -> seen.set(SecurityContextHolder.getContext().getAuthentication()));
+		assertEquals("alice", seen.get().getName());
+		assertEquals(1, lookups.get());
+	}
+
+	@Test
+	void lazyAuthenticationVerifiesOnFirstAccess() throws Exception {
+		filter.setLazyAuthentication(true);
+		AtomicInteger lookupsBeforeAccess = new AtomicInteger(-1);
+		AtomicReference<Authentication> seen = new AtomicReference<>();
+
+		filter.doFilter(request("/api/orders"), new MockHttpServletResponse(), (req, res) -> {
+			lookupsBeforeAccess.set(lookups.get());
+			seen.set(SecurityContextHolder.getContext().getAuthentication());
+			SecurityContextHolder.getContext().getAuthentication();
+		});
+
+		assertEquals(0, lookupsBeforeAccess.get());
+		assertEquals("alice", seen.get().getName());
+		assertEquals(1, lookups.get());
+	}
+}
@@ -0,0 +1,175 @@
+package com.example.simple_security.config;
+
+import com.sun.net.httpserver.HttpServer;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwks;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwksKeySourceTests {
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void unknownKidTriggersOneRateLimitedRefetch() throws Exception {
+		KeyPair a = generate();
+		KeyPair b = generate();
+		Path jwks = dir.resolve("jwks.json");
+		Files.writeString(jwks, jwks(Map.of("a", a)));
+
+		JwtUtils jwtUtils = TestJwtUtils.bind(Map.of(
+				"easysecurity.jwt.jwks.uri", jwks.toUri().toString(),
+				"easysecurity.jwt.jwks.min-refetch-seconds", "60"));
+		JwksKeySource source = jwtUtils.getJwksSource();
+		try {
+			assertTrue(jwtUtils.verify(sign("a", a, Map.of())).isValidFor("alice"));
+
+			// The issuer rotates in key b: the first token signed with it fails and schedules a refetch
+			Files.writeString(jwks, jwks(Map.of("a", a, "b", b)));
+			String rotated = sign("b", b, Map.of());
+			assertEquals(VerifiedToken.Failure.BAD_SIGNATURE, jwtUtils.verify(rotated).getFailure());
+			awaitKey(source, "b");
+			assertTrue(jwtUtils.verify(rotated).isValidFor("alice"));
+
+			// A second unknown kid within the window does not hit the source again
+			assertFalse(jwtUtils.verify(sign("c", generate(), Map.of())).isValid());
+			Thread.sleep(100);
+			assertEquals(1, source.refetchCount());
+			assertEquals(2, source.fetchCount());
+		} finally {
+			source.close();
+		}
+	}
+
+	@Test
+	void rotationToAnotherKeyTypePassesThePrecheckAndRefetches() throws Exception {
+		KeyPair rsa = generate();
+		KeyPair ec = generateEc();
+		Path jwks = dir.resolve("jwks.json");
+		Files.writeString(jwks, jwks(Map.of("rsa", rsa)));
+
+		JwtUtils jwtUtils = TestJwtUtils.bind(Map.of("easysecurity.jwt.jwks.uri", jwks.toUri().toString()));
+		JwksKeySource source = jwtUtils.getJwksSource();
+		try {
+			assertTrue(jwtUtils.verify(sign("rsa", rsa, Map.of())).isValidFor("alice"));
+
+			// The provider moves from RSA to EC: ES256 is not an algorithm of any loaded key, yet the token reaches the ring
+			Files.writeString(jwks, jwks(Map.of("ec", ec)));
+			String rotated = sign("ec", ec, Map.of());
+			assertEquals(VerifiedToken.Failure.BAD_SIGNATURE, jwtUtils.verify(rotated).getFailure());
+			awaitKey(source, "ec");
+			assertTrue(jwtUtils.verify(rotated).isValidFor("alice"));
+			assertEquals(1, source.refetchCount());
+			assertEquals(0, jwtUtils.getPrecheck().rejectedCount(TokenPrecheck.Reason.ALGORITHM));
+		} finally {
+			source.close();
+		}
+	}
+
+	@Test
+	void httpSourceRevalidatesAndEnforcesIssuerAndAudience() throws Exception {
+		KeyPair a = generate();
+		String document = jwks(Map.of("a", a));
+		AtomicInteger requests = new AtomicInteger();
+		AtomicInteger notModified = new AtomicInteger();
+		AtomicInteger status = new AtomicInteger(200);
+		HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.createContext("/jwks.json", exchange -> {
+			requests.incrementAndGet();
+			if ("\"v1\"".equals(exchange.getRequestHeaders().getFirst("If-None-Match")) && status.get() == 200) {
+				notModified.incrementAndGet();
+				exchange.sendResponseHeaders(304, -1);
+			} else {
+				byte[] body = document.getBytes(StandardCharsets.UTF_8);
+				exchange.getResponseHeaders().set("ETag", "\"v1\"");
+				exchange.sendResponseHeaders(status.get(), body.length);
+				exchange.getResponseBody().write(body);
+			}
+			exchange.close();
+		});
+		server.start();
+		try {
+			JwtUtils jwtUtils = TestJwtUtils.bind(Map.of(
+					"easysecurity.jwt.jwks.uri", "http://127.0.0.1:" + server.getAddress().getPort() + "/jwks.json",
+					"easysecurity.jwt.jwks.issuer", "https://idp.example.com/",
+					"easysecurity.jwt.jwks.audience", "orders-api"));
+			JwksKeySource source = jwtUtils.getJwksSource();
+			try {
+				VerifiedToken token = jwtUtils.verify(sign("a", a, Map.of(
+						"iss", "https://idp.example.com/", "aud", "orders-api", "scope", "orders:read orders:write")));
+				assertTrue(token.isValidFor("alice"));
+				assertEquals(List.of(new SimpleGrantedAuthority("SCOPE_orders:read"), new SimpleGrantedAuthority("SCOPE_orders:write")),
+						token.getAuthorities());
+				assertEquals(VerifiedToken.Failure.INVALID_CLAIMS, jwtUtils.verify(sign("a", a, Map.of(
+						"iss", "https://other.example.com/", "aud", "orders-api"))).getFailure());
+				assertEquals(VerifiedToken.Failure.INVALID_CLAIMS, jwtUtils.verify(sign("a", a, Map.of(
+						"iss", "https://idp.example.com/"))).getFailure());
+
+				assertTrue(source.fetch());
+				assertEquals(1, notModified.get());
+
+				// A failing provider leaves the loaded keys in place
+				status.set(500);
+				assertFalse(source.fetch());
+				assertEquals(1, source.getKeyRing().getKeys().size());
+				assertEquals(3, requests.get());
+			} finally {
+				source.close();
+			}
+		} finally {
+			server.stop(0);
+		}
+	}
+
+	private static void awaitKey(JwksKeySource source, String kid) throws InterruptedException {
+		for (int i = 0; i < 100 && source.getKeyRing().verificationKey(kid) == null; i++) {
+			Thread.sleep(20);
+		}
+	}
+
+	private static String sign(String kid, KeyPair keyPair, Map<String, String> claims) {
+		var builder = Jwts.builder().header().keyId(kid).and().subject("alice");
+		claims.forEach((name, value) -> {
+			if (name.equals("aud")) {
+				builder.audience().add(value);
+			} else {
+				builder.claim(name, value);
+			}
+		});
+		return builder.signWith(keyPair.getPrivate()).compact();
+	}
+
+	private static String jwks(Map<String, KeyPair> keys) {
+		return keys.entrySet().stream()
+				.map(entry -> Jwks.UNSAFE_JSON(Jwks.builder().key(entry.getValue().getPublic()).id(entry.getKey()).build()))
+				.collect(Collectors.joining(",", "{\"keys\":[", "]}"));
+	}
+
+	private static KeyPair generate() throws Exception {
+		KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+		generator.initialize(2048);
+		return generator.generateKeyPair();
+	}
+
+	private static KeyPair generateEc() throws Exception {
+		KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+		generator.initialize(new ECGenParameterSpec("secp256r1"));
+		return generator.generateKeyPair();
+	}
+}
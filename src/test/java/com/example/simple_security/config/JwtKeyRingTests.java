@@ -0,0 +1,97 @@
+package com.example.simple_security.config;
+
+import io.jsonwebtoken.security.Jwks;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtKeyRingTests {
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void verificationOnlyNodeValidatesButCannotSign() throws Exception {
+		KeyPair rsa = generate("RSA");
+		Path privatePem = pem(dir.resolve("rsa.pem"), "PRIVATE KEY", rsa.getPrivate().getEncoded());
+		Path publicPem = pem(dir.resolve("rsa.pub.pem"), "PUBLIC KEY", rsa.getPublic().getEncoded());
+
+		JwtUtils signer = TestJwtUtils.bind(Map.of(
+				"easysecurity.jwt.keys[0].kid", "rsa-1",
+				"easysecurity.jwt.keys[0].private-key", privatePem.toString()));
+		JwtUtils verifier = TestJwtUtils.bind(Map.of(
+				"easysecurity.jwt.keys[0].kid", "rsa-1",
+				"easysecurity.jwt.keys[0].public-key", publicPem.toString()));
+
+		String token = signer.generateToken("alice");
+
+		assertEquals("alice", verifier.verify(token).getSubject());
+		assertThrows(IllegalStateException.class, () -> verifier.generateToken("alice"));
+	}
+
+	@Test
+	void rotatesToNewestActiveKeyAndKeepsOverlap() throws Exception {
+		KeyPair ec = generate("EC");
+		Path oldJwk = dir.resolve("old.json");
+		Files.writeString(oldJwk, Jwks.UNSAFE_JSON(Jwks.builder().keyPair(ec).idFromThumbprint().build()));
+		KeyPair ed = generate("Ed25519");
+		Path newPrivate = pem(dir.resolve("ed.pem"), "PRIVATE KEY", ed.getPrivate().getEncoded());
+		Path newPublic = pem(dir.resolve("ed.pub.pem"), "PUBLIC KEY", ed.getPublic().getEncoded());
+
+		Map<String, String> properties = Map.of(
+				"easysecurity.jwt.keys[0].jwk", oldJwk.toString(),
+				"easysecurity.jwt.keys[0].retire-at", Instant.now().plusSeconds(3600).toString(),
+				"easysecurity.jwt.keys[1].kid", "ed-2",
+				"easysecurity.jwt.keys[1].private-key", newPrivate.toString(),
+				"easysecurity.jwt.keys[1].public-key", newPublic.toString(),
+				"easysecurity.jwt.keys[1].activate-at", Instant.now().minusSeconds(60).toString());
+		JwtUtils jwtUtils = TestJwtUtils.bind(properties);
+
+		JwtKeyRing ring = jwtUtils.getKeyRing();
+		assertEquals("ed-2", ring.signingKey().getKid());
+
+		String oldKid = ring.getKeys().get(0).getKid();
+		assertNotNull(ring.verificationKey(oldKid));
+		String token = jwtUtils.generateToken("alice");
+		assertTrue(jwtUtils.verify(token).isValidFor("alice"));
+	}
+
+	@Test
+	void unknownKidIsRejected() throws Exception {
+		KeyPair rsa = generate("RSA");
+		Path privatePem = pem(dir.resolve("rsa.pem"), "PRIVATE KEY", rsa.getPrivate().getEncoded());
+		JwtUtils signer = TestJwtUtils.bind(Map.of(
+				"easysecurity.jwt.keys[0].kid", "rsa-1",
+				"easysecurity.jwt.keys[0].private-key", privatePem.toString()));
+		JwtUtils other = TestJwtUtils.bind(Map.of(
+				"easysecurity.jwt.keys[0].kid", "rsa-2",
+				"easysecurity.jwt.keys[0].private-key", privatePem.toString()));
+
+		assertEquals(VerifiedToken.Failure.BAD_SIGNATURE, other.verify(signer.generateToken("alice")).getFailure());
+	}
+
+	private static KeyPair generate(String algorithm) throws Exception {
+		KeyPairGenerator generator = KeyPairGenerator.getInstance(algorithm);
+		if ("EC".equals(algorithm)) {
+			generator.initialize(new ECGenParameterSpec("secp256r1"));
+		} else if ("RSA".equals(algorithm)) {
+			generator.initialize(2048);
+		}
+		return generator.generateKeyPair();
+	}
+
+	private static Path pem(Path path, String type, byte[] der) throws Exception {
+		String body = Base64.getMimeEncoder(64, "\n".getBytes()).encodeToString(der);
+		return Files.writeString(path, "-----BEGIN " + type + "-----\n" + body + "\n-----END " + type + "-----\n");
+	}
+}
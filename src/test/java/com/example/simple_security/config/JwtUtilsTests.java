@@ -0,0 +1,205 @@
+package com.example.simple_security.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.example.simple_security.config.TestJwtUtils.Feature.CACHE;
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtUtilsTests {
+
+	@Test
+	void verifiesGeneratedTokenOnce() {
+		JwtUtils jwtUtils = TestJwtUtils.withSecret();
+		String token = jwtUtils.generateToken("alice");
+
+		VerifiedToken verified = jwtUtils.verify(token);
+
+		assertTrue(verified.isValid());
+		assertEquals("alice", verified.getSubject());
+		assertNotNull(verified.getExpiration());
+		assertNotNull(verified.getIssuedAt());
+		assertTrue(verified.isValidFor("alice"));
+		assertFalse(verified.isValidFor("bob"));
+	}
+
+	@Test
+	void reportsFailureReasons() {
+		JwtUtils jwtUtils = TestJwtUtils.withSecret();
+		String foreign = TestJwtUtils.withSecret("another-secret-key-that-is-long-enough!").generateToken("alice");
+
+		assertEquals(VerifiedToken.Failure.BAD_SIGNATURE, jwtUtils.verify(foreign).getFailure());
+		assertEquals(VerifiedToken.Failure.REJECTED, jwtUtils.verify("not-a-token").getFailure());
+		assertEquals(VerifiedToken.Failure.MALFORMED, jwtUtils.verify("").getFailure());
+		assertNull(jwtUtils.extractUserName("not-a-token"));
+		assertFalse(jwtUtils.validateToken(foreign, "alice"));
+	}
+
+	@Test
+	void rejectsExpiredToken() {
+		JwtUtils jwtUtils = TestJwtUtils.withSecret();
+		String token = jwtUtils.generateToken("alice", -1);
+
+		assertEquals(VerifiedToken.Failure.EXPIRED, jwtUtils.verify(token).getFailure());
+	}
+
+	@Test
+	void cacheHitSkipsVerification() {
+		JwtUtils jwtUtils = TestJwtUtils.withSecret(CACHE);
+		String token = jwtUtils.generateToken("alice");
+
+		VerifiedToken first = jwtUtils.verify(token);
+		VerifiedToken second = jwtUtils.verify(token);
+
+		assertSame(first, second);
+		assertEquals(1, jwtUtils.getTokenCache().hitCount());
+		assertEquals(1, jwtUtils.getTokenCache().missCount());
+		assertEquals(VerifiedToken.Failure.REJECTED, jwtUtils.verify("not-a-token").getFailure());
+		assertEquals(1, jwtUtils.getTokenCache().size());
+	}
+
+	@Test
+	void embedsAuthoritiesAndCustomClaims() {
+		JwtUtils jwtUtils = TestJwtUtils.withSecret();
+		String token = jwtUtils.generateToken("alice",
+				AuthorityUtils.createAuthorityList("ROLE_ADMIN", "orders:read"), Map.of("tenant", "acme"), 5);
+
+		VerifiedToken verified = jwtUtils.verify(token);
+
+		assertEquals(AuthorityUtils.createAuthorityList("ROLE_ADMIN", "orders:read"), verified.getAuthorities());
+		assertEquals("acme", verified.getClaims().get("tenant"));
+		assertThrows(IllegalArgumentException.class,
+				() -> jwtUtils.generateToken("alice", null, Map.of("sub", "mallory"), 5));
+		assertThrows(IllegalArgumentException.class,
+				() -> jwtUtils.generateToken("alice", null, Map.of("iss", "https://acme.example.com"), 5));
+		assertThrows(IllegalArgumentException.class,
+				() -> jwtUtils.generateToken("alice", null, Map.of("aud", "orders-api"), 5));
+	}
+
+	@Test
+	void precheckRejectsJunkBeforeParsing() {
+		EasySecurityProperties properties = new EasySecurityProperties();
+		properties.getJwt().setSecret(TestJwtUtils.SECRET);
+		properties.getJwt().getPrecheck().setMaxLength(1024);
+		JwtUtils jwtUtils = new JwtUtils(properties);
+		TokenPrecheck precheck = jwtUtils.getPrecheck();
+		String token = jwtUtils.generateToken("alice");
+		String payloadAndSignature = token.substring(token.indexOf('.'));
+
+		assertTrue(jwtUtils.verify(token).isValid());
+		assertEquals(VerifiedToken.Failure.REJECTED, jwtUtils.verify("a".repeat(1025)).getFailure());
+		assertEquals(VerifiedToken.Failure.REJECTED, jwtUtils.verify("abc.def").getFailure());
+		assertEquals(VerifiedToken.Failure.REJECTED, jwtUtils.verify(token + "=").getFailure());
+		// {"alg":"none"} and {"alg":"HS512"} — neither is usable with a 39-byte HMAC key
+		assertEquals(VerifiedToken.Failure.REJECTED, jwtUtils.verify("eyJhbGciOiJub25lIn0" + payloadAndSignature).getFailure());
+		assertEquals(VerifiedToken.Failure.REJECTED, jwtUtils.verify("eyJhbGciOiJIUzUxMiJ9" + payloadAndSignature).getFailure());
+		// Passes the pre-check, fails the signature
+		assertEquals(VerifiedToken.Failure.BAD_SIGNATURE,
+				jwtUtils.verify(token.substring(0, token.length() - 4) + "AAAA").getFailure());
+
+		assertEquals(1, precheck.rejectedCount(TokenPrecheck.Reason.TOO_LONG));
+		assertEquals(1, precheck.rejectedCount(TokenPrecheck.Reason.STRUCTURE));
+		assertEquals(1, precheck.rejectedCount(TokenPrecheck.Reason.ALPHABET));
+		assertEquals(2, precheck.rejectedCount(TokenPrecheck.Reason.ALGORITHM));
+		assertEquals(5, precheck.rejectedCount());
+	}
+
+	@Test
+	void issuesBatchWithPerTokenClaims() throws Exception {
+		JwtUtils jwtUtils = TestJwtUtils.withSecret();
+		List<TokenSpec> specs = new ArrayList<>();
+		for (int i = 0; i < 200; i++) {
+			specs.add(new TokenSpec("device-" + i)
+					.authorities(AuthorityUtils.createAuthorityList("ROLE_DEVICE"))
+					.claims(Map.of("slot", i))
+					.expirationMinutes(i + 1));
+		}
+
+		List<String> tokens = jwtUtils.generateTokens(specs);
+
+		assertEquals(200, tokens.size());
+		Set<String> tokenIds = new HashSet<>();
+		for (int i = 0; i < tokens.size(); i++) {
+			VerifiedToken verified = jwtUtils.verify(tokens.get(i));
+			assertTrue(verified.isValidFor("device-" + i));
+			assertEquals(i, verified.getClaims().get("slot"));
+			assertEquals(AuthorityUtils.createAuthorityList("ROLE_DEVICE"), verified.getAuthorities());
+			assertEquals((i + 1) * 60_000L,
+					verified.getExpiration().toEpochMilli() - verified.getIssuedAt().toEpochMilli());
+			tokenIds.add(verified.getTokenId());
+		}
+		assertEquals(200, tokenIds.size());
+		assertThrows(IllegalArgumentException.class,
+				() -> jwtUtils.generateTokens(List.of(new TokenSpec("alice").claims(Map.of("jti", "x")))));
+
+		// RSA keys sign through the per-thread Signature as well
+		KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+		generator.initialize(2048);
+		KeyPair rsa = generator.generateKeyPair();
+		jwtUtils.getKeyRing().setKeys(List.of(new JwtKeyRing.KeyVersion("rsa", rsa.getPublic(), rsa.getPrivate(), null, null)));
+		for (String token : jwtUtils.generateTokens(specs.subList(0, 100))) {
+			assertTrue(jwtUtils.verify(token).isValid());
+		}
+	}
+
+	@Test
+	void compactTokensAreSmallerAndStillCarryAuthorities() {
+		EasySecurityProperties properties = new EasySecurityProperties();
+		properties.getJwt().setSecret(TestJwtUtils.SECRET);
+		properties.getJwt().setFormat(TokenFormat.COMPACT);
+		properties.getJwt().getCompact().setCompressAbove(200);
+		JwtUtils compact = new JwtUtils(properties);
+		JwtUtils standard = TestJwtUtils.withSecret();
+
+		List<GrantedAuthority> authorities =
+				AuthorityUtils.createAuthorityList("ROLE_USER", "ROLE_ADMIN");
+		Map<String, Object> large = new HashMap<>();
+		for (int i = 0; i < 50; i++) {
+			large.put("claim" + i, "value-" + i);
+		}
+
+		String small = compact.generateToken("alice", authorities, null, 30);
+		String compressed = compact.generateToken("alice", authorities, large, 30);
+
+		assertTrue(small.length() < standard.generateToken("alice", authorities, null, 30).length());
+		assertTrue(compressed.length() < standard.generateToken("alice", authorities, large, 30).length() / 2);
+		// Tokens of either format verify on any node
+		for (String token : List.of(small, compressed)) {
+			VerifiedToken verified = standard.verify(token);
+			assertTrue(verified.isValidFor("alice"));
+			assertEquals(authorities, verified.getAuthorities());
+		}
+		assertEquals("value-7", standard.verify(compressed).getClaims().get("claim7"));
+	}
+
+	@Test
+	void referenceTokensResolveThroughLocalStore() {
+		EasySecurityProperties properties = new EasySecurityProperties();
+		properties.getJwt().setSecret(TestJwtUtils.SECRET);
+		properties.getJwt().setFormat(TokenFormat.REFERENCE);
+		JwtUtils jwtUtils = new JwtUtils(properties);
+
+		String handle = jwtUtils.generateToken("alice", AuthorityUtils.createAuthorityList("ROLE_USER"), Map.of("tenant", "acme"), 30);
+
+		assertEquals(32, handle.length());
+		VerifiedToken verified = jwtUtils.verify(handle);
+		assertTrue(verified.isValidFor("alice"));
+		assertEquals("acme", verified.getClaims().get("tenant"));
+		assertEquals(AuthorityUtils.createAuthorityList("ROLE_USER"), verified.getAuthorities());
+
+		jwtUtils.getReferenceTokens().remove(handle);
+		assertEquals(VerifiedToken.Failure.UNKNOWN, jwtUtils.verify(handle).getFailure());
+		// A node without the store rejects handles up front
+		assertEquals(VerifiedToken.Failure.REJECTED, TestJwtUtils.withSecret().verify(handle).getFailure());
+	}
+}
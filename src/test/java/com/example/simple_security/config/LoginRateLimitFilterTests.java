@@ -0,0 +1,60 @@
+package com.example.simple_security.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginRateLimitFilterTests {
+
+	private static LoginRateLimitFilter filter(int ipCapacity, int usernameCapacity) {
+		EasySecurityProperties.RateLimit properties = new EasySecurityProperties.RateLimit();
+		properties.getIp().setCapacity(ipCapacity);
+		properties.getUsername().setCapacity(usernameCapacity);
+		return new LoginRateLimitFilter("/login", properties);
+	}
+
+	private static MockHttpServletResponse attempt(LoginRateLimitFilter filter, String ip, String username) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/login");
+		request.setRemoteAddr(ip);
+		request.setParameter("username", username);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request, response, new MockFilterChain());
+		return response;
+	}
+
+	@Test
+	void throttlesUsernameAcrossIps() throws Exception {
+		LoginRateLimitFilter filter = filter(100, 3);
+
+		for (int i = 0; i < 3; i++) {
+			assertEquals(200, attempt(filter, "10.0.0." + i, "alice").getStatus());
+		}
+		MockHttpServletResponse throttled = attempt(filter, "10.0.0.9", "Alice ");
+
+		assertEquals(429, throttled.getStatus());
+		assertNotNull(throttled.getHeader("Retry-After"));
+		assertEquals(200, attempt(filter, "10.0.0.9", "bob").getStatus());
+		assertEquals(1, filter.throttledByUsernameCount());
+	}
+
+	@Test
+	void throttlesIpAndIgnoresOtherRequests() throws Exception {
+		LoginRateLimitFilter filter = filter(2, 100);
+
+		assertEquals(200, attempt(filter, "10.0.0.1", "alice").getStatus());
+		assertEquals(200, attempt(filter, "10.0.0.1", "bob").getStatus());
+		assertEquals(429, attempt(filter, "10.0.0.1", "carol").getStatus());
+		assertEquals(200, attempt(filter, "10.0.0.2", "carol").getStatus());
+		assertEquals(1, filter.throttledByIpCount());
+
+		// Only POSTs to the login URL are counted
+		MockHttpServletRequest page = new MockHttpServletRequest("GET", "/login");
+		page.setRemoteAddr("10.0.0.1");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(page, response, new MockFilterChain());
+		assertEquals(200, response.getStatus());
+	}
+}
@@ -0,0 +1,75 @@
+package com.example.simple_security.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MicrometerEasySecurityMetricsTests {
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+	@Test
+	void registersEveryMeterUpFront() {
+		new MicrometerEasySecurityMetrics(registry);
+
+		assertEquals(VerifiedToken.Failure.values().length + 1,
+				registry.find("easysecurity.jwt.verification").timers().size());
+		assertNotNull(registry.find("easysecurity.jwt.verification").tag("outcome", "valid").timer());
+		assertNotNull(registry.find("easysecurity.user.lookup").timer());
+		assertEquals(0, registry.get("easysecurity.jwt.issued").counter().count());
+		assertEquals(0, registry.get("easysecurity.jwt.requests").tag("result", "skipped").counter().count());
+		assertEquals(0, registry.get("easysecurity.jwt.requests").tag("result", "rejected").counter().count());
+	}
+
+	@Test
+	void recordsEachOutcomeUnderItsOwnTag() {
+		MicrometerEasySecurityMetrics metrics = new MicrometerEasySecurityMetrics(registry);
+
+		metrics.recordVerification(null, 1_000);
+		for (VerifiedToken.Failure failure : VerifiedToken.Failure.values()) {
+			metrics.recordVerification(failure, 2_000);
+		}
+		assertEquals(1, verification("valid").count());
+		for (VerifiedToken.Failure failure : VerifiedToken.Failure.values()) {
+			String outcome = failure.name().toLowerCase(Locale.ROOT);
+			assertEquals(1, verification(outcome).count(), outcome);
+			assertEquals(2_000, verification(outcome).totalTime(TimeUnit.NANOSECONDS), outcome);
+		}
+
+		metrics.recordUserLookup(5_000);
+		metrics.tokenIssued();
+		metrics.tokenIssued();
+		metrics.requestSkipped();
+		metrics.requestRejected();
+		metrics.requestRejected();
+		metrics.requestRejected();
+		assertEquals(1, registry.get("easysecurity.user.lookup").timer().count());
+		assertEquals(2, registry.get("easysecurity.jwt.issued").counter().count());
+		assertEquals(1, registry.get("easysecurity.jwt.requests").tag("result", "skipped").counter().count());
+		assertEquals(3, registry.get("easysecurity.jwt.requests").tag("result", "rejected").counter().count());
+	}
+
+	@Test
+	void autoConfigurationUsesTheMeterRegistryWhenPresent() {
+		ApplicationContextRunner runner = new ApplicationContextRunner()
+				.withConfiguration(AutoConfigurations.of(EasySecurityAutoConfiguration.class));
+
+		runner.withBean(MeterRegistry.class, () -> registry).run(context -> {
+			assertInstanceOf(MicrometerEasySecurityMetrics.class, context.getBean(EasySecurityMetrics.class));
+			assertNotNull(registry.find("easysecurity.jwt.issued").counter());
+		});
+		runner.run(context -> assertSame(EasySecurityMetrics.NOOP, context.getBean(EasySecurityMetrics.class)));
+	}
+
+	private Timer verification(String outcome) {
+		return registry.get("easysecurity.jwt.verification").tag("outcome", outcome).timer();
+	}
+}
@@ -0,0 +1,74 @@
+package com.example.simple_security.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class PersistentKeyStoreTests {
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void tokensSurviveRestart() throws Exception {
+		Path file = dir.resolve("keys/jwt-keys");
+		Map<String, String> properties = Map.of("easysecurity.jwt.key-store.path", file.toString());
+
+		String token = TestJwtUtils.bind(properties).generateToken("alice");
+		JwtUtils restarted = TestJwtUtils.bind(properties);
+
+		assertTrue(restarted.verify(token).isValidFor("alice"));
+		if (posix()) {
+			assertEquals("rw-------", PosixFilePermissions.toString(Files.getPosixFilePermissions(file)));
+		}
+	}
+
+	@Test
+	void previousKeyVerifiesDuringGraceWindow() {
+		PersistentKeyStore store = new PersistentKeyStore(dir.resolve("jwt-keys"), Duration.ofDays(1), Duration.ofHours(1));
+		long start = 1_800_000_000L;
+		long rotation = start + 86_400;
+
+		// The successor is published a rotation period ahead
+		List<String> initial = kids(store.load(start));
+		assertEquals(2, initial.size());
+
+		// After the switch the old key still verifies, and the next successor is published
+		List<String> rotated = kids(store.load(rotation + 10));
+		assertEquals(List.of(initial.get(0), initial.get(1)), rotated.subList(0, 2));
+		assertEquals(3, rotated.size());
+
+		// Once the grace window has passed the old key is dropped
+		List<String> afterGrace = kids(store.load(rotation + 3_600));
+		assertEquals(rotated.subList(1, 3), afterGrace);
+	}
+
+	@Test
+	void rejectsFileOthersCanRead() throws Exception {
+		assumeTrue(posix());
+		Path file = dir.resolve("jwt-keys");
+		PersistentKeyStore store = new PersistentKeyStore(file, Duration.ZERO, Duration.ZERO);
+		store.load();
+
+		Files.setPosixFilePermissions(file, PosixFilePermissions.fromString("rw-r--r--"));
+
+		assertThrows(IllegalStateException.class, store::load);
+	}
+
+	private static List<String> kids(List<JwtKeyRing.KeyVersion> versions) {
+		return versions.stream().map(JwtKeyRing.KeyVersion::getKid).toList();
+	}
+
+	private boolean posix() {
+		return dir.getFileSystem().supportedFileAttributeViews().contains("posix");
+	}
+}
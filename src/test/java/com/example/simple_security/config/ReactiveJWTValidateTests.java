@@ -0,0 +1,94 @@
+package com.example.simple_security.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.userdetails.MapReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReactiveJWTValidateTests {
+
+	private final JwtUtils jwtUtils = TestJwtUtils.withSecret();
+
+	private static Authentication filter(ReactiveJWTValidate filter, String token) {
+		MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get("/api/orders");
+		if (token != null) {
+			request.header("Authorization", "Bearer " + token);
+		}
+		AtomicReference<Authentication> seen = new AtomicReference<>();
+		WebFilterChain chain = exchange -> ReactiveSecurityContextHolder.getContext()
+				.map(SecurityContext::getAuthentication)
+				.doOnNext(seen::set)
+				.then();
+		filter.filter(MockServerWebExchange.from(request), chain).block();
+		return seen.get();
+	}
+
+	@Test
+	void authenticatesThroughReactiveUserDetailsService() {
+		UserDetails alice = User.withUsername("alice").password("{noop}x").roles("ADMIN").build();
+		ReactiveUserDetailsLoader loader = new ReactiveUserDetailsLoader(new MapReactiveUserDetailsService(alice));
+		ReactiveJWTValidate filter = new ReactiveJWTValidate(jwtUtils, loader, EasySecurityMetrics.NOOP, false);
+
+		Authentication authentication = filter(filter, jwtUtils.generateToken("alice"));
+
+		assertNotNull(authentication);
+		assertEquals("alice", ((UserDetails) authentication.getPrincipal()).getUsername());
+		assertEquals(AuthorityUtils.createAuthorityList("ROLE_ADMIN"), authentication.getAuthorities());
+		assertNull(filter(filter, jwtUtils.generateToken("mallory")));
+		assertNull(filter(filter, "not-a-token"));
+		assertNull(filter(filter, null));
+	}
+
+	@Test
+	void statelessModeReadsAuthoritiesFromClaims() {
+		ReactiveJWTValidate filter = new ReactiveJWTValidate(jwtUtils, null, EasySecurityMetrics.NOOP, true);
+		String token = jwtUtils.generateToken("bob", AuthorityUtils.createAuthorityList("ROLE_USER"), null, 5);
+
+		Authentication authentication = filter(filter, token);
+
+		assertEquals("bob", authentication.getPrincipal());
+		assertEquals(AuthorityUtils.createAuthorityList("ROLE_USER"), authentication.getAuthorities());
+	}
+
+	@Test
+	void concurrentMissesShareOneLookup() {
+		UserDetails alice = User.withUsername("alice").password("{noop}x").roles("USER").build();
+		Sinks.One<UserDetails> pending = Sinks.one();
+		AtomicInteger calls = new AtomicInteger();
+		ReactiveUserDetailsService service = username -> {
+			calls.incrementAndGet();
+			return pending.asMono();
+		};
+		ReactiveUserDetailsLoader loader = new ReactiveUserDetailsLoader(service);
+		loader.setCache(new InMemoryUserDetailsCache(Duration.ofMinutes(1), 100));
+
+		Mono<UserDetails> first = loader.load("alice").cache();
+		Mono<UserDetails> second = loader.load("alice").cache();
+		first.subscribe();
+		second.subscribe();
+		pending.tryEmitValue(alice);
+
+		assertSame(alice, first.block());
+		assertSame(alice, second.block());
+		assertSame(alice, loader.load("alice").block());
+		assertEquals(1, calls.get());
+		assertEquals(1, loader.coalescedCount());
+		assertEquals(1, loader.hitCount());
+	}
+}
@@ -0,0 +1,72 @@
+package com.example.simple_security.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SecurityAuditLogTests {
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void deliversEventsAndRateLimitsEachCategory() throws Exception {
+		EasySecurityProperties.AuditCategory tokens = new EasySecurityProperties.AuditCategory();
+		tokens.setMaxPerSecond(5);
+		List<String> received = new CopyOnWriteArrayList<>();
+		Path file = dir.resolve("audit.jsonl");
+		SecurityAuditLog auditLog = new SecurityAuditLog(64, Map.of("token-rejected", tokens),
+				List.of(event -> received.add(event.getType() + ":" + event.getDetail()), new FileAuditSink(file)));
+
+		for (int i = 0; i < 20; i++) {
+			auditLog.record(AuditEvent.Type.TOKEN_REJECTED, null, "10.0.0.1", "/api", "EXPIRED");
+		}
+		auditLog.record(AuditEvent.Type.LOGIN_THROTTLED, "alice \"admin\"", "10.0.0.1", "/login", "username");
+		auditLog.close();
+
+		assertEquals(6, received.size());
+		assertEquals("LOGIN_THROTTLED:username", received.get(5));
+		assertEquals(15, auditLog.suppressedCount());
+
+		List<String> lines = Files.readAllLines(file);
+		assertEquals(6, lines.size());
+		assertTrue(lines.get(5).contains("\"type\":\"LOGIN_THROTTLED\",\"principal\":\"alice \\\"admin\\\"\""), lines.get(5));
+	}
+
+	@Test
+	void dropsEventsWhenBufferIsFullInsteadOfBlocking() throws Exception {
+		CountDownLatch entered = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		List<AuditEvent.Type> received = new CopyOnWriteArrayList<>();
+		SecurityAuditLog auditLog = new SecurityAuditLog(4, Map.of(), List.of(event -> {
+			received.add(event.getType());
+			entered.countDown();
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}));
+
+		auditLog.record(AuditEvent.Type.USER_LOOKUP_FAILED, "alice", null, "/api", "IllegalStateException");
+		assertTrue(entered.await(5, TimeUnit.SECONDS));
+		for (int i = 0; i < 10; i++) {
+			auditLog.record(AuditEvent.Type.TOKEN_REJECTED, null, null, "/api", "MALFORMED");
+		}
+
+		// The slot the sink is still writing counts against the buffer until the write returns
+		assertEquals(7, auditLog.droppedCount());
+		release.countDown();
+		auditLog.close();
+		assertEquals(4, received.size());
+	}
+}
@@ -0,0 +1,138 @@
+package com.example.simple_security.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.example.simple_security.config.TestJwtUtils.Feature.REVOCATION;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TenantRegistryTests {
+
+	private static final String ACME_SECRET = "acme-secret-key-that-is-long-enough-for-hs256";
+	private static final String GLOBEX_SECRET = "globex-secret-key-that-is-long-enough-for-hs256";
+
+	private final JwtUtils defaultJwtUtils = TestJwtUtils.withSecret();
+
+	@AfterEach
+	void clearContext() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void hostTenantsGetTheirOwnKeysRulesAndCors() throws Exception {
+		TenantRegistry registry = new TenantRegistry(TenantResolution.HOST);
+		TenantRegistry.Tenant acme = registry.register(new TenantConfiguration("acme")
+				.hosts(List.of("ACME.example.com"))
+				.secret(ACME_SECRET)
+				.permittedUrls(List.of("/reports/**"))
+				.corsConfiguration(new EasyCorsConfiguration().allowedOrigins(List.of("https://app.acme.com"))));
+		registry.register(new TenantConfiguration("globex").hosts(List.of("globex.example.com")).secret(GLOBEX_SECRET));
+		CompiledUrlRules defaults = new CompiledUrlRules(List.of(), List.of("/reports/**"), Map.of());
+
+		JWTValidate filter = new JWTValidate(defaultJwtUtils,
+				new StaticListableBeanFactory().getBeanProvider(UserDetailsService.class),
+				new StaticListableBeanFactory().getBeanProvider(EasySecurityMetrics.class));
+		filter.setStatelessAuthentication(true);
+		filter.setUrlRules(defaults);
+		filter.setTenants(registry);
+		String token = acme.createToken("alice", List.of(new SimpleGrantedAuthority("ROLE_USER")));
+
+		assertEquals("alice", authenticate(filter, "acme.example.com", token).getName());
+		assertNull(authenticate(filter, "globex.example.com", token));
+		assertNull(authenticate(filter, "other.example.com", token));
+
+		MockHttpServletRequest acmeReport = request("acme.example.com", "/reports/q3");
+		MockHttpServletRequest globexReport = request("globex.example.com", "/reports/q3");
+		assertEquals(CompiledUrlRules.Access.PERMIT_ALL, registry.urlRules(acmeReport, defaults).resolve(acmeReport).access());
+		assertSame(defaults, registry.urlRules(globexReport, defaults));
+
+		var cors = registry.corsConfigurationSource(null);
+		assertNotNull(cors.getCorsConfiguration(acmeReport).checkOrigin("https://app.acme.com"));
+		assertNull(cors.getCorsConfiguration(globexReport));
+	}
+
+	@Test
+	void tenantsAreResolvedByIssuerAndChangeAtRuntime() {
+		TenantRegistry registry = new TenantRegistry(TenantResolution.ISSUER);
+		TenantRegistry.Tenant acme = registry.register(new TenantConfiguration("acme")
+				.issuer("https://acme.example.com").secret(ACME_SECRET).expirationMinutes(5));
+		String token = acme.createToken("alice");
+
+		assertEquals("https://acme.example.com", acme.getJwtUtils().verify(token).getClaims().getIssuer());
+		assertSame(acme, registry.resolve(bearer(token)));
+		assertNull(registry.resolve(bearer(defaultJwtUtils.generateToken("alice"))));
+		assertThrows(IllegalArgumentException.class, () -> registry.register(
+				new TenantConfiguration("imposter").issuer("https://acme.example.com").secret(GLOBEX_SECRET)));
+		assertThrows(IllegalArgumentException.class, () -> registry.register(
+				new TenantConfiguration("globex").secret(GLOBEX_SECRET)));
+
+		// Re-keying a tenant invalidates the tokens signed with its old secret
+		TenantRegistry.Tenant rekeyed = registry.register(new TenantConfiguration("acme")
+				.issuer("https://acme.example.com").secret(GLOBEX_SECRET));
+		assertSame(rekeyed, registry.resolve(bearer(token)));
+		assertFalse(rekeyed.getJwtUtils().verify(token).isValid());
+
+		assertTrue(registry.remove("acme"));
+		assertNull(registry.resolve(bearer(token)));
+		assertEquals(0, registry.size());
+	}
+
+	@Test
+	void tenantsShareTheApplicationsRevocationListAndTokenSettings() {
+		JwtUtils application = TestJwtUtils.withSecret(REVOCATION);
+		EasySecurityProperties.Jwt settings = new EasySecurityProperties().getJwt();
+		settings.getCache().setEnabled(true);
+
+		TenantRegistry registry = new TenantRegistry(TenantResolution.ISSUER);
+		TenantRegistry.Tenant early = registry.register(new TenantConfiguration("acme")
+				.issuer("https://acme.example.com").secret(ACME_SECRET));
+		assertNull(early.getJwtUtils().getTokenCache());
+		registry.bind(settings, application.getRevocations());
+
+		// Tenants registered before the chain was built are recompiled with the application's settings
+		TenantRegistry.Tenant acme = registry.get("acme");
+		assertNotSame(early, acme);
+		assertNotNull(acme.getJwtUtils().getTokenCache());
+		String token = acme.createToken("alice");
+		assertTrue(acme.getJwtUtils().verify(token).isValid());
+
+		JwtUtils verifier = registry.jwtUtils(token, null, application);
+		assertSame(acme.getJwtUtils(), verifier);
+		assertTrue(verifier.revoke(verifier.verify(token)));
+		assertEquals(VerifiedToken.Failure.REVOKED, acme.getJwtUtils().verify(token).getFailure());
+		assertSame(application.getRevocations(), acme.getJwtUtils().getRevocations());
+	}
+
+	private static Authentication authenticate(JWTValidate filter, String host, String token) throws Exception {
+		MockHttpServletRequest request = request(host, "/api/orders");
+		request.addHeader("Authorization", "Bearer " + token);
+		AtomicReference<Authentication> seen = new AtomicReference<>();
+		filter.doFilter(request, new MockHttpServletResponse(),
+				(req, res) -> seen.set(SecurityContextHolder.getContext().getAuthentication()));
+		SecurityContextHolder.clearContext();
+		return seen.get();
+	}
+
+	private static MockHttpServletRequest request(String host, String path) {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+		request.setServerName(host);
+		return request;
+	}
+
+	private static MockHttpServletRequest bearer(String token) {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/orders");
+		request.addHeader("Authorization", "Bearer " + token);
+		return request;
+	}
+}
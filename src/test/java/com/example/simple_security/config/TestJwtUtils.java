@@ -0,0 +1,56 @@
+package com.example.simple_security.config;
+
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link JwtUtils} fixtures shared by the tests in this package.
+ */
+final class TestJwtUtils {
+
+	static final String SECRET = "my-super-secret-key-that-is-long-enough";
+
+	/** Optional parts of a {@link #withSecret(String, Feature...)} fixture. */
+	enum Feature {
+		/** {@code easysecurity.jwt.cache.enabled} */
+		CACHE,
+		/** Revocation against a fresh {@link InMemoryTokenRevocationStore} */
+		REVOCATION
+	}
+
+	private TestJwtUtils() {
+	}
+
+	/**
+	 * HMAC-signed {@link JwtUtils} with {@link #SECRET} and otherwise default settings.
+	 */
+	static JwtUtils withSecret(Feature... features) {
+		return withSecret(SECRET, features);
+	}
+
+	/**
+	 * HMAC-signed {@link JwtUtils} with {@code secret} and otherwise default settings.
+	 */
+	static JwtUtils withSecret(String secret, Feature... features) {
+		List<Feature> enabled = List.of(features);
+		EasySecurityProperties properties = new EasySecurityProperties();
+		properties.getJwt().setSecret(secret);
+		properties.getJwt().getCache().setEnabled(enabled.contains(Feature.CACHE));
+		JwtUtils jwtUtils = new JwtUtils(properties);
+		if (enabled.contains(Feature.REVOCATION)) {
+			jwtUtils.enableRevocation(new InMemoryTokenRevocationStore());
+		}
+		return jwtUtils;
+	}
+
+	/**
+	 * Binds {@code easysecurity.*} properties the way Spring Boot does, so relaxed names and lists work.
+	 */
+	static JwtUtils bind(Map<String, String> properties) {
+		Binder binder = new Binder(new MapConfigurationPropertySource(properties));
+		return new JwtUtils(binder.bindOrCreate("easysecurity", EasySecurityProperties.class));
+	}
+}
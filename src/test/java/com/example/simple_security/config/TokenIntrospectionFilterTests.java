@@ -0,0 +1,100 @@
+package com.example.simple_security.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static com.example.simple_security.config.TestJwtUtils.Feature.REVOCATION;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenIntrospectionFilterTests {
+
+	private static final ObjectMapper MAPPER = new ObjectMapper();
+
+	private final JwtUtils jwtUtils = TestJwtUtils.withSecret(REVOCATION);
+	private final TokenIntrospectionFilter filter = new TokenIntrospectionFilter(
+			new EasySecurityProperties.Introspection(), 8192, jwtUtils);
+
+	@AfterEach
+	void clearContext() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void verifiesBatchInOrderAndCachesActiveResults() throws Exception {
+		authenticateCaller("ROLE_INTROSPECTION");
+		List<String> tokens = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			tokens.add(i % 10 == 0 ? "not-a-token-" + i
+					: jwtUtils.generateToken("user" + i, List.of(new SimpleGrantedAuthority("ROLE_USER")), null, 30));
+		}
+
+		JsonNode results = introspect(tokens);
+		assertEquals(100, results.size());
+		assertFalse(results.get(0).get("active").asBoolean());
+		assertEquals("REJECTED", results.get(0).get("failure").asText());
+		assertTrue(results.get(1).get("active").asBoolean());
+		assertEquals("user1", results.get(1).get("sub").asText());
+		assertEquals("ROLE_USER", results.get(1).get("authorities").get(0).asText());
+		assertTrue(results.get(1).get("exp").asLong() > results.get(1).get("iat").asLong());
+		assertEquals(90, filter.cacheSize());
+
+		// Second burst is served from the cache, except a token revoked in between
+		jwtUtils.revoke(jwtUtils.verify(tokens.get(1)));
+		long hitsBefore = filter.cacheHitCount();
+		JsonNode again = introspect(tokens);
+		assertEquals(90, filter.cacheHitCount() - hitsBefore);
+		assertEquals("REVOKED", again.get(1).get("failure").asText());
+		assertEquals(results.get(2), again.get(2));
+		assertEquals(200, filter.tokenCount());
+	}
+
+	@Test
+	void rejectsCallersWithoutTheRoleAndOversizedBatches() throws Exception {
+		authenticateCaller("ROLE_USER");
+		MockHttpServletResponse response = post("{\"tokens\": []}");
+		assertEquals(403, response.getStatus());
+
+		authenticateCaller("ROLE_INTROSPECTION");
+		assertEquals(400, post("{\"tokens\": \"eyJ\"}").getStatus());
+		assertEquals(400, post("[]").getStatus());
+		List<String> tooMany = new ArrayList<>();
+		for (int i = 0; i <= new EasySecurityProperties.Introspection().getMaxBatch(); i++) {
+			tooMany.add("t" + i);
+		}
+		assertEquals(400, post(MAPPER.writeValueAsString(Map.of("tokens", tooMany))).getStatus());
+		assertEquals(1, filter.forbiddenCount());
+	}
+
+	private static void authenticateCaller(String authority) {
+		SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+				"gateway", null, AuthorityUtils.createAuthorityList(authority)));
+	}
+
+	private JsonNode introspect(List<String> tokens) throws Exception {
+		MockHttpServletResponse response = post(MAPPER.writeValueAsString(Map.of("tokens", tokens)));
+		assertEquals(200, response.getStatus());
+		assertEquals("no-store", response.getHeader("Cache-Control"));
+		return MAPPER.readTree(response.getContentAsByteArray()).get("results");
+	}
+
+	private MockHttpServletResponse post(String body) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/easysecurity/introspect");
+		request.setContentType("application/json");
+		request.setContent(body.getBytes());
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request, response, (req, res) -> fail("Introspection requests must not reach the application"));
+		return response;
+	}
+}
@@ -0,0 +1,87 @@
+package com.example.simple_security.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Instant;
+
+import static com.example.simple_security.config.TestJwtUtils.Feature.CACHE;
+import static com.example.simple_security.config.TestJwtUtils.Feature.REVOCATION;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenRevocationTests {
+
+	@Test
+	void revokedTokenFailsEvenWhenCached() {
+		JwtUtils jwtUtils = TestJwtUtils.withSecret(CACHE, REVOCATION);
+		String token = jwtUtils.generateToken("alice");
+		String other = jwtUtils.generateToken("alice");
+
+		VerifiedToken verified = jwtUtils.verify(token);
+		assertNotNull(verified.getTokenId());
+		assertNotEquals(verified.getTokenId(), jwtUtils.verify(other).getTokenId());
+
+		assertTrue(jwtUtils.revoke(verified));
+		assertEquals(VerifiedToken.Failure.REVOKED, jwtUtils.verify(token).getFailure());
+		assertTrue(jwtUtils.verify(other).isValid());
+		assertFalse(jwtUtils.revoke(jwtUtils.verify(token)));
+	}
+
+	@Test
+	void sharedStoreSeesOtherNodesRevocationsImmediately() {
+		InMemoryTokenRevocationStore store = new InMemoryTokenRevocationStore() {
+			@Override
+			public boolean isShared() {
+				return true;
+			}
+		};
+		JwtUtils jwtUtils = TestJwtUtils.withSecret();
+		jwtUtils.enableRevocation(store);
+		VerifiedToken verified = jwtUtils.verify(jwtUtils.generateToken("alice"));
+
+		// Revoked by another node, straight into the store: no local filter rebuild needed
+		store.revoke(verified.getTokenId(), verified.getExpiration());
+		assertTrue(jwtUtils.isRevoked(verified));
+
+		store.revoke("expired", Instant.now().minusSeconds(1));
+		jwtUtils.getRevocations().purge();
+		assertEquals(1, store.revoked().size());
+		jwtUtils.close();
+	}
+
+	@Test
+	void fileStoreSurvivesRestartAndDropsExpiredEntries(@TempDir Path dir) {
+		Path file = dir.resolve("revoked");
+		Instant now = Instant.now();
+
+		FileTokenRevocationStore store = new FileTokenRevocationStore(file);
+		store.revoke("live", now.plusSeconds(600));
+		store.revoke("expired", now.minusSeconds(1));
+
+		FileTokenRevocationStore reloaded = new FileTokenRevocationStore(file);
+		assertTrue(reloaded.isRevoked("live"));
+		assertFalse(reloaded.isRevoked("expired"));
+		assertEquals(1, reloaded.revoked().size());
+
+		store.purgeExpired(now);
+		assertEquals(1, new FileTokenRevocationStore(file).revoked().size());
+		assertEquals(1, store.revoked().size());
+	}
+
+	@Test
+	void bloomFilterNeverMissesAnAddedKey() {
+		BloomFilter filter = new BloomFilter(1_000, 0.01);
+		for (int i = 0; i < 1_000; i++) {
+			filter.add("revoked-" + i);
+		}
+		int falsePositives = 0;
+		for (int i = 0; i < 1_000; i++) {
+			assertTrue(filter.mightContain("revoked-" + i));
+			if (filter.mightContain("live-" + i)) {
+				falsePositives++;
+			}
+		}
+		assertTrue(falsePositives < 50, "false positives: " + falsePositives);
+	}
+}
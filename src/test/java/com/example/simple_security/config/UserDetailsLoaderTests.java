@@ -0,0 +1,122 @@
+package com.example.simple_security.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserDetailsLoaderTests {
+
+	private static final UserDetails ALICE = User.withUsername("alice").password("{noop}x").roles("USER").build();
+
+	// Own threads, so a blocked lookup cannot starve the waiter on a small common pool
+	private final ExecutorService executor = Executors.newCachedThreadPool();
+
+	@AfterEach
+	void shutdown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	void concurrentMissesShareOneLookupAndCacheTheResult() throws Exception {
+		CountDownLatch entered = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger calls = new AtomicInteger();
+		UserDetailsLoader loader = new UserDetailsLoader(username -> {
+			calls.incrementAndGet();
+			entered.countDown();
+			await(release);
+			return ALICE;
+		});
+		loader.setCache(new InMemoryUserDetailsCache(Duration.ofMinutes(1), 100));
+
+		CompletableFuture<UserDetails> leader = CompletableFuture.supplyAsync(() -> loader.load("alice"), executor);
+		assertTrue(entered.await(5, TimeUnit.SECONDS));
+		CompletableFuture<UserDetails> waiter = CompletableFuture.supplyAsync(() -> loader.load("alice"), executor);
+		awaitCoalesced(loader, 1);
+		release.countDown();
+
+		assertSame(ALICE, leader.get(5, TimeUnit.SECONDS));
+		assertSame(ALICE, waiter.get(5, TimeUnit.SECONDS));
+		assertSame(ALICE, loader.load("alice"));
+		assertEquals(1, calls.get());
+		assertEquals(1, loader.hitCount());
+	}
+
+	@Test
+	void failingLookupReachesEveryWaiter() throws Exception {
+		CountDownLatch entered = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		UserDetailsLoader loader = new UserDetailsLoader(username -> {
+			entered.countDown();
+			await(release);
+			throw new StackOverflowError("directory lookup blew up");
+		});
+
+		CompletableFuture<UserDetails> leader = CompletableFuture.supplyAsync(() -> loader.load("alice"), executor);
+		assertTrue(entered.await(5, TimeUnit.SECONDS));
+		CompletableFuture<UserDetails> waiter = CompletableFuture.supplyAsync(() -> loader.load("alice"), executor);
+		awaitCoalesced(loader, 1);
+		release.countDown();
+
+		Exception leaderFailure = assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+		Exception waiterFailure = assertThrows(Exception.class, () -> waiter.get(5, TimeUnit.SECONDS));
+		assertInstanceOf(StackOverflowError.class, leaderFailure.getCause());
+		assertInstanceOf(StackOverflowError.class, waiterFailure.getCause());
+	}
+
+	@Test
+	void evictionDuringLookupKeepsResultOutOfCache() throws Exception {
+		CountDownLatch entered = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger calls = new AtomicInteger();
+		UserDetailsService service = username -> {
+			if (calls.incrementAndGet() == 1) {
+				entered.countDown();
+				await(release);
+			}
+			return ALICE;
+		};
+		UserDetailsLoader loader = new UserDetailsLoader(service);
+		InMemoryUserDetailsCache cache = new InMemoryUserDetailsCache(Duration.ofMinutes(1), 100);
+		loader.setCache(cache);
+
+		CompletableFuture<UserDetails> load = CompletableFuture.supplyAsync(() -> loader.load("alice"), executor);
+		assertTrue(entered.await(5, TimeUnit.SECONDS));
+		loader.evict("alice");
+		release.countDown();
+
+		assertSame(ALICE, load.get(5, TimeUnit.SECONDS));
+		assertEquals(0, cache.size());
+		loader.load("alice");
+		assertEquals(2, calls.get());
+		assertEquals(1, cache.size());
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static void awaitCoalesced(UserDetailsLoader loader, long expected) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (loader.coalescedCount() < expected && System.nanoTime() < deadline) {
+			Thread.sleep(5);
+		}
+		assertEquals(expected, loader.coalescedCount());
+	}
+}